@@ -12,6 +12,8 @@
  */
 package org.eclipse.vorto.generators.runner;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import org.eclipse.vorto.codegen.api.GeneratorInfo;
 import org.eclipse.vorto.codegen.api.IGenerationResult;
 import org.eclipse.vorto.codegen.api.IVortoCodeGenProgressMonitor;
@@ -52,6 +54,11 @@ public class CodeGeneratorV1Adapter implements IVortoCodeGenerator {
 				public String getMediatype() {
 					return result.getMediatype();
 				}
+
+				@Override
+				public void writeTo(OutputStream out) throws IOException {
+					result.writeTo(out);
+				}
 				
 			};
 		} catch (GeneratorException e) {
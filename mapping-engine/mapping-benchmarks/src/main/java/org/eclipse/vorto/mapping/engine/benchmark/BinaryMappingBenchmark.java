@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.Conversion;
+import org.eclipse.vorto.mapping.engine.IDataMapper;
+import org.eclipse.vorto.mapping.engine.converter.JavascriptEvalProvider;
+import org.eclipse.vorto.mapping.engine.converter.binary.BinaryFunctionFactory;
+import org.eclipse.vorto.mapping.engine.converter.binary.SpecBinaryConverter;
+import org.eclipse.vorto.mapping.engine.converter.binary.SpecWithBase64Converter;
+import org.eclipse.vorto.mapping.engine.converter.binary.SpecWithBinaryFields;
+import org.eclipse.vorto.mapping.engine.decoder.JSONDeserializer;
+import org.eclipse.vorto.mapping.engine.model.binary.BinaryData;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mapping of binary device payloads using the binary converter functions and typed binary fields
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinaryMappingBenchmark {
+
+  private IDataMapper base64Mapper;
+
+  private Object base64Payload;
+
+  private IDataMapper byteArrayMapper;
+
+  private BinaryData byteArrayPayload;
+
+  private IDataMapper binaryFieldMapper;
+
+  private BinaryData directBufferPayload;
+
+  @Setup
+  public void setup() {
+    base64Mapper = IDataMapper.newBuilder().withSpecification(new SpecWithBase64Converter())
+        .registerConverterFunction(BinaryFunctionFactory.createFunctions()).build();
+    base64Payload = new JSONDeserializer().deserialize("{\"data\" : \"MjA=\"}");
+
+    byteArrayMapper = IDataMapper.newBuilder().withSpecification(new SpecBinaryConverter())
+        .registerConverterFunction(BinaryFunctionFactory.createFunctions())
+        .registerScriptEvalProvider(new JavascriptEvalProvider()).build();
+    // 2 byte temperature (Byte 1-2), 2 byte humidity (Byte 3-4)
+    byte[] frame = new byte[4];
+    Conversion.intToByteArray(2000, 0, frame, 0, 2);
+    Conversion.intToByteArray(8819, 0, frame, 2, 2);
+    byteArrayPayload = new BinaryData(frame);
+
+    binaryFieldMapper =
+        IDataMapper.newBuilder().withSpecification(new SpecWithBinaryFields()).build();
+    ByteBuffer buffer = ByteBuffer.allocateDirect(6);
+    buffer.put(frame).putShort((short) 42).flip();
+    directBufferPayload = new BinaryData(buffer);
+  }
+
+  @Benchmark
+  public InfomodelValue base64() {
+    return base64Mapper.mapSource(base64Payload);
+  }
+
+  @Benchmark
+  public InfomodelValue byteArrayWithJavascript() {
+    return byteArrayMapper.mapSource(byteArrayPayload);
+  }
+
+  @Benchmark
+  public InfomodelValue binaryFieldsFromDirectBuffer() {
+    return binaryFieldMapper.mapSource(directBufferPayload);
+  }
+}
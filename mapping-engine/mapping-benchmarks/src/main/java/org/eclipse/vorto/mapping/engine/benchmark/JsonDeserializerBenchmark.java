@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.eclipse.vorto.mapping.engine.decoder.IPayloadDeserializer;
+import org.eclipse.vorto.mapping.engine.decoder.JSONDeserializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Deserialization of JSON device payloads of different sizes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonDeserializerBenchmark {
+
+  /**
+   * Number of sensor entries of the payload
+   */
+  @Param({"1", "10", "100"})
+  public int sensors;
+
+  private IPayloadDeserializer deserializer;
+
+  private String payload;
+
+  @Setup
+  public void setup() {
+    this.deserializer = new JSONDeserializer();
+    this.payload = Payloads.gatewayJson(sensors);
+  }
+
+  @Benchmark
+  public Object deserialize() {
+    return deserializer.deserialize(payload);
+  }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.eclipse.vorto.mapping.engine.IDataMapper;
+import org.eclipse.vorto.mapping.engine.converter.JavascriptEvalProvider;
+import org.eclipse.vorto.mapping.engine.converter.date.DateFunctionFactory;
+import org.eclipse.vorto.mapping.engine.converter.date.SpecWithTimestamp;
+import org.eclipse.vorto.mapping.engine.converter.javascript.SpecWithCustomFunction;
+import org.eclipse.vorto.mapping.engine.converter.string.StringFunctionFactory;
+import org.eclipse.vorto.mapping.engine.converter.types.TypeFunctionFactory;
+import org.eclipse.vorto.mapping.engine.decoder.JSONDeserializer;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.eclipse.vorto.service.mapping.spec.SpecWithNestedEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mapping of an already deserialized JSON payload with {@link IDataMapper#mapSource(Object)}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonMappingBenchmark {
+
+  /**
+   * <ul>
+   * <li>plain: xpaths only, no converter functions</li>
+   * <li>converter: one built-in converter function</li>
+   * <li>javascript: built-in converter functions and a javascript function</li>
+   * </ul>
+   */
+  @Param({"plain", "converter", "javascript"})
+  public String scenario;
+
+  @Param({"1", "100"})
+  public int sensors;
+
+  private IDataMapper mapper;
+
+  private Object payload;
+
+  @Setup
+  public void setup() {
+    switch (scenario) {
+      case "plain":
+        mapper = IDataMapper.newBuilder().withSpecification(new SpecWithNestedEntity()).build();
+        break;
+      case "converter":
+        mapper = IDataMapper.newBuilder().withSpecification(new SpecWithTimestamp())
+            .registerConverterFunction(DateFunctionFactory.createFunctions()).build();
+        break;
+      case "javascript":
+        mapper = IDataMapper.newBuilder().withSpecification(new SpecWithCustomFunction())
+            .registerConverterFunction(TypeFunctionFactory.createFunctions())
+            .registerConverterFunction(StringFunctionFactory.createFunctions())
+            .registerScriptEvalProvider(new JavascriptEvalProvider()).build();
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown scenario " + scenario);
+    }
+    payload = new JSONDeserializer().deserialize(Payloads.gatewayJson(sensors));
+  }
+
+  @Benchmark
+  public InfomodelValue mapSource() {
+    return mapper.mapSource(payload);
+  }
+}
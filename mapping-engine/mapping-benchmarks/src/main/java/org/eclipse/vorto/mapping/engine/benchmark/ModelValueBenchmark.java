@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.eclipse.vorto.mapping.engine.twin.TwinPayloadFactory;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.FunctionblockModel.FunctionblockModelBuilder;
+import org.eclipse.vorto.model.Infomodel;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.PrimitiveType;
+import org.eclipse.vorto.model.runtime.FunctionblockValue;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.eclipse.vorto.model.runtime.ValidationReport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.google.gson.JsonObject;
+
+/**
+ * Construction, validation and Ditto serialization of mapped function block values with a growing
+ * number of status properties
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelValueBenchmark {
+
+  @Param({"10", "50", "200"})
+  public int properties;
+
+  private FunctionblockModel fbModel;
+
+  private FunctionblockValue fbValue;
+
+  private InfomodelValue infomodelValue;
+
+  @Setup
+  public void setup() {
+    FunctionblockModelBuilder builder =
+        FunctionblockModel.Builder(ModelId.fromPrettyFormat("org.eclipse.vorto:Sensors:1.0.0"));
+    for (int i = 0; i < properties; i++) {
+      builder.statusProperty(ModelProperty.Builder("value" + i, PrimitiveType.DOUBLE).build());
+    }
+    fbModel = builder.build();
+    fbValue = createValue();
+
+    Infomodel infomodel =
+        Infomodel.Builder(ModelId.fromPrettyFormat("org.eclipse.vorto:Gateway:1.0.0"))
+            .withProperty(ModelProperty.Builder("sensors", fbModel).build()).build();
+    infomodelValue = new InfomodelValue(infomodel);
+    infomodelValue.withFunctionblock("sensors", fbValue);
+  }
+
+  private FunctionblockValue createValue() {
+    FunctionblockValue value = new FunctionblockValue(fbModel);
+    for (int i = 0; i < properties; i++) {
+      value.withStatusProperty("value" + i, i * 0.5);
+    }
+    return value;
+  }
+
+  @Benchmark
+  public FunctionblockValue createFunctionblockValue() {
+    return createValue();
+  }
+
+  @Benchmark
+  public ValidationReport validate() {
+    return fbValue.validate();
+  }
+
+  @Benchmark
+  public JsonObject toDittoProtocol() {
+    return TwinPayloadFactory.toDittoProtocol(infomodelValue, "org.eclipse.vorto", "gateway");
+  }
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.benchmark;
+
+/**
+ * Device payloads used by the benchmarks
+ */
+final class Payloads {
+
+  private Payloads() {}
+
+  /**
+   * Creates a gateway payload with the given number of sensor entries. The first entry carries the
+   * temperature mapped by the benchmark specifications.
+   */
+  static String gatewayJson(int sensors) {
+    StringBuilder json = new StringBuilder();
+    json.append("{\"temperature\" : 21.3, \"clickType\" : \"DOUBLE\", ");
+    json.append("\"batteryVoltage\" : \"2322mV\", \"time\" : 1588324519000, ");
+    json.append("\"sensors\" : [");
+    for (int i = 0; i < sensors; i++) {
+      if (i > 0) {
+        json.append(", ");
+      }
+      json.append("{\"id\" : \"sensor-").append(i).append("\", \"value\" : ").append(i * 0.5)
+          .append(", \"unit\" : \"Celsius\", \"status\" : {\"battery\" : 98, \"rssi\" : -71}}");
+    }
+    json.append("]}");
+    return json.toString();
+  }
+}
@@ -13,11 +13,16 @@
 package org.eclipse.vorto.mapping.engine.converter.binary;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang3.Conversion;
 import org.eclipse.vorto.mapping.engine.IDataMapper;
+import org.eclipse.vorto.mapping.engine.MappingException;
 import org.eclipse.vorto.mapping.engine.converter.JavascriptEvalProvider;
 import org.eclipse.vorto.mapping.engine.converter.binary.BinaryFunctionFactory;
 import org.eclipse.vorto.mapping.engine.converter.string.StringFunctionFactory;
@@ -26,8 +31,14 @@ import org.eclipse.vorto.mapping.engine.model.binary.BinaryData;
 import org.eclipse.vorto.mapping.engine.model.blegatt.GattCharacteristic;
 import org.eclipse.vorto.mapping.engine.model.blegatt.GattDevice;
 import org.eclipse.vorto.mapping.engine.model.blegatt.GattService;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.PrimitiveType;
+import org.eclipse.vorto.model.Stereotype;
 import org.eclipse.vorto.model.runtime.FunctionblockValue;
 import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.eclipse.vorto.service.mapping.spec.AbstractTestSpec;
 import org.junit.Test;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -138,4 +149,101 @@ public class BinaryMappingTest {
     assertEquals(88.19, mapped.get("humidity").getStatusProperty("value").get().getValue());
   }
 
+  @Test
+  public void testMappingBinaryFieldsFromBuffer() {
+    IDataMapper mapper =
+        IDataMapper.newBuilder().withSpecification(new SpecWithBinaryFields()).build();
+
+    // 2 byte temperature and 2 byte humidity little endian, 2 byte counter big endian
+    byte[] frame = new byte[] {(byte) 0xd0, 0x07, 0x73, 0x22, (byte) 0xff, 0x01};
+
+    InfomodelValue mapped = mapper.mapSource(new BinaryData(frame));
+    assertEquals(20.00, mapped.get("temperature").getStatusProperty("value").get().getValue());
+    assertEquals(88.19, mapped.get("humidity").getStatusProperty("value").get().getValue());
+    assertEquals(65281, mapped.get("counter").getStatusProperty("value").get().getValue());
+
+    ByteBuffer direct = ByteBuffer.allocateDirect(frame.length + 2);
+    direct.put(new byte[] {0x01, 0x02}).put(frame).flip().position(2);
+    mapped = mapper.mapSource(new BinaryData(direct));
+    assertEquals(20.00, mapped.get("temperature").getStatusProperty("value").get().getValue());
+    assertEquals(65281, mapped.get("counter").getStatusProperty("value").get().getValue());
+    assertEquals(2, direct.position());
+
+    mapped = mapper.mapSource(new BinaryData(ByteBuffer.wrap(frame, 0, 4)));
+    assertEquals(88.19, mapped.get("humidity").getStatusProperty("value").get().getValue());
+    assertNull(mapped.get("counter"));
+  }
+
+  @Test
+  public void testMappingSignedBinaryFieldsOfOddAndFullLength() {
+    IDataMapper mapper = IDataMapper.newBuilder()
+        .withSpecification(binaryFields(field(0, 3, "little", "true"),
+            field(3, 8, "big", "true")))
+        .build();
+
+    byte[] frame = new byte[] {(byte) 0xfe, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff,
+        (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xfd};
+
+    InfomodelValue mapped = mapper.mapSource(new BinaryData(frame));
+    assertEquals(-2, mapped.get("first").getStatusProperty("value").get().getValue());
+    assertEquals(-3L, mapped.get("second").getStatusProperty("value").get().getValue());
+  }
+
+  @Test(expected = MappingException.class)
+  public void testUnsignedBinaryFieldOf8BytesIsRejected() {
+    IDataMapper.newBuilder()
+        .withSpecification(binaryFields(field(0, 8, "big", "false"),
+            field(0, 1, "big", "false")))
+        .build();
+  }
+
+  @Test
+  public void testOffsetAttributeDoesNotDeclareBinaryField() {
+    Map<String, String> xpath = new HashMap<>();
+    xpath.put("xpath", "/first");
+    xpath.put("offset", "start");
+    Map<String, String> binaryWithXpath = field(0, 1, "big", "false");
+    binaryWithXpath.put("xpath", "/second");
+    IDataMapper mapper =
+        IDataMapper.newBuilder().withSpecification(binaryFields(xpath, binaryWithXpath)).build();
+
+    Map<String, Object> source = new HashMap<>();
+    source.put("first", 1L);
+    source.put("second", 2L);
+    InfomodelValue mapped = mapper.mapSource(source);
+    assertEquals(1L, mapped.get("first").getStatusProperty("value").get().getValue());
+    assertEquals(2L, mapped.get("second").getStatusProperty("value").get().getValue());
+  }
+
+  private static Map<String, String> field(int offset, int length, String endian, String signed) {
+    Map<String, String> attributes = new HashMap<>();
+    attributes.put("type", "binary");
+    attributes.put("offset", Integer.toString(offset));
+    attributes.put("length", Integer.toString(length));
+    attributes.put("endian", endian);
+    attributes.put("signed", signed);
+    return attributes;
+  }
+
+  private static AbstractTestSpec binaryFields(Map<String, String> first,
+      Map<String, String> second) {
+    return new AbstractTestSpec() {
+      @Override
+      protected void createModel() {
+        infomodel.getFunctionblocks()
+            .add(ModelProperty.Builder("first", fieldModel(first)).build());
+        infomodel.getFunctionblocks()
+            .add(ModelProperty.Builder("second", fieldModel(second)).build());
+      }
+
+      private FunctionblockModel fieldModel(Map<String, String> attributes) {
+        return FunctionblockModel
+            .Builder(ModelId.fromPrettyFormat("org.eclipse.vorto:Field:1.0.0"))
+            .statusProperty(ModelProperty.Builder("value", PrimitiveType.LONG)
+                .withStereotype(Stereotype.SOURCE, attributes, "demo").build())
+            .build();
+      }
+    };
+  }
+
 }
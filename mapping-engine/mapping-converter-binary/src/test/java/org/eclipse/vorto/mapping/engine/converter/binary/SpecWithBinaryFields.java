@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.converter.binary;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.PrimitiveType;
+import org.eclipse.vorto.model.Stereotype;
+import org.eclipse.vorto.service.mapping.spec.AbstractTestSpec;
+
+public class SpecWithBinaryFields extends AbstractTestSpec {
+
+  @Override
+  protected void createModel() {
+    FunctionblockModel temperature = FunctionblockModel.Builder(ModelId.fromPrettyFormat("org.eclipse.vorto:Temperature:1.0.0"))
+      .statusProperty(ModelProperty.Builder("value", PrimitiveType.FLOAT)
+            .withStereotype(Stereotype.SOURCE, field(0, 2, "little", "0.01"), "demo").build())
+      .build();
+    
+    FunctionblockModel humidity = FunctionblockModel.Builder(ModelId.fromPrettyFormat("org.eclipse.vorto:Humidity:1.0.0"))
+        .statusProperty(ModelProperty.Builder("value", PrimitiveType.FLOAT)
+            .withStereotype(Stereotype.SOURCE, field(2, 2, "little", "0.01"), "demo").build())
+        .build();
+
+    FunctionblockModel counter = FunctionblockModel.Builder(ModelId.fromPrettyFormat("org.eclipse.vorto:Counter:1.0.0"))
+        .statusProperty(ModelProperty.Builder("value", PrimitiveType.INT)
+            .withStereotype(Stereotype.SOURCE, field(4, 2, "big", null), "demo").build())
+        .build();
+    
+    infomodel.getFunctionblocks().add(ModelProperty.Builder("temperature",temperature).build());
+    infomodel.getFunctionblocks().add(ModelProperty.Builder("humidity",humidity).build());
+    infomodel.getFunctionblocks().add(ModelProperty.Builder("counter",counter).build());
+  }
+
+  private static Map<String, String> field(int offset, int length, String endian, String scale) {
+    Map<String, String> attributes = new HashMap<>();
+    attributes.put("type", "binary");
+    attributes.put("offset", Integer.toString(offset));
+    attributes.put("length", Integer.toString(length));
+    attributes.put("endian", endian);
+    attributes.put("signed", "false");
+    if (scale != null) {
+      attributes.put("scale", scale);
+    }
+    return attributes;
+  }
+
+}
@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.converter;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+import org.apache.commons.jxpath.JXPathException;
+import org.apache.commons.jxpath.JXPathInvalidAccessException;
+import jdk.nashorn.api.scripting.ClassFilter;
+import jdk.nashorn.api.scripting.NashornScriptEngineFactory;
+
+/**
+ * Bounded, thread-safe pool of sandboxed javascript globals for a single function body. The body
+ * is compiled once; every pooled global is a separate set of engine bindings into which the
+ * compiled body has been evaluated, so that concurrent invocations never share script state.<br/>
+ * Unlike a fresh script engine per invocation, a pooled global keeps the top-level state of the
+ * script between the invocations it serves, e.g. a top-level variable that a function modifies.
+ * Converter functions are expected not to rely on such state.<br/>
+ * A global that must not be used again, e.g. because a script timed out on it, is discarded when it
+ * is handed back and its place in the pool is taken by a new global on the next borrow.
+ */
+@SuppressWarnings("restriction")
+class JavascriptContextPool {
+
+  /**
+   * Overwrites the functions of the global that give scripts access to the host, such as exit and
+   * quit, which would otherwise terminate the JVM. Removing them from the bindings does not hide
+   * them from scripts, so they are overwritten by a script evaluated in the global itself.
+   */
+  private static final String SANDBOX_SCRIPT =
+      "print = undefined; load = undefined; loadWithNewGlobal = undefined; exit = undefined; "
+          + "quit = undefined;";
+
+  private final String functionName;
+
+  private final ScriptEngine engine;
+
+  private final CompiledScript sandboxScript;
+
+  private final CompiledScript compiledScript;
+
+  private final BlockingQueue<Bindings> idle;
+
+  private final Semaphore permits;
+
+  private final long timeoutMillis;
+
+  JavascriptContextPool(String functionName, String functionBody, int poolSize,
+      long timeoutMillis) {
+    if (poolSize < 1) {
+      throw new IllegalArgumentException("Pool size must be at least 1");
+    }
+    this.functionName = functionName;
+    this.engine = createSandboxedEngine();
+    this.sandboxScript = compile(SANDBOX_SCRIPT);
+    this.compiledScript = compile(functionBody);
+    this.idle = new ArrayBlockingQueue<>(poolSize);
+    this.permits = new Semaphore(poolSize, true);
+    this.timeoutMillis = timeoutMillis;
+  }
+
+  private static ScriptEngine createSandboxedEngine() {
+    NashornScriptEngineFactory factory = new NashornScriptEngineFactory();
+    return factory.getScriptEngine(new ClassFilter() {
+
+      @Override
+      public boolean exposeToScripts(String s) {
+        return false;
+      }
+
+    });
+  }
+
+  private CompiledScript compile(String functionBody) {
+    try {
+      return ((Compilable) engine).compile(functionBody);
+    } catch (ScriptException e) {
+      throw new JXPathException("Problem evaluating " + functionName, e);
+    }
+  }
+
+  /**
+   * Borrows a global from the pool, waiting at most the configured script timeout if all globals
+   * are in use. Borrowed globals must be handed back with {@link #release(Bindings, boolean)}.
+   */
+  Bindings borrow() {
+    try {
+      if (timeoutMillis > 0) {
+        if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+          throw new JXPathInvalidAccessException(
+              "Timed out waiting for a javascript engine to execute " + functionName);
+        }
+      } else {
+        permits.acquire();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new JXPathInvalidAccessException(
+          "Interrupted while waiting for a javascript engine to execute " + functionName, e);
+    }
+
+    Bindings bindings = idle.poll();
+    if (bindings == null) {
+      try {
+        bindings = createGlobal();
+      } catch (RuntimeException e) {
+        permits.release();
+        throw e;
+      }
+    }
+    return bindings;
+  }
+
+  /**
+   * Returns a borrowed global to the pool, which frees its place in the pool in any case
+   *
+   * @param bindings the borrowed global
+   * @param reusable false if the global must be discarded, e.g. because a script timed out on it
+   *        and may still be running in it
+   */
+  void release(Bindings bindings, boolean reusable) {
+    if (reusable) {
+      idle.offer(bindings);
+    }
+    permits.release();
+  }
+
+  long getTimeoutMillis() {
+    return timeoutMillis;
+  }
+
+  private Bindings createGlobal() {
+    Bindings bindings = engine.createBindings();
+    try {
+      sandboxScript.eval(bindings);
+      compiledScript.eval(bindings);
+    } catch (ScriptException e) {
+      throw new JXPathException("Problem evaluating " + functionName, e);
+    }
+    return bindings;
+  }
+}
@@ -14,58 +14,97 @@ package org.eclipse.vorto.mapping.engine.converter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.script.Bindings;
-import javax.script.Invocable;
-import javax.script.ScriptContext;
-import javax.script.ScriptEngine;
-import javax.script.ScriptException;
 import org.apache.commons.jxpath.BasicNodeSet;
 import org.apache.commons.jxpath.ExpressionContext;
 import org.apache.commons.jxpath.Function;
-import org.apache.commons.jxpath.JXPathException;
 import org.apache.commons.jxpath.JXPathInvalidAccessException;
 import org.apache.commons.jxpath.util.TypeUtils;
-import jdk.nashorn.api.scripting.ClassFilter;
-import jdk.nashorn.api.scripting.NashornScriptEngineFactory;
+import jdk.nashorn.api.scripting.NashornException;
+import jdk.nashorn.api.scripting.ScriptObjectMirror;
 
 @SuppressWarnings("restriction")
 public class JavascriptEvalFunction implements Function {
 
+  /**
+   * Maximum number of threads running invocations that are subject to a timeout, shared by all
+   * functions
+   */
+  static final int MAX_THREADS = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+  /**
+   * Maximum number of invocations that wait for a thread
+   */
+  static final int MAX_QUEUED_INVOCATIONS = 1024;
+
+  /**
+   * Runs the invocations of all functions that are subject to a timeout
+   */
+  private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
   private String functionName;
 
-  private String functionBody;
+  private JavascriptContextPool pool;
+
+  /**
+   * Runs invocations that are subject to the timeout, null if there is no timeout
+   */
+  private ThreadPoolExecutor executor = null;
 
   public JavascriptEvalFunction(String funcName, String funcBody) {
+    this(funcName, funcBody, JavascriptEvalProvider.DEFAULT_POOL_SIZE,
+        JavascriptEvalProvider.DEFAULT_TIMEOUT_MILLIS);
+  }
+
+  /**
+   * @param funcName name of the javascript function
+   * @param funcBody javascript source defining the function, compiled once
+   * @param poolSize maximum number of concurrent invocations of the function
+   * @param timeoutMillis maximum execution time of a single invocation, or 0 for no limit. The
+   *        global of a script that times out is discarded and replaced, so that the function stays
+   *        available. As scripts cannot be interrupted, the script keeps its thread until it
+   *        finishes. The threads are shared by all functions and bounded, so runaway scripts can
+   *        only ever occupy {@link #MAX_THREADS} threads.
+   */
+  public JavascriptEvalFunction(String funcName, String funcBody, int poolSize,
+      long timeoutMillis) {
     this.functionName = funcName;
-    this.functionBody = funcBody;
+    this.pool = new JavascriptContextPool(funcName, funcBody, poolSize, timeoutMillis);
+    if (timeoutMillis > 0) {
+      this.executor = EXECUTOR;
+    }
   }
 
-  @Override
-  @SuppressWarnings({"rawtypes"})
-  public Object invoke(ExpressionContext context, Object[] parameters) {
-    NashornScriptEngineFactory factory = new NashornScriptEngineFactory();
-    ScriptEngine engine = factory.getScriptEngine(new ClassFilter() {
+  private static ThreadPoolExecutor createExecutor() {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, 60,
+        TimeUnit.SECONDS, new ArrayBlockingQueue<>(MAX_QUEUED_INVOCATIONS), new ThreadFactory() {
 
-      @Override
-      public boolean exposeToScripts(String s) {
-        return false;
-      }
+          private final AtomicInteger count = new AtomicInteger();
 
-    });
-    try {
-      final Bindings bindings = engine.getBindings(ScriptContext.ENGINE_SCOPE);
-      bindings.remove("print");
-      bindings.remove("load");
-      bindings.remove("loadWithNewGlobal");
-      bindings.remove("exit");
-      bindings.remove("quit");
-      engine.eval(functionBody);
-
-    } catch (ScriptException e) {
-      throw new JXPathException("Problem evaluating " + functionName, e);
-    }
+          @Override
+          public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "vorto-javascript-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          }
+        });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
 
-    Invocable inv = (Invocable) engine;
+  @Override
+  @SuppressWarnings({"rawtypes"})
+  public Object invoke(ExpressionContext context, Object[] parameters) {
     Object[] args;
     int pi = 0;
     Class[] types = toTypes(parameters);
@@ -80,11 +119,70 @@ public class JavascriptEvalFunction implements Function {
       args[i + pi] = TypeUtils.convert(parameters[i], types[i + pi]);
     }
 
+    final Object[] unwrappedArgs = unwrap(args);
+    final Bindings global = pool.borrow();
+    if (executor == null) {
+      try {
+        return call(global, unwrappedArgs);
+      } finally {
+        pool.release(global, true);
+      }
+    }
+
+    // the global is handed back either by the worker once the script has finished, or discarded
+    // by the caller once the script has timed out, whatever comes first
+    final AtomicBoolean released = new AtomicBoolean(false);
+    Future<Object> result;
+    try {
+      result = executor.submit(() -> {
+        try {
+          return call(global, unwrappedArgs);
+        } finally {
+          if (released.compareAndSet(false, true)) {
+            pool.release(global, true);
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      pool.release(global, true);
+      throw new JXPathInvalidAccessException("Problem executing javascript", e);
+    }
+
+    try {
+      return result.get(pool.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      discard(global, released, result);
+      throw new JXPathInvalidAccessException(
+          "Execution of javascript function " + functionName + " timed out", e);
+    } catch (InterruptedException e) {
+      discard(global, released, result);
+      Thread.currentThread().interrupt();
+      throw new JXPathInvalidAccessException(
+          "Interrupted while executing javascript function " + functionName, e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new JXPathInvalidAccessException("Problem executing javascript", e.getCause());
+    }
+  }
+
+  private void discard(Bindings global, AtomicBoolean released, Future<Object> result) {
+    result.cancel(true);
+    if (released.compareAndSet(false, true)) {
+      pool.release(global, false);
+    }
+  }
+
+  private Object call(Bindings global, Object[] args) {
+    Object function = global.get(functionName);
+    if (!(function instanceof ScriptObjectMirror)
+        || !((ScriptObjectMirror) function).isFunction()) {
+      throw new JXPathInvalidAccessException("Cannot find function with the list of parameters");
+    }
     try {
-      return inv.invokeFunction(functionName, unwrap(args));
-    } catch (NoSuchMethodException e) {
-      throw new JXPathInvalidAccessException("Cannot find function with the list of parameters", e);
-    } catch (ScriptException e) {
+      return ((ScriptObjectMirror) function).call(null, args);
+    } catch (NashornException e) {
       throw new JXPathInvalidAccessException("Problem executing javascript", e);
     }
   }
@@ -17,9 +17,35 @@ import org.eclipse.vorto.mapping.engine.functions.IScriptEvaluator;
 
 public class JavascriptEvalProvider implements IScriptEvalProvider {
 
+  public static final int DEFAULT_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+  public static final long DEFAULT_TIMEOUT_MILLIS = 0;
+
+  private int poolSize;
+
+  private long timeoutMillis;
+
+  public JavascriptEvalProvider() {
+    this(DEFAULT_POOL_SIZE, DEFAULT_TIMEOUT_MILLIS);
+  }
+
+  /**
+   * @param poolSize maximum number of sandboxed script engines per javascript function, i.e. the
+   *        number of concurrent invocations of the same function
+   * @param timeoutMillis maximum execution time of a single function invocation in milliseconds, or
+   *        0 for no limit
+   */
+  public JavascriptEvalProvider(int poolSize, long timeoutMillis) {
+    if (poolSize < 1) {
+      throw new IllegalArgumentException("Pool size must be at least 1");
+    }
+    this.poolSize = poolSize;
+    this.timeoutMillis = timeoutMillis;
+  }
+
   @Override
   public IScriptEvaluator createEvaluator(String namespace) {
-    return new JavascriptFunctions(namespace);
+    return new JavascriptFunctions(namespace, poolSize, timeoutMillis);
   }
 
 }
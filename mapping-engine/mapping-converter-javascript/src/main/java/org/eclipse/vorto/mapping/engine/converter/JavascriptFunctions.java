@@ -13,9 +13,9 @@
 package org.eclipse.vorto.mapping.engine.converter;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.jxpath.Function;
 import org.apache.commons.jxpath.Functions;
 import org.eclipse.vorto.mapping.engine.functions.IScriptEvaluator;
@@ -27,13 +27,28 @@ public class JavascriptFunctions implements Functions, IScriptEvaluator {
 
   private Map<String, String> functions;
 
+  private Map<String, JavascriptEvalFunction> compiledFunctions;
+
+  private int poolSize;
+
+  private long timeoutMillis;
+
   public JavascriptFunctions(String namespace) {
+    this(namespace, JavascriptEvalProvider.DEFAULT_POOL_SIZE,
+        JavascriptEvalProvider.DEFAULT_TIMEOUT_MILLIS);
+  }
+
+  public JavascriptFunctions(String namespace, int poolSize, long timeoutMillis) {
     this.namespace = namespace;
-    this.functions = new HashMap<String, String>();
+    this.functions = new ConcurrentHashMap<String, String>();
+    this.compiledFunctions = new ConcurrentHashMap<String, JavascriptEvalFunction>();
+    this.poolSize = poolSize;
+    this.timeoutMillis = timeoutMillis;
   }
 
   public void addFunction(String functionName, String functionBody) {
     this.functions.put(functionName, functionBody);
+    this.compiledFunctions.remove(functionName);
   }
 
   @SuppressWarnings("rawtypes")
@@ -52,7 +67,9 @@ public class JavascriptFunctions implements Functions, IScriptEvaluator {
       return null;
     }
 
-    return new JavascriptEvalFunction(name, functions.get(name));
+    return compiledFunctions.computeIfAbsent(name,
+        functionName -> new JavascriptEvalFunction(functionName, functions.get(functionName),
+            poolSize, timeoutMillis));
   }
 
   @Override
@@ -62,7 +79,7 @@ public class JavascriptFunctions implements Functions, IScriptEvaluator {
 
   @Override
   public void addScriptFunction(ScriptClassFunction function) {
-    this.functions.put(function.getName(), function.getValue());
+    addFunction(function.getName(), function.getValue());
   }
 
 }
@@ -14,6 +14,7 @@ package org.eclipse.vorto.mapping.engine.converter.javascript;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
 import org.eclipse.vorto.mapping.engine.IDataMapper;
 import org.eclipse.vorto.mapping.engine.MappingException;
 import org.eclipse.vorto.mapping.engine.converter.JavascriptEvalProvider;
@@ -122,6 +123,26 @@ public class JsonMappingTest {
 
   }
 
+  @Test
+  public void testMappingReusesPooledScriptEngines() throws Exception {
+
+    IDataMapper mapper = IDataMapper.newBuilder().withSpecification(new SpecWithCustomFunction())
+        .registerConverterFunction(TypeFunctionFactory.createFunctions())
+        .registerConverterFunction(StringFunctionFactory.createFunctions())
+        .registerScriptEvalProvider(new JavascriptEvalProvider(1, 5000)).build();
+
+    for (int i = 0; i < 10; i++) {
+      String json = "{\"clickType\" : \"DOUBLE\", \"batteryVoltage\": \"" + i + "mV\"}";
+
+      InfomodelValue mappedOutput = mapper.mapSource(gson.fromJson(json, Object.class));
+
+      assertEquals(2, mappedOutput.get("button").getStatusProperty("digital_input_count").get()
+          .getValue());
+      assertEquals((float) i,
+          mappedOutput.get("voltage").getStatusProperty("sensor_value").get().getValue());
+    }
+  }
+
   @Test(expected = MappingException.class)
   public void testMappingWithMalicousScript() throws Exception {
 
@@ -175,6 +196,34 @@ public class JsonMappingTest {
     mapper.mapSource(gson.fromJson(json, Object.class));
   }
 
+  @Test(timeout = 10000)
+  public void testMappingWithRunawayScriptTimesOut() throws Exception {
+
+    IDataMapper mapper =
+        IDataMapper.newBuilder().withSpecification(new SpecWithMaliciousFunction() {
+
+          @Override
+          protected String getMaliciousFunctionBody() {
+            return "if (value == 'DOUBLE') { while(true) {} } return 1;";
+          }
+        }).registerScriptEvalProvider(new JavascriptEvalProvider(1, 200)).build();
+
+    String json = "{\"clickType\" : \"DOUBLE\", \"batteryVoltage\": \"2322mV\"}";
+
+    try {
+      mapper.mapSource(gson.fromJson(json, Object.class));
+      fail("Expected the script to time out");
+    } catch (MappingException e) {
+      // expected
+    }
+
+    // the script engine of the runaway script has been replaced
+    InfomodelValue mappedOutput =
+        mapper.mapSource(gson.fromJson("{\"clickType\" : \"SINGLE\"}", Object.class));
+    assertEquals(1,
+        mappedOutput.get("button").getStatusProperty("digital_input_count").get().getValue());
+  }
+
   @Test
   public void testMapDevicePayloadWithInitialValue() {
     IDataMapper mapper = IDataMapper.newBuilder().withSpecification(new SpecWithCustomFunction())
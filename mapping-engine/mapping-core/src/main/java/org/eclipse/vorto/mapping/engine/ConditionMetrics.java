@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Parse and evaluation metrics of the conditions of a data mapper. Conditions are parsed once
+ * when the mapper is built; conditions that occur more than once in the mapping specification are
+ * taken from the cache of the mapper and counted as cache hits instead.
+ */
+public final class ConditionMetrics {
+
+  private final LongAdder parseCount = new LongAdder();
+
+  private final LongAdder parseTimeNanos = new LongAdder();
+
+  private final LongAdder cacheHitCount = new LongAdder();
+
+  private final LongAdder evaluationCount = new LongAdder();
+
+  private final LongAdder evaluationTimeNanos = new LongAdder();
+
+  public void recordParse(long nanos) {
+    parseCount.increment();
+    parseTimeNanos.add(nanos);
+  }
+
+  public void recordCacheHit() {
+    cacheHitCount.increment();
+  }
+
+  public void recordEvaluation(long nanos) {
+    evaluationCount.increment();
+    evaluationTimeNanos.add(nanos);
+  }
+
+  /**
+   * @return number of conditions that were parsed
+   */
+  public long getParseCount() {
+    return parseCount.sum();
+  }
+
+  /**
+   * @return total time spent parsing conditions in nanoseconds
+   */
+  public long getParseTimeNanos() {
+    return parseTimeNanos.sum();
+  }
+
+  /**
+   * @return number of conditions that were taken from the cache of the mapper
+   */
+  public long getCacheHitCount() {
+    return cacheHitCount.sum();
+  }
+
+  /**
+   * @return number of condition evaluations
+   */
+  public long getEvaluationCount() {
+    return evaluationCount.sum();
+  }
+
+  /**
+   * @return total time spent evaluating conditions in nanoseconds
+   */
+  public long getEvaluationTimeNanos() {
+    return evaluationTimeNanos.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "ConditionMetrics [parseCount=" + getParseCount() + ", parseTimeNanos="
+        + getParseTimeNanos() + ", cacheHitCount=" + getCacheHitCount() + ", evaluationCount="
+        + getEvaluationCount() + ", evaluationTimeNanos=" + getEvaluationTimeNanos() + "]";
+  }
+}
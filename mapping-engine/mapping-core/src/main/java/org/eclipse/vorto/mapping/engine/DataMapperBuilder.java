@@ -55,6 +55,13 @@ public class DataMapperBuilder {
     return this;
   }
 
+  /**
+   * Builds the data mapper. The mapping specification is compiled into a mapping plan once, so
+   * invalid xpaths or conditions are reported here rather than while mapping payloads.
+   * 
+   * @return data mapper for the given specification
+   * @throws MappingException if the specification contains invalid expressions
+   */
   public IDataMapper build() {
     this.functionLibrary.addConverterFunctions(specification.getScriptFunctions(this.provider));
     return new DataMapperJxpath(specification, functionLibrary);
@@ -12,7 +12,11 @@
  */
 package org.eclipse.vorto.mapping.engine;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.eclipse.vorto.model.runtime.InfomodelValue;
 import org.eclipse.vorto.model.runtime.PropertyValue;
 
@@ -42,6 +46,57 @@ public interface IDataMapper {
    */
   InfomodelValue mapSource(Object input);
 
+  /**
+   * Maps the given source objects one after the other. A payload that cannot be mapped does not
+   * abort the batch, its problem is reported in the corresponding result instead.
+   * 
+   * @param inputs source input data that is supposed to get mapped
+   * @return mapping results in the order of the given inputs
+   */
+  default List<MappingResult> mapBatch(List<?> inputs) {
+    return mapStream(inputs.stream()).collect(Collectors.toList());
+  }
+
+  /**
+   * Maps the given source objects in parallel using the given pool.
+   * 
+   * @param inputs source input data that is supposed to get mapped
+   * @param pool pool that executes the mapping
+   * @return mapping results in the order of the given inputs
+   */
+  default List<MappingResult> mapBatch(List<?> inputs, ForkJoinPool pool) {
+    return pool.submit(() -> mapStream(inputs.parallelStream()).collect(Collectors.toList()))
+        .join();
+  }
+
+  /**
+   * Lazily maps the given stream of source objects. A payload that cannot be mapped does not abort
+   * the stream, its problem is reported in the corresponding result instead.
+   * 
+   * @param inputs source input data that is supposed to get mapped
+   * @return stream of mapping results
+   */
+  default Stream<MappingResult> mapStream(Stream<?> inputs) {
+    return inputs.map(input -> {
+      try {
+        return MappingResult.success(input, mapSource(input));
+      } catch (MappingException ex) {
+        return MappingResult.failure(input, ex);
+      } catch (RuntimeException ex) {
+        return MappingResult.failure(input,
+            new MappingException("A problem occured during mapping", ex));
+      }
+    });
+  }
+
+  /**
+   * @return parse and evaluation metrics of the conditions of the mapping specification. Mappers
+   *         that do not record metrics return empty metrics.
+   */
+  default ConditionMetrics getConditionMetrics() {
+    return new ConditionMetrics();
+  }
+
   /**
    * Maps the given new property
    * 
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine;
+
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+
+/**
+ * Result of mapping a single source payload of a batch. Either holds the mapped value or the
+ * problem that occurred while mapping the payload.
+ */
+public final class MappingResult {
+
+  private final Object input;
+
+  private final InfomodelValue value;
+
+  private final MappingException error;
+
+  private MappingResult(Object input, InfomodelValue value, MappingException error) {
+    this.input = input;
+    this.value = value;
+    this.error = error;
+  }
+
+  public static MappingResult success(Object input, InfomodelValue value) {
+    return new MappingResult(input, value, null);
+  }
+
+  public static MappingResult failure(Object input, MappingException error) {
+    return new MappingResult(input, null, error);
+  }
+
+  /**
+   * @return the source payload that was mapped
+   */
+  public Object getInput() {
+    return input;
+  }
+
+  /**
+   * @return the mapped payload or null if the mapping failed
+   */
+  public InfomodelValue getValue() {
+    return value;
+  }
+
+  /**
+   * @return the problem that occurred during mapping or null if the mapping succeeded
+   */
+  public MappingException getError() {
+    return error;
+  }
+
+  public boolean isSuccess() {
+    return error == null;
+  }
+
+  @Override
+  public String toString() {
+    return "MappingResult [value=" + value + ", error=" + error + "]";
+  }
+}
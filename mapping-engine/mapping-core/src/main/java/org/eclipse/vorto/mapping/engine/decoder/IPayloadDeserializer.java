@@ -12,7 +12,31 @@
  */
 package org.eclipse.vorto.mapping.engine.decoder;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 public interface IPayloadDeserializer {
 
   Object deserialize(String source);
+
+  /**
+   * Deserializes the given UTF-8 encoded payload
+   * 
+   * @param source UTF-8 encoded payload
+   * @return deserialized payload
+   */
+  default Object deserialize(byte[] source) {
+    return deserialize(new String(source, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Deserializes the remaining bytes of the given UTF-8 encoded payload without changing the
+   * position of the buffer
+   * 
+   * @param source UTF-8 encoded payload
+   * @return deserialized payload
+   */
+  default Object deserialize(ByteBuffer source) {
+    return deserialize(StandardCharsets.UTF_8.decode(source.duplicate()).toString());
+  }
 }
@@ -12,6 +12,7 @@
  */
 package org.eclipse.vorto.mapping.engine.decoder;
 
+import java.nio.ByteBuffer;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
@@ -24,4 +25,14 @@ public class JSONDeserializer implements IPayloadDeserializer {
     return gson.fromJson((String)source, Object.class); 
   }
 
+  @Override
+  public Object deserialize(byte[] source) {
+    return gson.fromJson(PayloadReaders.of(source), Object.class);
+  }
+
+  @Override
+  public Object deserialize(ByteBuffer source) {
+    return gson.fromJson(PayloadReaders.of(source), Object.class);
+  }
+
 }
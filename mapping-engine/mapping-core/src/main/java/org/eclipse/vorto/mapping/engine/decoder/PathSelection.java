@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.decoder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.commons.text.StrSubstitutor;
+import org.eclipse.vorto.mapping.engine.internal.MappingPlan;
+import org.eclipse.vorto.mapping.engine.internal.SimplePath;
+import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
+import org.eclipse.vorto.model.EntityModel;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.Stereotype;
+
+/**
+ * Tree of the payload members that are read by the rules of a mapping specification.
+ *
+ * Simple child paths, such as <code>/device/temperature</code>, select exactly that branch. For
+ * all other expressions, e.g. xpaths using functions or predicates and conditions, every
+ * identifier that may denote a top-level member selects that member completely. Selecting too much
+ * only costs memory, so the analysis errs on that side: expressions that may address arbitrary
+ * parts of the payload (axes, wildcards, variables, <code>this</code>, ...) select the complete
+ * payload.
+ */
+final class PathSelection {
+
+  private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_\\-.]*");
+
+  private static final Pattern QUALIFIED_CALL =
+      Pattern.compile(":[A-Za-z_][A-Za-z0-9_\\-.]*\\s*\\(");
+
+  /**
+   * Descendant and other axes, wildcards, variables, unions, functions without arguments, which may
+   * read the context node, and the context node itself
+   */
+  private static final Pattern UNBOUNDED_XPATH = Pattern.compile(
+      "//|::|\\*|\\$|\\.\\.|\\||\\(\\s*\\)|(^|[^A-Za-z0-9_\\-])\\.($|[^A-Za-z0-9_])");
+
+  private static final Pattern UNBOUNDED_CONDITION = Pattern.compile("\\b(this|obj)\\b|\\$");
+
+  private final Map<String, PathSelection> children = new HashMap<>();
+
+  private boolean complete = false;
+
+  private PathSelection() {}
+
+  /**
+   * Collects the payload members read by the xpaths and conditions of the given specification
+   *
+   * @param specification mapping specification
+   * @return selection of the members that need to be materialized to map a payload
+   */
+  static PathSelection of(IMappingSpecification specification) {
+    PathSelection selection = new PathSelection();
+    for (ModelProperty fbProperty : specification.getInfoModel().getFunctionblocks()) {
+      FunctionblockModel fbModel = specification.getFunctionBlock(fbProperty.getName());
+      Optional<Stereotype> condition = fbModel.getStereotype(MappingPlan.STEREOTYPE_CONDITION);
+      if (condition.isPresent() && condition.get().hasAttribute(MappingPlan.ATTRIBUTE_VALUE)) {
+        selection.addCondition(condition.get().getAttributes().get(MappingPlan.ATTRIBUTE_VALUE));
+      }
+      selection.addProperties(fbModel.getStatusProperties());
+      selection.addProperties(fbModel.getConfigurationProperties());
+      if (selection.complete) {
+        break;
+      }
+    }
+    return selection;
+  }
+
+  /**
+   * @return true if the complete subtree of this node is selected
+   */
+  boolean isComplete() {
+    return complete;
+  }
+
+  /**
+   * @param name member name
+   * @return selection of the given member or null if the member is not read by the specification
+   */
+  PathSelection get(String name) {
+    return complete ? this : children.get(name);
+  }
+
+  private void addProperties(List<ModelProperty> properties) {
+    for (ModelProperty property : properties) {
+      Optional<Stereotype> source = property.getStereotype(MappingPlan.STEREOTYPE_SOURCE);
+      if (source.isPresent()) {
+        Map<String, String> attributes = source.get().getAttributes();
+        String xpath = attributes.get(MappingPlan.ATTRIBUTE_XPATH);
+        if (xpath != null && !xpath.isEmpty()) {
+          addXpath(new StrSubstitutor(attributes).replace(xpath));
+          if (attributes.containsKey(MappingPlan.ATTRIBUTE_CONDITION)) {
+            addCondition(attributes.get(MappingPlan.ATTRIBUTE_CONDITION));
+          }
+          continue;
+        }
+      }
+      if (property.getType() instanceof EntityModel) {
+        addProperties(((EntityModel) property.getType()).getProperties());
+      }
+    }
+  }
+
+  private void addXpath(String xpath) {
+    if (!addSimplePath(xpath)) {
+      if (UNBOUNDED_XPATH.matcher(xpath).find()) {
+        complete = true;
+      } else {
+        addIdentifiers(xpath);
+      }
+    }
+  }
+
+  private boolean addSimplePath(String xpath) {
+    SimplePath path = SimplePath.compile(xpath);
+    if (path == null) {
+      return false;
+    }
+    String[] names = new String[path.getLength()];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = path.getName(i);
+      if (path.isIndexed(i)) {
+        // indexed collections are materialized completely
+        add(names, i + 1);
+        return true;
+      }
+    }
+    add(names, names.length);
+    return true;
+  }
+
+  private void addCondition(String condition) {
+    if (UNBOUNDED_CONDITION.matcher(condition).find()) {
+      complete = true;
+    } else {
+      addIdentifiers(condition);
+    }
+  }
+
+  /**
+   * Selects every identifier of the expression outside of string literals that is neither a
+   * function name nor a namespace prefix, as well as each of its prefixes delimited by '.' or '-',
+   * which are member access and subtraction in JEXL, but valid name characters in XPath.
+   */
+  private void addIdentifiers(String expression) {
+    String unquoted = expression.replaceAll("'[^']*'|\"[^\"]*\"", "''");
+    Matcher matcher = IDENTIFIER.matcher(unquoted);
+    while (matcher.find()) {
+      if (matcher.start() > 0 && isNameChar(unquoted.charAt(matcher.start() - 1))) {
+        continue; // part of a number literal, such as 1e3
+      }
+      if (nextNonWhitespace(unquoted, matcher.end()) == '(') {
+        continue; // function name
+      }
+      if (QUALIFIED_CALL.matcher(unquoted).region(matcher.end(), unquoted.length()).lookingAt()) {
+        continue; // namespace prefix
+      }
+      String identifier = matcher.group();
+      for (int i = 1; i < identifier.length(); i++) {
+        char c = identifier.charAt(i);
+        if (c == '.' || c == '-') {
+          add(new String[] {identifier.substring(0, i)}, 1);
+        }
+      }
+      add(new String[] {identifier}, 1);
+    }
+  }
+
+  private static boolean isNameChar(char c) {
+    return Character.isLetterOrDigit(c) || c == '_';
+  }
+
+  private static char nextNonWhitespace(String s, int from) {
+    for (int i = from; i < s.length(); i++) {
+      if (!Character.isWhitespace(s.charAt(i))) {
+        return s.charAt(i);
+      }
+    }
+    return 0;
+  }
+
+  private void add(String[] names, int length) {
+    PathSelection node = this;
+    for (int i = 0; i < length && !node.complete; i++) {
+      node = node.children.computeIfAbsent(names[i], name -> new PathSelection());
+    }
+    node.complete = true;
+    node.children.clear();
+  }
+}
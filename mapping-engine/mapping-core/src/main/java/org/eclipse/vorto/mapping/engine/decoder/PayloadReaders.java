@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.decoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.CharArrayReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Creates character readers for UTF-8 encoded payloads without decoding them into Strings first
+ */
+final class PayloadReaders {
+
+  private PayloadReaders() {}
+
+  static Reader of(byte[] source) {
+    return of(new ByteArrayInputStream(source));
+  }
+
+  static Reader of(InputStream source) {
+    return new InputStreamReader(source, StandardCharsets.UTF_8);
+  }
+
+  static Reader of(ByteBuffer source) {
+    if (source.hasArray()) {
+      return of(new ByteArrayInputStream(source.array(), source.arrayOffset() + source.position(),
+          source.remaining()));
+    }
+    CharBuffer chars = StandardCharsets.UTF_8.decode(source.duplicate());
+    return new CharArrayReader(chars.array(), chars.arrayOffset() + chars.position(),
+        chars.remaining());
+  }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.decoder;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+/**
+ * JSON deserializer that pull-parses the payload and only materializes the members that are read
+ * by the rules of a mapping specification. All other members are skipped by the parser without
+ * creating any objects for them. Materialized members are identical to those produced by
+ * {@link JSONDeserializer}, so both deserializers can be used interchangeably with the same
+ * mapping specification.
+ *
+ * Payloads whose root is an array are always materialized completely.
+ */
+public class StreamingJSONDeserializer implements IPayloadDeserializer {
+
+  private static final TypeAdapter<Object> OBJECT_ADAPTER = new Gson().getAdapter(Object.class);
+
+  private final PathSelection selection;
+
+  /**
+   * @param specification mapping specification the payloads are deserialized for
+   */
+  public StreamingJSONDeserializer(IMappingSpecification specification) {
+    this.selection = PathSelection.of(specification);
+  }
+
+  @Override
+  public Object deserialize(String source) {
+    return deserialize(new StringReader(source));
+  }
+
+  @Override
+  public Object deserialize(byte[] source) {
+    return deserialize(PayloadReaders.of(source));
+  }
+
+  @Override
+  public Object deserialize(ByteBuffer source) {
+    return deserialize(PayloadReaders.of(source));
+  }
+
+  /**
+   * Deserializes the given UTF-8 encoded payload. The stream is read until the end of the JSON
+   * document, but is not closed.
+   * 
+   * @param source UTF-8 encoded payload
+   * @return deserialized payload
+   */
+  public Object deserialize(InputStream source) {
+    return deserialize(PayloadReaders.of(source));
+  }
+
+  private Object deserialize(Reader source) {
+    JsonReader reader = new JsonReader(source);
+    reader.setLenient(true);
+    try {
+      try {
+        reader.peek();
+      } catch (EOFException e) {
+        return null; // empty payload
+      }
+      Object result = read(reader, selection);
+      if (reader.peek() != JsonToken.END_DOCUMENT) {
+        throw new JsonIOException("JSON document was not fully consumed.");
+      }
+      return result;
+    } catch (MalformedJsonException | IllegalStateException e) {
+      throw new JsonSyntaxException(e);
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+  }
+
+  private Object read(JsonReader reader, PathSelection selection) throws IOException {
+    if (selection.isComplete() || reader.peek() != JsonToken.BEGIN_OBJECT) {
+      return OBJECT_ADAPTER.read(reader);
+    }
+
+    Map<String, Object> object = new LinkedHashMap<>();
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+      PathSelection member = selection.get(name);
+      if (member != null) {
+        object.put(name, read(reader, member));
+      } else {
+        reader.skipValue();
+      }
+    }
+    reader.endObject();
+    return object;
+  }
+}
@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.internal;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Map;
+import org.apache.commons.jxpath.JXPathNotFoundException;
+import org.eclipse.vorto.mapping.engine.MappingException;
+
+/**
+ * Typed field of a binary payload, declared by the attributes of a source stereotype without an
+ * xpath:
+ * <ul>
+ * <li><code>type</code>: <code>binary</code>, marks the attributes as a binary field</li>
+ * <li><code>offset</code>: position of the first byte of the field, relative to the start of the
+ * payload</li>
+ * <li><code>length</code>: number of bytes of the integer, 1 to 8 (default 1)</li>
+ * <li><code>endian</code>: <code>big</code> (default) or <code>little</code></li>
+ * <li><code>signed</code>: <code>true</code> (default) for two's complement integers,
+ * <code>false</code> for unsigned integers of up to 7 bytes</li>
+ * <li><code>scale</code>: optional factor the integer is multiplied with</li>
+ * </ul>
+ *
+ * Fields are read with absolute accessors directly from the payload buffer without changing its
+ * position or byte order. Fields of 2, 4 or 8 bytes are read with the typed getters of the buffer.
+ * A field yields an Integer if it fits into an int, a Long otherwise, and a Double if it is
+ * scaled. Unsigned fields of 8 bytes are rejected, as they do not fit into a Long.
+ */
+final class BinaryField {
+
+  static final String ATTRIBUTE_TYPE = "type";
+  static final String TYPE_BINARY = "binary";
+  static final String ATTRIBUTE_OFFSET = "offset";
+  static final String ATTRIBUTE_LENGTH = "length";
+  static final String ATTRIBUTE_ENDIAN = "endian";
+  static final String ATTRIBUTE_SIGNED = "signed";
+  static final String ATTRIBUTE_SCALE = "scale";
+
+  private final int offset;
+
+  private final int length;
+
+  private final ByteOrder order;
+
+  private final boolean signed;
+
+  private final Double scale;
+
+  private BinaryField(int offset, int length, ByteOrder order, boolean signed, Double scale) {
+    this.offset = offset;
+    this.length = length;
+    this.order = order;
+    this.signed = signed;
+    this.scale = scale;
+  }
+
+  /**
+   * Compiles the binary field declared by the given source stereotype attributes
+   *
+   * @param attributes attributes of the source stereotype
+   * @return binary field or null if the attributes are not marked as a binary field
+   * @throws MappingException if the declaration is invalid
+   */
+  static BinaryField compile(Map<String, String> attributes) {
+    String type = attributes.get(ATTRIBUTE_TYPE);
+    if (type == null || !TYPE_BINARY.equalsIgnoreCase(type.trim())) {
+      return null;
+    }
+
+    try {
+      String offset = attributes.get(ATTRIBUTE_OFFSET);
+      if (offset == null) {
+        throw new IllegalArgumentException("Offset is missing");
+      }
+      BinaryField field = new BinaryField(Integer.parseInt(offset.trim()),
+          Integer.parseInt(attributes.getOrDefault(ATTRIBUTE_LENGTH, "1").trim()),
+          toByteOrder(attributes.getOrDefault(ATTRIBUTE_ENDIAN, "big")),
+          isSigned(attributes.getOrDefault(ATTRIBUTE_SIGNED, "true")),
+          attributes.containsKey(ATTRIBUTE_SCALE)
+              ? Double.valueOf(attributes.get(ATTRIBUTE_SCALE).trim())
+              : null);
+      if (field.offset < 0 || field.length < 1 || field.length > 8) {
+        throw new IllegalArgumentException("Offset must not be negative, length must be 1 to 8");
+      }
+      if (field.length == 8 && !field.signed) {
+        throw new IllegalArgumentException("Unsigned fields must not be longer than 7 bytes");
+      }
+      return field;
+    } catch (IllegalArgumentException ex) {
+      throw new MappingException("Invalid binary field " + attributes, ex);
+    }
+  }
+
+  private static ByteOrder toByteOrder(String endian) {
+    if ("big".equalsIgnoreCase(endian.trim())) {
+      return ByteOrder.BIG_ENDIAN;
+    } else if ("little".equalsIgnoreCase(endian.trim())) {
+      return ByteOrder.LITTLE_ENDIAN;
+    }
+    throw new IllegalArgumentException("Endian must be 'big' or 'little'");
+  }
+
+  private static boolean isSigned(String signed) {
+    if ("true".equalsIgnoreCase(signed.trim())) {
+      return true;
+    } else if ("false".equalsIgnoreCase(signed.trim())) {
+      return false;
+    }
+    throw new IllegalArgumentException("Signed must be 'true' or 'false'");
+  }
+
+  /**
+   * Reads the field from the given payload
+   *
+   * @param payload payload starting at the position of the buffer
+   * @return value of the field
+   * @throws JXPathNotFoundException if the payload is too short to contain the field
+   */
+  Object getValue(ByteBuffer payload) {
+    final int start = payload.position() + offset;
+    if (offset > payload.remaining() - length) {
+      throw new JXPathNotFoundException("No value for binary field at offset " + offset);
+    }
+
+    // a duplicate shares the content of the payload, but has its own byte order
+    final ByteBuffer buffer = payload.order() == order ? payload : payload.duplicate().order(order);
+    final long value;
+    switch (length) {
+      case 1:
+        value = signed ? buffer.get(start) : buffer.get(start) & 0xFFL;
+        break;
+      case 2:
+        value = signed ? buffer.getShort(start) : buffer.getShort(start) & 0xFFFFL;
+        break;
+      case 4:
+        value = signed ? buffer.getInt(start) : buffer.getInt(start) & 0xFFFFFFFFL;
+        break;
+      case 8:
+        value = buffer.getLong(start);
+        break;
+      default:
+        value = getOddLengthValue(buffer, start);
+    }
+
+    if (scale != null) {
+      return value * scale;
+    } else if (length < 4 || (length == 4 && signed)) {
+      return (int) value;
+    }
+    return value;
+  }
+
+  /**
+   * Reads a field of 3, 5, 6 or 7 bytes, for which the buffer has no typed getter
+   */
+  private long getOddLengthValue(ByteBuffer buffer, int start) {
+    long value = 0;
+    if (order == ByteOrder.BIG_ENDIAN) {
+      for (int i = 0; i < length; i++) {
+        value = (value << 8) | (buffer.get(start + i) & 0xFF);
+      }
+    } else {
+      for (int i = length - 1; i >= 0; i--) {
+        value = (value << 8) | (buffer.get(start + i) & 0xFF);
+      }
+    }
+    if (signed) {
+      final int shift = 64 - 8 * length;
+      value = (value << shift) >> shift;
+    }
+    return value;
+  }
+
+  @Override
+  public String toString() {
+    return "BinaryField [offset=" + offset + ", length=" + length + ", order=" + order
+        + ", signed=" + signed + ", scale=" + scale + "]";
+  }
+}
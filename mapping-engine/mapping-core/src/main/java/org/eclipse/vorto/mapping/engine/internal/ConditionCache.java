@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.internal;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import org.apache.commons.jexl2.Expression;
+import org.apache.commons.jexl2.JexlEngine;
+import org.apache.commons.jexl2.JexlException;
+import org.eclipse.vorto.mapping.engine.ConditionMetrics;
+import org.eclipse.vorto.mapping.engine.MappingException;
+import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
+
+/**
+ * Cache of parsed conditions, keyed by their normalized source text, so that a condition is parsed
+ * only once. A JEXL expression is bound to the engine that parsed it and thereby to the condition
+ * functions registered with that engine, which is why the cache also holds the engine.<br/>
+ * The mappers of the same specification instance with the same condition functions share a cache.
+ * The caches of a specification are only weakly reachable from the specification, so that they do
+ * not keep condition function classes, and their class loaders, reachable after the specification
+ * is gone. Both the number of caches per specification and the number of conditions per cache are
+ * bounded, the least recently used entries are evicted first.
+ *
+ * Parsed expressions are immutable and can be evaluated concurrently.
+ */
+public final class ConditionCache {
+
+  static final int MAX_EXPRESSIONS = 1024;
+
+  static final int MAX_CACHES_PER_SPECIFICATION = 8;
+
+  private static final Map<IMappingSpecification, Map<Map<String, Object>, ConditionCache>> CACHES =
+      new WeakHashMap<>();
+
+  private final JexlEngine jexlEngine;
+
+  private final Map<String, Expression> expressions = lruMap(MAX_EXPRESSIONS);
+
+  /**
+   * Gets the cache shared by the mappers of the given specification instance with the given
+   * condition functions
+   *
+   * @param specification mapping specification of the mapper
+   * @param conditionFunctions namespaces and classes of the condition functions
+   * @return cache of the specification
+   */
+  public static ConditionCache forSpecification(IMappingSpecification specification,
+      Map<String, Object> conditionFunctions) {
+    synchronized (CACHES) {
+      return CACHES
+          .computeIfAbsent(specification, key -> lruMap(MAX_CACHES_PER_SPECIFICATION))
+          .computeIfAbsent(new HashMap<>(conditionFunctions), ConditionCache::new);
+    }
+  }
+
+  private static <K, V> Map<K, V> lruMap(int maxSize) {
+    return new LinkedHashMap<K, V>(16, 0.75f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * @param conditionFunctions namespaces and classes of the condition functions
+   */
+  public ConditionCache(Map<String, Object> conditionFunctions) {
+    this.jexlEngine = new JexlEngine();
+    this.jexlEngine.setFunctions(conditionFunctions);
+  }
+
+  /**
+   * @return the engine that parses and evaluates the conditions of this cache
+   */
+  public JexlEngine getEngine() {
+    return jexlEngine;
+  }
+
+  /**
+   * Gets the parsed condition, parsing it only if it is not cached yet
+   *
+   * @param condition condition as written in the mapping specification
+   * @param metrics metrics the parse or cache hit is recorded to
+   * @return parsed condition
+   * @throws MappingException if the condition cannot be parsed
+   */
+  public Expression getExpression(String condition, ConditionMetrics metrics) {
+    final String normalized = normalizeCondition(condition);
+    synchronized (expressions) {
+      Expression expression = expressions.get(normalized);
+      if (expression != null) {
+        metrics.recordCacheHit();
+        return expression;
+      }
+
+      final long start = System.nanoTime();
+      try {
+        expression = jexlEngine.createExpression(normalized);
+      } catch (JexlException ex) {
+        throw new MappingException("Invalid condition '" + condition + "'", ex);
+      } finally {
+        metrics.recordParse(System.nanoTime() - start);
+      }
+      expressions.put(normalized, expression);
+      return expression;
+    }
+  }
+
+  private static String normalizeCondition(final String expression) {
+    return expression.replaceAll("/", "\\.");
+  }
+}
@@ -12,32 +12,30 @@
  */
 package org.eclipse.vorto.mapping.engine.internal;
 
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.apache.commons.jexl2.Expression;
 import org.apache.commons.jexl2.JexlContext;
 import org.apache.commons.jexl2.JexlEngine;
-import org.apache.commons.jexl2.ObjectContext;
 import org.apache.commons.jxpath.JXPathContext;
 import org.apache.commons.jxpath.JXPathInvalidAccessException;
 import org.apache.commons.jxpath.JXPathNotFoundException;
-import org.apache.commons.text.StrSubstitutor;
+import org.eclipse.vorto.mapping.engine.ConditionMetrics;
 import org.eclipse.vorto.mapping.engine.IDataMapper;
 import org.eclipse.vorto.mapping.engine.MappingContext;
 import org.eclipse.vorto.mapping.engine.MappingException;
+import org.eclipse.vorto.mapping.engine.MappingResult;
+import org.eclipse.vorto.mapping.engine.internal.MappingPlan.FunctionblockPlan;
+import org.eclipse.vorto.mapping.engine.internal.MappingPlan.PropertyPlan;
 import org.eclipse.vorto.mapping.engine.internal.functions.CustomFunctionsLibrary;
 import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
-import org.eclipse.vorto.model.EntityModel;
-import org.eclipse.vorto.model.EnumModel;
 import org.eclipse.vorto.model.FunctionblockModel;
-import org.eclipse.vorto.model.IModel;
-import org.eclipse.vorto.model.Infomodel;
-import org.eclipse.vorto.model.ModelProperty;
 import org.eclipse.vorto.model.Stereotype;
 import org.eclipse.vorto.model.runtime.EntityValue;
-import org.eclipse.vorto.model.runtime.EnumValue;
 import org.eclipse.vorto.model.runtime.FunctionblockValue;
 import org.eclipse.vorto.model.runtime.InfomodelValue;
 import org.eclipse.vorto.model.runtime.PropertyValue;
@@ -56,56 +54,54 @@ public class DataMapperJxpath implements IDataMapper {
 
   private JexlEngine jexlEngine = null;
 
-  private static final String STEREOTYPE_SOURCE = "source";
+  private MappingPlan plan = null;
+
+  private final ConditionMetrics conditionMetrics = new ConditionMetrics();
+
   private static final String STEREOTYPE_TARGET = "target";
-  private static final String ATTRIBUTE_XPATH = "xpath";
-  private static final String ATTRIBUTE_CONDITION = "condition";
 
   public DataMapperJxpath(IMappingSpecification mappingSpecification,
       CustomFunctionsLibrary functionLibrary) {
     this.specification = mappingSpecification;
     this.jxpathHelper = new JxPathFactory(functionLibrary);
-    this.jexlEngine = createJexlEngine(functionLibrary);
-  }
-
-  private static JexlEngine createJexlEngine(CustomFunctionsLibrary functionLibrary) {
-    JexlEngine jexl = new JexlEngine();
-    jexl.setFunctions(functionLibrary.getConditionFunctions());
-    return jexl;
+    ConditionCache conditions = ConditionCache.forSpecification(mappingSpecification,
+        functionLibrary.getConditionFunctions());
+    this.jexlEngine = conditions.getEngine();
+    this.plan = MappingPlan.compile(mappingSpecification, conditions, conditionMetrics);
   }
 
   public InfomodelValue map(Object input, MappingContext mappingContext) {
+    SourceContext context = new SourceContext(jxpathHelper, jexlEngine);
+    context.reset(input);
+    return map(context);
+  }
 
-    JXPathContext context = jxpathHelper.newContext(input);
-
-    InfomodelValue normalized = new InfomodelValue(specification.getInfoModel());
+  private InfomodelValue map(SourceContext context) {
 
-    final Infomodel deviceInfoModel = specification.getInfoModel();
+    InfomodelValue normalized = new InfomodelValue(plan.getInfomodel());
 
-    for (ModelProperty fbProperty : deviceInfoModel.getFunctionblocks()) {
-      FunctionblockValue mappedFb = mapFunctionBlock(fbProperty, context);
+    for (FunctionblockPlan fbPlan : plan.getFunctionblocks()) {
+      FunctionblockValue mappedFb = mapFunctionBlock(fbPlan, context);
       if (mappedFb != null) {
-        normalized.withFunctionblock(fbProperty.getName(), mappedFb);
+        normalized.withFunctionblock(fbPlan.getPropertyName(), mappedFb);
       }
     }
 
     return normalized;
   }
 
-  private FunctionblockValue mapFunctionBlock(ModelProperty fbProperty, JXPathContext context) {
+  private FunctionblockValue mapFunctionBlock(FunctionblockPlan fbPlan, SourceContext context) {
 
-    FunctionblockModel fbModel = specification.getFunctionBlock(fbProperty.getName());
-
-    if (!matchesCondition(fbModel, context)) {
+    if (!matchesCondition(fbPlan, context)) {
       return null;
     }
 
-    FunctionblockValue fbData = new FunctionblockValue(fbModel);
+    FunctionblockValue fbData = new FunctionblockValue(fbPlan.getModel());
 
-    for (ModelProperty statusProperty : fbModel.getStatusProperties()) {
+    for (PropertyPlan statusProperty : fbPlan.getStatusProperties()) {
 
       try {
-        Object mapped = this.mapProperty(fbModel, statusProperty, context);
+        Object mapped = this.mapProperty(statusProperty, context);
         if (mapped != null) {
           fbData.withStatusProperty(statusProperty.getName(), mapped);
         }
@@ -124,10 +120,10 @@ public class DataMapperJxpath implements IDataMapper {
 
     }
 
-    for (ModelProperty configProperty : fbModel.getConfigurationProperties()) {
+    for (PropertyPlan configProperty : fbPlan.getConfigurationProperties()) {
 
       try {
-        Object mapped = this.mapProperty(fbModel, configProperty, context);
+        Object mapped = this.mapProperty(configProperty, context);
         if (mapped != null) {
           fbData.withConfigurationProperty(configProperty.getName(), mapped);
         }
@@ -148,15 +144,12 @@ public class DataMapperJxpath implements IDataMapper {
     return onlyReturnIfPopulated(fbData);
   }
 
-  private boolean matchesCondition(FunctionblockModel fbModel, JXPathContext context) {
-    Optional<Stereotype> conditionStereotype = fbModel.getStereotype("condition");
-    if (conditionStereotype.isPresent() && conditionStereotype.get().hasAttribute("value")) {
-      Expression e = jexlEngine.createExpression(
-          normalizeCondition(conditionStereotype.get().getAttributes().get("value")));
-      JexlContext jc = new ObjectContext<Object>(jexlEngine, context.getContextBean());
-      jc.set("this", context.getContextBean());
-      jc.set("obj", context.getContextBean());
-      return (boolean) e.evaluate(jc);
+  private boolean matchesCondition(FunctionblockPlan fbPlan, SourceContext context) {
+    if (fbPlan.hasCondition()) {
+      JexlContext jc = context.getJexlContext();
+      jc.set("this", context.getBean());
+      jc.set("obj", context.getBean());
+      return evaluate(fbPlan.getCondition(), jc);
     } else {
       return true;
     }
@@ -177,103 +170,120 @@ public class DataMapperJxpath implements IDataMapper {
     return null;
   }
 
-  private Object mapProperty(IModel parent, ModelProperty property, JXPathContext input) {
-    Optional<Stereotype> sourceStereotype = property.getStereotype(STEREOTYPE_SOURCE);
-    if (sourceStereotype.isPresent() && hasXpath(sourceStereotype.get().getAttributes())) {
-      String expression =
-          replacePlaceHolders(sourceStereotype.get().getAttributes().get(ATTRIBUTE_XPATH),
-              sourceStereotype.get().getAttributes());
-
-      if (matchesPropertyCondition(sourceStereotype.get(), input)) {
-        return input.getValue(expression);
+  private Object mapProperty(PropertyPlan property, SourceContext input) {
+    if (!property.isEntity()) {
+      if (matchesPropertyCondition(property, input)) {
+        return getValue(property, input);
       }
-    } else if (property.getType() instanceof IModel) {
-      IModel referencedModel = (IModel) property.getType();
-      if (referencedModel instanceof EntityModel) {
-        EntityModel entityModel = (EntityModel) referencedModel;
-        EntityValue value = new EntityValue(entityModel);
-
-        for (ModelProperty entityProperty : entityModel.getProperties()) {
-
-          try {
-            Object mapped = this.mapProperty(entityModel, entityProperty, input);
-            if (mapped != null) {
-              value.withProperty(entityProperty.getName(), mapped);
-            }
-          } catch (JXPathNotFoundException ex) {
-            if (entityProperty.isMandatory()) {
-              return null;
-            }
-          } catch (JXPathInvalidAccessException ex) {
-            if (ex.getCause() instanceof JXPathNotFoundException) {
-              if (entityProperty.isMandatory()) {
-                return null;
-              }
-            }
-            throw new MappingException("A problem occured during mapping", ex);
-          }
+      return null;
+    }
 
-        }
+    EntityValue value = new EntityValue(property.getEntityModel());
+
+    for (PropertyPlan entityProperty : property.getEntityProperties()) {
 
-        return onlyReturnIfPopulated(value);
-      } else if (referencedModel instanceof EnumModel) {
-        EnumModel enumModel = (EnumModel) referencedModel;
-        EnumValue value = new EnumValue(enumModel);
-        if (sourceStereotype.isPresent() && hasXpath(sourceStereotype.get().getAttributes())) {
-          String expression =
-              replacePlaceHolders(sourceStereotype.get().getAttributes().get(ATTRIBUTE_XPATH),
-                  sourceStereotype.get().getAttributes());
-
-          if (matchesPropertyCondition(sourceStereotype.get(), input)) {
-            Object mappedEnumValue = input.getValue(expression);
-            if (mappedEnumValue instanceof String) {
-              value.setValue((String) mappedEnumValue);
-            }
-            return value;
+      try {
+        Object mapped = this.mapProperty(entityProperty, input);
+        if (mapped != null) {
+          value.withProperty(entityProperty.getName(), mapped);
+        }
+      } catch (JXPathNotFoundException ex) {
+        if (entityProperty.isMandatory()) {
+          return null;
+        }
+      } catch (JXPathInvalidAccessException ex) {
+        if (ex.getCause() instanceof JXPathNotFoundException) {
+          if (entityProperty.isMandatory()) {
+            return null;
           }
         }
+        throw new MappingException("A problem occured during mapping", ex);
       }
+
     }
 
-    return null;
+    return onlyReturnIfPopulated(value);
+  }
 
+  private Object getValue(PropertyPlan property, SourceContext input) {
+    if (property.getBinaryField() != null) {
+      ByteBuffer payload = input.getBinaryPayload();
+      if (payload == null) {
+        throw new JXPathNotFoundException(
+            "No binary payload to read the field of property " + property.getName());
+      }
+      return property.getBinaryField().getValue(payload);
+    }
+    if (property.getSimplePath() != null) {
+      Object value = property.getSimplePath().getValue(input.getBean());
+      if (value != SimplePath.UNRESOLVED) {
+        return value;
+      }
+    }
+    return property.getXpath().getValue(input.getJXPathContext());
   }
 
-  private boolean matchesPropertyCondition(Stereotype stereotype, JXPathContext context) {
-    if (stereotype.hasAttribute(ATTRIBUTE_CONDITION)) {
-      Expression e = jexlEngine.createExpression(
-          normalizeCondition(stereotype.getAttributes().get(ATTRIBUTE_CONDITION)));
-      JexlContext jc = new ObjectContext<Object>(jexlEngine, context.getContextBean());
-      jc.set("this", context.getContextBean());
-      return (boolean) e.evaluate(jc);
+  private boolean matchesPropertyCondition(PropertyPlan property, SourceContext context) {
+    if (property.hasCondition()) {
+      JexlContext jc = context.getJexlContext();
+      jc.set("this", context.getBean());
+      return evaluate(property.getCondition(), jc);
     } else {
       return true;
     }
   }
 
-  private String normalizeCondition(final String expression) {
-    return expression.replaceAll("/", "\\.");
+  private boolean evaluate(Expression condition, JexlContext jc) {
+    final long start = System.nanoTime();
+    try {
+      return (boolean) condition.evaluate(jc);
+    } finally {
+      conditionMetrics.recordEvaluation(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public InfomodelValue mapSource(Object input) {
+    return this.map(wrapInput(input), MappingContext.empty());
   }
 
-  private boolean hasXpath(Map<String, String> stereotypeAttributes) {
-    return stereotypeAttributes.containsKey(ATTRIBUTE_XPATH)
-        && !stereotypeAttributes.get(ATTRIBUTE_XPATH).equals("");
+  /**
+   * Maps the stream of payloads re-using one source context per thread instead of setting up the
+   * evaluation state for every payload
+   */
+  @Override
+  public Stream<MappingResult> mapStream(Stream<?> inputs) {
+    final ThreadLocal<SourceContext> contexts =
+        ThreadLocal.withInitial(() -> new SourceContext(jxpathHelper, jexlEngine));
+    return inputs.map(input -> mapElement(contexts.get(), input));
   }
 
-  private String replacePlaceHolders(String expression, Map<String, String> mappedAttributes) {
-    StrSubstitutor sub = new StrSubstitutor(mappedAttributes);
-    return sub.replace(expression);
+  private MappingResult mapElement(SourceContext context, Object input) {
+    try {
+      context.reset(wrapInput(input));
+      return MappingResult.success(input, map(context));
+    } catch (MappingException ex) {
+      return MappingResult.failure(input, ex);
+    } catch (RuntimeException ex) {
+      return MappingResult.failure(input,
+          new MappingException("A problem occured during mapping", ex));
+    } finally {
+      context.reset(null);
+    }
   }
 
-  @Override
-  public InfomodelValue mapSource(Object input) {
-    Object _input = input;
+  private static Object wrapInput(Object input) {
     if (input instanceof Object[] || input instanceof Collection<?>) {
       Map<String, Object> wrapped = new HashMap<>();
       wrapped.put("array", input);
-      _input = wrapped;
+      return wrapped;
     }
-    return this.map(_input, MappingContext.empty());
+    return input;
+  }
+
+  @Override
+  public ConditionMetrics getConditionMetrics() {
+    return conditionMetrics;
   }
 
   @Override
@@ -17,10 +17,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.apache.commons.jxpath.JXPathContext;
 
 public class DynamicBean {
 
+  private static final Pattern ARRAY_ELEMENT = Pattern.compile("(.+)\\[([1-9][0-9]{0,8})\\]");
+
   private Map<String, Object> properties = new HashMap<String, Object>();
 
   private JxPathFactory jxpathFactory;
@@ -94,9 +98,23 @@ public class DynamicBean {
     return pathElement.substring(0, pathElement.indexOf("["));
   }
 
-  private Object getValue(Object ctx, String path) {
-    JXPathContext jxpathCtx = jxpathFactory.newContext(ctx);
-    return jxpathCtx.getValue(path);
+  /**
+   * Resolves an array element, such as <code>items[2]</code>, of the given bean directly. Only
+   * other predicates are evaluated by JXPath.
+   */
+  private Object getValue(Map<String, Object> bean, String pathElement) {
+    Matcher matcher = ARRAY_ELEMENT.matcher(pathElement);
+    if (!matcher.matches()) {
+      JXPathContext jxpathCtx = jxpathFactory.newContext(bean);
+      return jxpathCtx.getValue(pathElement);
+    }
+    Object array = bean.get(matcher.group(1));
+    int index = Integer.parseInt(matcher.group(2)) - 1;
+    if (array instanceof List<?>) {
+      return index < ((List<?>) array).size() ? ((List<?>) array).get(index) : null;
+    }
+    // like XPath, a single value is treated as a collection with one element
+    return index == 0 ? array : null;
   }
 
   public Object getProperty(String name) {
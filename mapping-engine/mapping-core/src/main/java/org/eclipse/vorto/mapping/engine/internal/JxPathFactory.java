@@ -19,14 +19,25 @@ import org.apache.commons.jxpath.util.BasicTypeConverter;
 import org.apache.commons.jxpath.util.TypeUtils;
 import org.eclipse.vorto.mapping.engine.internal.functions.CustomFunctionsLibrary;
 
+/**
+ * Creates JXPath contexts for source payloads. Every context is a child of a prepared parent
+ * context, which holds the converter functions and the leniency, so that creating a context does
+ * not need to set them up again. The parent is never modified while mapping and can therefore be
+ * shared by all threads.
+ */
 public class JxPathFactory {
 
-  private boolean lenient = false;
+  static {
+    // JXPath only supports a process-wide type converter, hence it is registered exactly once
+    TypeUtils.setTypeConverter(new MyTypeConverter());
+  }
 
-  private CustomFunctionsLibrary functionLibrary;
+  private final JXPathContext parentContext;
 
   public JxPathFactory(CustomFunctionsLibrary functionLibrary) {
-    this.functionLibrary = functionLibrary;
+    this.parentContext = JXPathContext.newContext(null);
+    this.parentContext.setFunctions(functionLibrary.getConverterFunctions());
+    this.parentContext.setLenient(false);
   }
 
   public JxPathFactory() {
@@ -34,15 +45,11 @@ public class JxPathFactory {
   }
 
   public JXPathContext newContext(Object ctxObject) {
-    JXPathContext context = JXPathContext.newContext(ctxObject);
-    TypeUtils.setTypeConverter(new MyTypeConverter());
-    context.setFunctions(functionLibrary.getConverterFunctions());
-    context.setLenient(this.lenient);
-    return context;
+    return JXPathContext.newContext(parentContext, ctxObject);
   }
 
   public void setLenient(boolean lenient) {
-    this.lenient = lenient;
+    this.parentContext.setLenient(lenient);
   }
 
   public static class MyTypeConverter extends BasicTypeConverter {
@@ -0,0 +1,314 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.commons.jexl2.Expression;
+import org.apache.commons.jxpath.CompiledExpression;
+import org.apache.commons.jxpath.JXPathContext;
+import org.apache.commons.jxpath.JXPathException;
+import org.apache.commons.text.StrSubstitutor;
+import org.eclipse.vorto.mapping.engine.ConditionMetrics;
+import org.eclipse.vorto.mapping.engine.MappingException;
+import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
+import org.eclipse.vorto.model.EntityModel;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.Infomodel;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.Stereotype;
+
+/**
+ * Immutable mapping plan of a mapping specification. All stereotypes are interpreted once when
+ * the plan is compiled: property bindings are resolved, xpath placeholders are substituted and
+ * both the xpaths and the conditions are parsed, so that mapping a payload only evaluates the
+ * prepared expressions.
+ */
+public final class MappingPlan {
+
+  public static final String STEREOTYPE_SOURCE = "source";
+  public static final String STEREOTYPE_CONDITION = "condition";
+  public static final String ATTRIBUTE_XPATH = "xpath";
+  public static final String ATTRIBUTE_CONDITION = "condition";
+  public static final String ATTRIBUTE_VALUE = "value";
+
+  private final Infomodel infomodel;
+
+  private final List<FunctionblockPlan> functionblocks;
+
+  private MappingPlan(Infomodel infomodel, List<FunctionblockPlan> functionblocks) {
+    this.infomodel = infomodel;
+    this.functionblocks = Collections.unmodifiableList(functionblocks);
+  }
+
+  /**
+   * Compiles the given mapping specification into a mapping plan
+   *
+   * @param specification mapping specification to compile
+   * @param conditions cache the parsed conditions of the specification are taken from
+   * @param metrics metrics the parsing of the conditions is recorded to
+   * @return compiled mapping plan
+   * @throws MappingException if an xpath or a condition of the specification cannot be parsed
+   */
+  public static MappingPlan compile(IMappingSpecification specification,
+      ConditionCache conditions, ConditionMetrics metrics) {
+    final Conditions conditionCompiler = condition -> conditions.getExpression(condition, metrics);
+    final Infomodel infomodel = specification.getInfoModel();
+    List<FunctionblockPlan> functionblocks = new ArrayList<>();
+    for (ModelProperty fbProperty : infomodel.getFunctionblocks()) {
+      FunctionblockModel fbModel = specification.getFunctionBlock(fbProperty.getName());
+      functionblocks.add(new FunctionblockPlan(fbProperty.getName(), fbModel,
+          compileFunctionblockCondition(fbModel, conditionCompiler),
+          compileProperties(fbModel.getStatusProperties(), conditionCompiler),
+          compileProperties(fbModel.getConfigurationProperties(), conditionCompiler)));
+    }
+    return new MappingPlan(infomodel, functionblocks);
+  }
+
+  public Infomodel getInfomodel() {
+    return infomodel;
+  }
+
+  public List<FunctionblockPlan> getFunctionblocks() {
+    return functionblocks;
+  }
+
+  private static Expression compileFunctionblockCondition(FunctionblockModel fbModel,
+      Conditions conditions) {
+    Optional<Stereotype> conditionStereotype = fbModel.getStereotype(STEREOTYPE_CONDITION);
+    if (conditionStereotype.isPresent()
+        && conditionStereotype.get().hasAttribute(ATTRIBUTE_VALUE)) {
+      return conditions.compile(conditionStereotype.get().getAttributes().get(ATTRIBUTE_VALUE));
+    }
+    return null;
+  }
+
+  private static List<PropertyPlan> compileProperties(List<ModelProperty> properties,
+      Conditions conditions) {
+    List<PropertyPlan> plans = new ArrayList<>(properties.size());
+    for (ModelProperty property : properties) {
+      PropertyPlan plan = compileProperty(property, conditions);
+      if (plan != null) {
+        plans.add(plan);
+      }
+    }
+    return plans;
+  }
+
+  /**
+   * Properties that can never yield a value, i.e. neither have a source xpath or binary field nor
+   * reference an entity, are left out of the plan. A source xpath takes precedence over a binary
+   * field.
+   */
+  private static PropertyPlan compileProperty(ModelProperty property, Conditions conditions) {
+    Optional<Stereotype> sourceStereotype = property.getStereotype(STEREOTYPE_SOURCE);
+    BinaryField binaryField =
+        sourceStereotype.isPresent() && !hasXpath(sourceStereotype.get().getAttributes())
+            ? BinaryField.compile(sourceStereotype.get().getAttributes())
+            : null;
+    if (sourceStereotype.isPresent()
+        && (binaryField != null || hasXpath(sourceStereotype.get().getAttributes()))) {
+      Map<String, String> attributes = sourceStereotype.get().getAttributes();
+      Expression condition = sourceStereotype.get().hasAttribute(ATTRIBUTE_CONDITION)
+          ? conditions.compile(attributes.get(ATTRIBUTE_CONDITION))
+          : null;
+      if (!hasXpath(attributes)) {
+        return PropertyPlan.source(property, null, null, binaryField, condition);
+      }
+      String xpath = replacePlaceHolders(attributes.get(ATTRIBUTE_XPATH), attributes);
+      return PropertyPlan.source(property, compileXpath(xpath), SimplePath.compile(xpath), null,
+          condition);
+    } else if (property.getType() instanceof EntityModel) {
+      EntityModel entityModel = (EntityModel) property.getType();
+      return PropertyPlan.entity(property, entityModel,
+          compileProperties(entityModel.getProperties(), conditions));
+    }
+    return null;
+  }
+
+  private static CompiledExpression compileXpath(String xpath) {
+    try {
+      return JXPathContext.compile(xpath);
+    } catch (JXPathException ex) {
+      throw new MappingException("Invalid xpath expression '" + xpath + "'", ex);
+    }
+  }
+
+  private static boolean hasXpath(Map<String, String> stereotypeAttributes) {
+    return stereotypeAttributes.containsKey(ATTRIBUTE_XPATH)
+        && !stereotypeAttributes.get(ATTRIBUTE_XPATH).equals("");
+  }
+
+  private static String replacePlaceHolders(String expression,
+      Map<String, String> mappedAttributes) {
+    StrSubstitutor sub = new StrSubstitutor(mappedAttributes);
+    return sub.replace(expression);
+  }
+
+  /**
+   * Parses conditions of the specification
+   */
+  @FunctionalInterface
+  private interface Conditions {
+    Expression compile(String condition);
+  }
+
+  /**
+   * Compiled mapping rules of a function block property of the information model
+   */
+  public static final class FunctionblockPlan {
+
+    private final String propertyName;
+
+    private final FunctionblockModel model;
+
+    private final Expression condition;
+
+    private final List<PropertyPlan> statusProperties;
+
+    private final List<PropertyPlan> configurationProperties;
+
+    private FunctionblockPlan(String propertyName, FunctionblockModel model, Expression condition,
+        List<PropertyPlan> statusProperties, List<PropertyPlan> configurationProperties) {
+      this.propertyName = propertyName;
+      this.model = model;
+      this.condition = condition;
+      this.statusProperties = Collections.unmodifiableList(statusProperties);
+      this.configurationProperties = Collections.unmodifiableList(configurationProperties);
+    }
+
+    public String getPropertyName() {
+      return propertyName;
+    }
+
+    public FunctionblockModel getModel() {
+      return model;
+    }
+
+    public boolean hasCondition() {
+      return condition != null;
+    }
+
+    public Expression getCondition() {
+      return condition;
+    }
+
+    public List<PropertyPlan> getStatusProperties() {
+      return statusProperties;
+    }
+
+    public List<PropertyPlan> getConfigurationProperties() {
+      return configurationProperties;
+    }
+  }
+
+  /**
+   * Compiled mapping rule of a single property. A property is either bound to an xpath and/or a
+   * typed field of the source payload or is an entity whose properties are mapped individually.
+   */
+  public static final class PropertyPlan {
+
+    private final ModelProperty property;
+
+    private final CompiledExpression xpath;
+
+    private final SimplePath simplePath;
+
+    private final BinaryField binaryField;
+
+    private final Expression condition;
+
+    private final EntityModel entityModel;
+
+    private final List<PropertyPlan> entityProperties;
+
+    private PropertyPlan(ModelProperty property, CompiledExpression xpath, SimplePath simplePath,
+        BinaryField binaryField, Expression condition, EntityModel entityModel,
+        List<PropertyPlan> entityProperties) {
+      this.property = property;
+      this.xpath = xpath;
+      this.simplePath = simplePath;
+      this.binaryField = binaryField;
+      this.condition = condition;
+      this.entityModel = entityModel;
+      this.entityProperties = Collections.unmodifiableList(entityProperties);
+    }
+
+    private static PropertyPlan source(ModelProperty property, CompiledExpression xpath,
+        SimplePath simplePath, BinaryField binaryField, Expression condition) {
+      return new PropertyPlan(property, xpath, simplePath, binaryField, condition, null,
+          Collections.emptyList());
+    }
+
+    private static PropertyPlan entity(ModelProperty property, EntityModel entityModel,
+        List<PropertyPlan> entityProperties) {
+      return new PropertyPlan(property, null, null, null, null, entityModel, entityProperties);
+    }
+
+    public ModelProperty getProperty() {
+      return property;
+    }
+
+    public String getName() {
+      return property.getName();
+    }
+
+    public boolean isMandatory() {
+      return property.isMandatory();
+    }
+
+    public boolean isEntity() {
+      return entityModel != null;
+    }
+
+    /**
+     * @return compiled xpath or null if the property is only bound to a binary field
+     */
+    public CompiledExpression getXpath() {
+      return xpath;
+    }
+
+    /**
+     * @return direct accessor for the xpath or null if the xpath can only be evaluated by JXPath
+     */
+    SimplePath getSimplePath() {
+      return simplePath;
+    }
+
+    /**
+     * @return typed field that is read from binary payloads or null if the property has none
+     */
+    BinaryField getBinaryField() {
+      return binaryField;
+    }
+
+    public boolean hasCondition() {
+      return condition != null;
+    }
+
+    public Expression getCondition() {
+      return condition;
+    }
+
+    public EntityModel getEntityModel() {
+      return entityModel;
+    }
+
+    public List<PropertyPlan> getEntityProperties() {
+      return entityProperties;
+    }
+  }
+}
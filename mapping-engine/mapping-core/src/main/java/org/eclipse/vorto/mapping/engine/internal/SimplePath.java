@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.commons.jxpath.JXPathNotFoundException;
+
+/**
+ * Direct accessor chain for simple xpaths, such as <code>/temperature</code> or
+ * <code>sensors[2]/value</code>, over JSON-like trees of {@link Map}s, {@link List}s and object
+ * arrays.
+ *
+ * Whenever the payload does not have the shape the accessor can navigate without JXPath's node set
+ * semantics, {@link #getValue(Object)} returns {@link #UNRESOLVED} and the caller falls back to the
+ * compiled JXPath expression.
+ */
+public final class SimplePath {
+
+  static final Object UNRESOLVED = new Object();
+
+  private static final Pattern SEGMENT =
+      Pattern.compile("@?([A-Za-z_][A-Za-z0-9_\\-]*(?:\\.[A-Za-z0-9_\\-]+)*)"
+          + "(?:\\[([1-9][0-9]*)\\])?");
+
+  private final String xpath;
+
+  private final String[] names;
+
+  /**
+   * 1-based index per segment as in XPath, 0 if the segment is not indexed
+   */
+  private final int[] indices;
+
+  private SimplePath(String xpath, String[] names, int[] indices) {
+    this.xpath = xpath;
+    this.names = names;
+    this.indices = indices;
+  }
+
+  /**
+   * Compiles the given xpath into a direct accessor chain
+   *
+   * @param xpath xpath to compile
+   * @return accessor or null if the xpath uses anything but child steps with optional positional
+   *         predicates, e.g. functions, conditions, axes or literals
+   */
+  public static SimplePath compile(String xpath) {
+    String path = xpath.startsWith("/") ? xpath.substring(1) : xpath;
+    if (path.isEmpty() || path.endsWith("/")) {
+      return null;
+    }
+
+    List<String> names = new ArrayList<>();
+    List<Integer> indices = new ArrayList<>();
+    for (String segment : path.split("/", -1)) {
+      Matcher matcher = SEGMENT.matcher(segment);
+      if (!matcher.matches()) {
+        return null;
+      }
+      names.add(matcher.group(1));
+      indices.add(matcher.group(2) != null ? Integer.valueOf(matcher.group(2)) : 0);
+    }
+
+    int[] indexArray = new int[indices.size()];
+    for (int i = 0; i < indexArray.length; i++) {
+      indexArray[i] = indices.get(i);
+    }
+    return new SimplePath(xpath, names.toArray(new String[names.size()]), indexArray);
+  }
+
+  /**
+   * @return number of segments of the path
+   */
+  public int getLength() {
+    return names.length;
+  }
+
+  /**
+   * @param segment 0-based position of the segment
+   * @return member name the segment selects
+   */
+  public String getName(int segment) {
+    return names[segment];
+  }
+
+  /**
+   * @param segment 0-based position of the segment
+   * @return true if the segment selects an element of a collection
+   */
+  public boolean isIndexed(int segment) {
+    return indices[segment] > 0;
+  }
+
+  /**
+   * Resolves the path against the given payload
+   *
+   * @param root payload
+   * @return resolved value or {@link #UNRESOLVED} if the path must be evaluated by JXPath instead
+   * @throws JXPathNotFoundException if the payload does not contain the path
+   */
+  Object getValue(Object root) {
+    Object current = root;
+    for (int i = 0; i < names.length; i++) {
+      if (!(current instanceof Map<?, ?>)) {
+        return UNRESOLVED;
+      }
+      Map<?, ?> node = (Map<?, ?>) current;
+      current = node.get(names[i]);
+      if (current == null) {
+        if (!node.containsKey(names[i])) {
+          throw new JXPathNotFoundException("No value for xpath: " + xpath);
+        }
+        return UNRESOLVED;
+      }
+
+      if (indices[i] > 0) {
+        current = getElement(current, indices[i]);
+        if (current == UNRESOLVED) {
+          return UNRESOLVED;
+        }
+      } else if (isCollection(current)) {
+        return UNRESOLVED;
+      }
+    }
+    return current;
+  }
+
+  private Object getElement(Object collection, int index) {
+    if (collection instanceof List<?>) {
+      List<?> list = (List<?>) collection;
+      if (index > list.size()) {
+        return UNRESOLVED;
+      }
+      Object element = list.get(index - 1);
+      return element != null && !isCollection(element) ? element : UNRESOLVED;
+    } else if (collection instanceof Object[]) {
+      Object[] array = (Object[]) collection;
+      if (index > array.length) {
+        return UNRESOLVED;
+      }
+      Object element = array[index - 1];
+      return element != null && !isCollection(element) ? element : UNRESOLVED;
+    }
+    return UNRESOLVED;
+  }
+
+  private static boolean isCollection(Object value) {
+    return value instanceof Collection<?> || value.getClass().isArray();
+  }
+
+  @Override
+  public String toString() {
+    return xpath;
+  }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.internal;
+
+import java.nio.ByteBuffer;
+import org.apache.commons.jexl2.JexlContext;
+import org.apache.commons.jexl2.JexlEngine;
+import org.apache.commons.jxpath.JXPathContext;
+import org.eclipse.vorto.mapping.engine.model.binary.BinaryData;
+
+/**
+ * Evaluation state for the source payload that is currently mapped. The JXPath context is only
+ * created if an expression cannot be resolved by a direct accessor. A source context can be
+ * {@link #reset(Object) reset} to map the next payload of a batch on the same thread.
+ */
+class SourceContext {
+
+  private final JxPathFactory jxpathFactory;
+
+  private final BeanContext jexlContext;
+
+  private Object bean;
+
+  private JXPathContext jxpathContext = null;
+
+  private ByteBuffer binaryPayload = null;
+
+  SourceContext(JxPathFactory jxpathFactory, JexlEngine jexlEngine) {
+    this.jxpathFactory = jxpathFactory;
+    this.jexlContext = new BeanContext(jexlEngine);
+  }
+
+  /**
+   * Prepares the context for mapping the given payload
+   *
+   * @param bean payload to map, null to release the previous payload
+   */
+  void reset(Object bean) {
+    this.bean = bean;
+    this.jxpathContext = null;
+    this.binaryPayload = null;
+  }
+
+  Object getBean() {
+    return bean;
+  }
+
+  /**
+   * @return the payload as buffer if it is binary, i.e. {@link BinaryData}, a {@link ByteBuffer} or
+   *         a byte array, null otherwise
+   */
+  ByteBuffer getBinaryPayload() {
+    if (binaryPayload == null) {
+      if (bean instanceof BinaryData) {
+        binaryPayload = ((BinaryData) bean).getBuffer();
+      } else if (bean instanceof ByteBuffer) {
+        binaryPayload = (ByteBuffer) bean;
+      } else if (bean instanceof byte[]) {
+        binaryPayload = ByteBuffer.wrap((byte[]) bean);
+      }
+    }
+    return binaryPayload;
+  }
+
+  JXPathContext getJXPathContext() {
+    if (jxpathContext == null) {
+      jxpathContext = jxpathFactory.newContext(bean);
+    }
+    return jxpathContext;
+  }
+
+  /**
+   * @return JEXL context that resolves variables as properties of the current payload
+   */
+  JexlContext getJexlContext() {
+    return jexlContext;
+  }
+
+  /**
+   * Same semantics as JEXL's ObjectContext, but bound to the current payload of the source context
+   * so that it does not need to be re-created for every condition.
+   */
+  private class BeanContext implements JexlContext {
+
+    private final JexlEngine jexl;
+
+    BeanContext(JexlEngine jexl) {
+      this.jexl = jexl;
+    }
+
+    @Override
+    public Object get(String name) {
+      return jexl.getProperty(bean, name);
+    }
+
+    @Override
+    public void set(String name, Object value) {
+      jexl.setProperty(bean, name, value);
+    }
+
+    @Override
+    public boolean has(String name) {
+      return jexl.getUberspect().getPropertyGet(bean, name, null) != null;
+    }
+  }
+}
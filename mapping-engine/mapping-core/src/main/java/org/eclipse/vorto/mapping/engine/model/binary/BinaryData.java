@@ -12,24 +12,58 @@
  */
 package org.eclipse.vorto.mapping.engine.model.binary;
 
+import java.nio.ByteBuffer;
+
+/**
+ * Binary device payload. The payload is either backed by a byte array or by the remaining bytes of
+ * a {@link ByteBuffer}, which may be a heap, a direct or a memory-mapped buffer. Typed binary fields
+ * of a mapping specification are read from the buffer in place, whereas xpath functions operate on
+ * the byte array, which is only copied from the buffer if an xpath asks for it.
+ */
 public class BinaryData {
 
   private byte[] data;
 
+  private ByteBuffer buffer;
+
   public BinaryData(byte[] data) {
     this.data = data;
   }
 
+  /**
+   * @param buffer payload, i.e. the bytes between the current position and the limit of the buffer.
+   *        The buffer is neither modified nor copied when reading binary fields.
+   */
+  public BinaryData(ByteBuffer buffer) {
+    this.buffer = buffer;
+  }
+
   public BinaryData() {
 
   }
 
   public byte[] getData() {
+    if (data == null && buffer != null) {
+      byte[] copy = new byte[buffer.remaining()];
+      buffer.duplicate().get(copy);
+      data = copy;
+    }
     return data;
   }
 
   public void setData(byte[] data) {
     this.data = data;
+    this.buffer = null;
+  }
+
+  /**
+   * @return the payload as buffer whose position marks the first byte of the payload
+   */
+  public ByteBuffer getBuffer() {
+    if (buffer == null && data != null) {
+      buffer = ByteBuffer.wrap(data);
+    }
+    return buffer;
   }
 
 }
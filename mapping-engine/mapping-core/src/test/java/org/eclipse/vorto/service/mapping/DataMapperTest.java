@@ -14,15 +14,34 @@ package org.eclipse.vorto.service.mapping;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import org.eclipse.vorto.mapping.engine.ConditionMetrics;
 import org.eclipse.vorto.mapping.engine.IDataMapper;
+import org.eclipse.vorto.mapping.engine.MappingException;
+import org.eclipse.vorto.mapping.engine.MappingResult;
 import org.eclipse.vorto.mapping.engine.decoder.CSVDeserializer;
+import org.eclipse.vorto.mapping.engine.functions.ClassFunction;
 import org.eclipse.vorto.mapping.engine.decoder.IPayloadDeserializer;
 import org.eclipse.vorto.mapping.engine.decoder.JSONDeserializer;
+import org.eclipse.vorto.mapping.engine.decoder.StreamingJSONDeserializer;
+import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.PrimitiveType;
+import org.eclipse.vorto.model.Stereotype;
 import org.eclipse.vorto.model.runtime.EntityPropertyValue;
 import org.eclipse.vorto.model.runtime.FunctionblockValue;
 import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.eclipse.vorto.service.mapping.spec.AbstractTestSpec;
 import org.eclipse.vorto.service.mapping.spec.SpecWithArrayPayload;
 import org.eclipse.vorto.service.mapping.spec.SpecWithConditionFunction;
 import org.eclipse.vorto.service.mapping.spec.SpecWithConditionalProperties;
@@ -213,4 +232,164 @@ public class DataMapperTest {
     assertEquals(20.3,mappedOutput.get("outdoorTemperature").getStatusProperty("value").get().getValue());
     assertEquals("Celcius",mappedOutput.get("outdoorTemperature").getStatusProperty("unit").get().getValue());
   }
+  
+  @Test(expected = MappingException.class)
+  public void testInvalidXpathIsRejectedWhenBuildingMapper() {
+    IDataMapper.newBuilder().withSpecification(new AbstractTestSpec() {
+      @Override
+      protected void createModel() {
+        FunctionblockModel buttonModel = FunctionblockModel
+            .Builder(ModelId.fromPrettyFormat("demo.fb:PushButton:1.0.0"))
+            .statusProperty(ModelProperty.Builder("sensor_value", PrimitiveType.FLOAT)
+                .withXPathStereotype("/count[", "iotbutton").build())
+            .build();
+        infomodel.getFunctionblocks().add(ModelProperty.Builder("button", buttonModel).build());
+      }
+    }).build();
+  }
+
+  @Test
+  public void testMapSimplePathsOverJsonTree() {
+    IDataMapper mapper = IDataMapper.newBuilder().withSpecification(new AbstractTestSpec() {
+      @Override
+      protected void createModel() {
+        FunctionblockModel sensorModel = FunctionblockModel
+            .Builder(ModelId.fromPrettyFormat("demo.fb:Sensor:1.0.0"))
+            .statusProperty(ModelProperty.Builder("value", PrimitiveType.FLOAT)
+                .withXPathStereotype("/sensors[2]/value", "iotbutton").build())
+            .statusProperty(ModelProperty.Builder("name", PrimitiveType.STRING)
+                .withXPathStereotype("device/name", "iotbutton").build())
+            .statusProperty(ModelProperty.Builder("unit", PrimitiveType.STRING).optional()
+                .withXPathStereotype("/unit", "iotbutton").build())
+            .build();
+        infomodel.getFunctionblocks().add(ModelProperty.Builder("sensor", sensorModel).build());
+      }
+    }).build();
+
+    String json = "{\"device\" : {\"name\" : \"gateway\"}, "
+        + "\"sensors\" : [{\"value\" : 1.5}, {\"value\" : 2.5}]}";
+
+    InfomodelValue mappedOutput = mapper.mapSource(new JSONDeserializer().deserialize(json));
+
+    FunctionblockValue sensor = mappedOutput.get("sensor");
+    assertEquals(2.5, sensor.getStatusProperty("value").get().getValue());
+    assertEquals("gateway", sensor.getStatusProperty("name").get().getValue());
+    assertFalse(sensor.getStatusProperty("unit").isPresent());
+  }
+
+  @Test
+  public void testMapBatchReportsProblemsPerPayload() {
+    IDataMapper mapper = IDataMapper.newBuilder().withSpecification(new AbstractTestSpec() {
+      @Override
+      protected void createModel() {
+        FunctionblockModel buttonModel = FunctionblockModel
+            .Builder(ModelId.fromPrettyFormat("demo.fb:PushButton:1.0.0"))
+            .statusProperty(ModelProperty.Builder("click", PrimitiveType.STRING)
+                .withXPathStereotype("test:check(clickType)", "iotbutton").build())
+            .build();
+        infomodel.getFunctionblocks().add(ModelProperty.Builder("button", buttonModel).build());
+      }
+    }).registerConverterFunction(new ClassFunction("test", CheckFunctions.class)).build();
+
+    IPayloadDeserializer deserializer = new JSONDeserializer();
+    List<Object> payloads = Arrays.asList(deserializer.deserialize("{\"clickType\" : \"SINGLE\"}"),
+        deserializer.deserialize("{\"clickType\" : \"invalid\"}"),
+        deserializer.deserialize("{\"clickType\" : \"DOUBLE\"}"));
+
+    assertBatchResults(mapper.mapBatch(payloads));
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      assertBatchResults(mapper.mapBatch(payloads, pool));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testRepeatedConditionIsParsedOnce() throws Exception {
+    IMappingSpecification specification = new AbstractTestSpec() {
+      @Override
+      protected void createModel() {
+        FunctionblockModel sensorModel =
+            new FunctionblockModel(ModelId.fromPrettyFormat("demo.fb:Sensor:1.0.0"));
+        sensorModel.setStatusProperties(
+            Arrays.asList(conditionalProperty("value", "data.count > 1"),
+                conditionalProperty("sameValue", "data/count > 1")));
+        infomodel.getFunctionblocks().add(ModelProperty.Builder("sensor", sensorModel).build());
+      }
+    };
+    IDataMapper mapper = IDataMapper.newBuilder().withSpecification(specification).build();
+
+    ConditionMetrics metrics = mapper.getConditionMetrics();
+    assertEquals(1, metrics.getParseCount());
+    assertEquals(1, metrics.getCacheHitCount());
+
+    FunctionblockValue sensor = mapper
+        .mapSource(new JSONDeserializer().deserialize("{\"data\" : { \"count\" : 2 }}"))
+        .get("sensor");
+    assertEquals(2.0, sensor.getStatusProperty("value").get().getValue());
+    assertEquals(2.0, sensor.getStatusProperty("sameValue").get().getValue());
+    assertEquals(2, metrics.getEvaluationCount());
+
+    IDataMapper sameSpecMapper = IDataMapper.newBuilder().withSpecification(specification).build();
+    assertEquals(0, sameSpecMapper.getConditionMetrics().getParseCount());
+    assertEquals(2, sameSpecMapper.getConditionMetrics().getCacheHitCount());
+
+    IDataMapper otherMapper =
+        IDataMapper.newBuilder().withSpecification(new SpecWithConditionedRules()).build();
+    assertEquals(2, otherMapper.getConditionMetrics().getParseCount());
+    assertEquals(0, otherMapper.getConditionMetrics().getCacheHitCount());
+  }
+
+  private static ModelProperty conditionalProperty(String name, String condition) {
+    ModelProperty property = new ModelProperty();
+    property.setMandatory(true);
+    property.setName(name);
+    property.setType(PrimitiveType.FLOAT);
+    property.setTargetPlatformKey("iotbutton");
+    property.addStereotype(Stereotype.createWithConditionalXpath(condition, "/data/count"));
+    return property;
+  }
+
+  @Test
+  public void testStreamingDeserializerOnlyMaterializesMappedMembers() throws Exception {
+    SpecWithConditionedRules spec = new SpecWithConditionedRules();
+    IDataMapper mapper = IDataMapper.newBuilder().withSpecification(spec).build();
+
+    final String json = "{\"data\" : { \"key\" : \"DoorState\", \"value\" : \"Locked\","
+        + " \"history\" : [1, 2, 3]}, \"meta\" : { \"vendor\" : \"acme\" }}";
+
+    IPayloadDeserializer deserializer = new StreamingJSONDeserializer(spec);
+    Map<?, ?> payload = (Map<?, ?>) deserializer
+        .deserialize(ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)));
+    assertFalse(payload.containsKey("meta"));
+    assertTrue(((Map<?, ?>) payload.get("data")).containsKey("history"));
+
+    InfomodelValue mappedOutput = mapper.mapSource(payload);
+    assertNull(mappedOutput.get("operationState"));
+    assertEquals("Locked",
+        mappedOutput.get("doorState").getStatusProperty("sensor_value").get().getValue());
+    assertEquals(mapper.mapSource(new JSONDeserializer().deserialize(json)).toString(),
+        mappedOutput.toString());
+  }
+
+  private static void assertBatchResults(List<MappingResult> results) {
+    assertEquals(3, results.size());
+    assertEquals("SINGLE",
+        results.get(0).getValue().get("button").getStatusProperty("click").get().getValue());
+    assertFalse(results.get(1).isSuccess());
+    assertNotNull(results.get(1).getError());
+    assertEquals("DOUBLE",
+        results.get(2).getValue().get("button").getStatusProperty("click").get().getValue());
+  }
+
+  public static class CheckFunctions {
+
+    public static String check(String value) {
+      if ("invalid".equals(value)) {
+        throw new IllegalArgumentException("Invalid click type");
+      }
+      return value;
+    }
+  }
 }
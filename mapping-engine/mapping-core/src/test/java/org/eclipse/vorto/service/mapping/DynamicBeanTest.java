@@ -14,6 +14,7 @@ package org.eclipse.vorto.service.mapping;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import java.util.List;
 import java.util.Map;
 import org.eclipse.vorto.mapping.engine.internal.DynamicBean;
 import org.junit.Test;
@@ -93,4 +94,21 @@ public class DynamicBeanTest {
     bean.setProperty("data/persons[name='Alex']/male", true);
     System.out.println(bean);
   }
+
+  @SuppressWarnings("rawtypes")
+  @Test
+  public void testArrayItemsAreMergedByIndex() {
+    DynamicBean bean = new DynamicBean();
+    bean.setProperty("data/persons[1]/name", "Alex");
+    bean.setProperty("data/persons[2]/name", "Claudia");
+    bean.setProperty("data/persons[2]/male", false);
+    bean.setProperty("data/persons[1]/male", true);
+
+    List persons = (List) ((Map) bean.getProperty("data")).get("persons");
+    assertEquals(2, persons.size());
+    assertEquals("Alex", ((Map) persons.get(0)).get("name"));
+    assertEquals(true, ((Map) persons.get(0)).get("male"));
+    assertEquals("Claudia", ((Map) persons.get(1)).get("name"));
+    assertEquals(false, ((Map) persons.get(1)).get("male"));
+  }
 }
@@ -13,7 +13,9 @@
 package org.eclipse.vorto.mapping.engine;
 
 import java.io.InputStream;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import org.eclipse.vorto.mapping.engine.converter.JavascriptEvalProvider;
 import org.eclipse.vorto.mapping.engine.converter.binary.BinaryFunctionFactory;
 import org.eclipse.vorto.mapping.engine.converter.date.DateFunctionFactory;
@@ -62,6 +64,28 @@ public final class MappingEngine {
     return mapper.mapSource(deviceData);
   }
 
+  /**
+   * Maps the given batch of device source objects. Problems are reported per source object and do
+   * not abort the batch.
+   * 
+   * @param deviceData source input data that is supposed to get mapped
+   * @return mapping results in the order of the given source objects
+   */
+  public List<MappingResult> mapBatch(List<?> deviceData) {
+    return mapper.mapBatch(deviceData);
+  }
+
+  /**
+   * Maps the given batch of device source objects in parallel using the given pool.
+   * 
+   * @param deviceData source input data that is supposed to get mapped
+   * @param pool pool that executes the mapping
+   * @return mapping results in the order of the given source objects
+   */
+  public List<MappingResult> mapBatch(List<?> deviceData, ForkJoinPool pool) {
+    return mapper.mapBatch(deviceData, pool);
+  }
+
   /**
    * Maps the given Functionblock Property to device specific object.
    * 
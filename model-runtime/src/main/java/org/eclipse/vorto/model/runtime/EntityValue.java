@@ -26,6 +26,8 @@ public class EntityValue {
   private EntityModel meta;
 
   private List<PropertyValue> entityProperties = new ArrayList<PropertyValue>();
+
+  private transient Map<String, PropertyValue> entityPropertiesByName = new HashMap<>();
   
   public EntityValue(EntityModel meta) {
     super();
@@ -33,13 +35,14 @@ public class EntityValue {
   }
 
   public void withProperty(String name, Object value) {
-    Optional<ModelProperty> mp =
-        meta.getProperties().stream().filter(p -> p.getName().equals(name)).findFirst();
+    Optional<ModelProperty> mp = meta.getProperty(name);
     if (!mp.isPresent()) {
       throw new IllegalArgumentException(
           "Entity property with given name is not defined");
     }
-    this.entityProperties.add(new PropertyValue(mp.get(), value));
+    PropertyValue pv = new PropertyValue(mp.get(), value);
+    this.entityProperties.add(pv);
+    this.entityPropertiesByName.putIfAbsent(name, pv);
   }
 
   public List<PropertyValue> getProperties() {
@@ -47,7 +50,7 @@ public class EntityValue {
   }
   
   public Optional<PropertyValue> getPropertyValue(String name) {
-    return getProperties().stream().filter(p -> p.getMeta().getName().equals(name)).findAny();
+    return Optional.ofNullable(entityPropertiesByName.get(name));
   }
 
   public EntityModel getMeta() {
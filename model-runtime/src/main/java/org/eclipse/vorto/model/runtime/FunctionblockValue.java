@@ -28,6 +28,8 @@ public class FunctionblockValue implements IValidatable {
 
   private List<PropertyValue> status = new ArrayList<PropertyValue>();
   private List<PropertyValue> configuration = new ArrayList<PropertyValue>();
+  private transient Map<String, PropertyValue> statusByName = new HashMap<>();
+  private transient Map<String, PropertyValue> configurationByName = new HashMap<>();
   private List<FBEventValue> events = new ArrayList<FBEventValue>();
 
   public FunctionblockValue(FunctionblockModel meta) {
@@ -43,7 +45,7 @@ public class FunctionblockValue implements IValidatable {
   }
 
   public Optional<PropertyValue> getStatusProperty(String propertyName) {
-    return this.status.stream().filter(p -> p.getMeta().getName().equals(propertyName)).findAny();
+    return Optional.ofNullable(this.statusByName.get(propertyName));
   }
 
   public List<PropertyValue> getConfiguration() {
@@ -51,8 +53,7 @@ public class FunctionblockValue implements IValidatable {
   }
 
   public Optional<PropertyValue> getConfigurationProperty(String propertyName) {
-    return this.configuration.stream().filter(p -> p.getMeta().getName().equals(propertyName))
-        .findAny();
+    return Optional.ofNullable(this.configurationByName.get(propertyName));
   }
 
   public FunctionblockValue withStatusProperty(String name, Object value) {
@@ -62,12 +63,13 @@ public class FunctionblockValue implements IValidatable {
           "Status property with given name is not defined in Function Block");
     }
 
-    Optional<PropertyValue> pv = this.getStatusProperty(name);
-    if (pv.isPresent()) {
-      pv.get().setValue(value);
+    PropertyValue pv = this.statusByName.get(name);
+    if (pv != null) {
+      pv.setValue(value);
     } else {
-
-      this.status.add(PropertyValueFactory.create(mp.get(), value));
+      pv = PropertyValueFactory.create(mp.get(), value);
+      this.status.add(pv);
+      this.statusByName.put(name, pv);
     }
 
     return this;
@@ -80,11 +82,13 @@ public class FunctionblockValue implements IValidatable {
           "Configuration property with given name is not defined in Function Block");
     }
 
-    Optional<PropertyValue> pv = this.getConfigurationProperty(name);
-    if (pv.isPresent()) {
-      pv.get().setValue(value);
+    PropertyValue pv = this.configurationByName.get(name);
+    if (pv != null) {
+      pv.setValue(value);
     } else {
-      this.configuration.add(PropertyValueFactory.create(mp.get(), value));
+      pv = PropertyValueFactory.create(mp.get(), value);
+      this.configuration.add(pv);
+      this.configurationByName.put(name, pv);
     }
 
     return this;
@@ -104,21 +108,21 @@ public class FunctionblockValue implements IValidatable {
   public ValidationReport validate() {
     ValidationReport report = new ValidationReport();
 
+    final String path = meta.getId().getName().toLowerCase();
     for (ModelProperty statusProperty : meta.getStatusProperties()) {
-      checkProperty(getStatus(), statusProperty, meta.getId().getName().toLowerCase() + "", report);
+      checkProperty(statusByName, statusProperty, path, report);
     }
 
     for (ModelProperty configProperty : meta.getConfigurationProperties()) {
-      checkProperty(getConfiguration(), configProperty, meta.getId().getName().toLowerCase() + "",
-          report);
+      checkProperty(configurationByName, configProperty, path, report);
     }
     return report;
   }
 
-  private void checkProperty(List<PropertyValue> properties, ModelProperty property, String path,
-      ValidationReport report) {
-    Optional<PropertyValue> mpd =
-        properties.stream().filter(p -> p.getMeta().equals(property)).findAny();
+  private void checkProperty(Map<String, PropertyValue> properties, ModelProperty property,
+      String path, ValidationReport report) {
+    Optional<PropertyValue> mpd = Optional.ofNullable(properties.get(property.getName()))
+        .filter(p -> p.getMeta().equals(property));
     if (property.isMandatory() && !mpd.isPresent()) {
       report.addItem(property,
           "Mandatory field " + path + "/" + property.getName() + " is missing");
@@ -12,6 +12,7 @@
  */
 package org.eclipse.vorto.model.runtime;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import java.util.ArrayList;
@@ -58,6 +59,23 @@ public class ValidationTest {
     assertFalse(data.withStatusProperty("prop", "4.2").validate().isValid());
   }
 
+  @Test
+  public void testPropertyLookupAfterModelChange() {
+    FunctionblockModel fbModel = createModel(PrimitiveType.STRING);
+    FunctionblockValue data = new FunctionblockValue(fbModel);
+    data.withStatusProperty("prop", "value");
+
+    fbModel.getStatusProperties()
+        .add(ModelProperty.createPrimitiveProperty("prop2", false, PrimitiveType.STRING));
+    data.withStatusProperty("prop2", "value2").withStatusProperty("prop", "changed");
+
+    assertEquals(2, data.getStatus().size());
+    assertEquals("changed", data.getStatusProperty("prop").get().getValue());
+    assertEquals("value2", data.getStatusProperty("prop2").get().getValue());
+    assertFalse(data.getStatusProperty("prop3").isPresent());
+    assertTrue(data.validate().isValid());
+  }
+
   private FunctionblockModel createModel(PrimitiveType type) {
     FunctionblockModel fbModel =
         new FunctionblockModel(ModelId.fromPrettyFormat("default:TestFB:1.0.0"));
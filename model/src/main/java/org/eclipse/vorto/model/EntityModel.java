@@ -14,6 +14,7 @@ package org.eclipse.vorto.model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 public class EntityModel extends AbstractModel implements IReferenceType {
 
@@ -21,6 +22,8 @@ public class EntityModel extends AbstractModel implements IReferenceType {
 
   private ModelId superType;
 
+  private transient volatile PropertyIndex propertyIndex = null;
+
   public EntityModel(ModelId modelId) {
     super(modelId, ModelType.Datatype);
   }
@@ -37,6 +40,12 @@ public class EntityModel extends AbstractModel implements IReferenceType {
     return properties;
   }
 
+  public Optional<ModelProperty> getProperty(String propertyName) {
+    PropertyIndex index = PropertyIndex.of(propertyIndex, properties);
+    propertyIndex = index;
+    return index.find(propertyName);
+  }
+
   public void setProperties(List<ModelProperty> properties) {
     this.properties = properties;
   }
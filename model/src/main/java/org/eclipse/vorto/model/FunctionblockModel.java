@@ -27,6 +27,10 @@ public class FunctionblockModel extends AbstractModel implements IReferenceType
   private List<Operation> operations = new ArrayList<>();
   private ModelId superType = null;
 
+  private transient volatile PropertyIndex statusIndex = null;
+  private transient volatile PropertyIndex configurationIndex = null;
+  private transient volatile PropertyIndex faultIndex = null;
+
   public FunctionblockModel(ModelId modelId) {
     super(modelId, ModelType.Functionblock);
   }
@@ -52,15 +56,21 @@ public class FunctionblockModel extends AbstractModel implements IReferenceType
   }
 
   public Optional<ModelProperty> getStatusProperty(String propertyName) {
-    return statusProperties.stream().filter(p -> p.getName().equals(propertyName)).findAny();
+    PropertyIndex index = PropertyIndex.of(statusIndex, statusProperties);
+    statusIndex = index;
+    return index.find(propertyName);
   }
 
   public Optional<ModelProperty> getConfigurationProperty(String propertyName) {
-    return configurationProperties.stream().filter(p -> p.getName().equals(propertyName)).findAny();
+    PropertyIndex index = PropertyIndex.of(configurationIndex, configurationProperties);
+    configurationIndex = index;
+    return index.find(propertyName);
   }
 
   public Optional<ModelProperty> getFaultProperty(String propertyName) {
-    return faultProperties.stream().filter(p -> p.getName().equals(propertyName)).findAny();
+    PropertyIndex index = PropertyIndex.of(faultIndex, faultProperties);
+    faultIndex = index;
+    return index.find(propertyName);
   }
 
   public ModelId getSuperType() {
@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Name index over a list of model properties. Property lists of models are mutable and exposed, so
+ * an index only stays valid as long as it refers to the same list with the same size, see
+ * {@link #isIndexOf(List)}. Properties that were replaced in place or renamed are detected on
+ * lookup, in which case the list is scanned instead.
+ */
+final class PropertyIndex {
+
+  private final List<ModelProperty> properties;
+
+  private final int size;
+
+  private final Map<String, Integer> positions;
+
+  private PropertyIndex(List<ModelProperty> properties) {
+    this.properties = properties;
+    this.size = properties.size();
+    this.positions = new HashMap<>(size * 2);
+    for (int i = 0; i < size; i++) {
+      positions.putIfAbsent(properties.get(i).getName(), i);
+    }
+  }
+
+  /**
+   * Gets a valid index of the given properties, building a new index if the current one is stale
+   *
+   * @param current current index, may be null
+   * @param properties indexed properties
+   * @return current index if it is valid, a new index otherwise
+   */
+  static PropertyIndex of(PropertyIndex current, List<ModelProperty> properties) {
+    return current != null && current.isIndexOf(properties) ? current
+        : new PropertyIndex(properties);
+  }
+
+  boolean isIndexOf(List<ModelProperty> properties) {
+    return this.properties == properties && this.size == properties.size();
+  }
+
+  Optional<ModelProperty> find(String propertyName) {
+    Integer position = positions.get(propertyName);
+    if (position != null) {
+      ModelProperty property = properties.get(position);
+      if (propertyName.equals(property.getName())) {
+        return Optional.of(property);
+      }
+    }
+    return properties.stream().filter(p -> p.getName().equals(propertyName)).findFirst();
+  }
+}
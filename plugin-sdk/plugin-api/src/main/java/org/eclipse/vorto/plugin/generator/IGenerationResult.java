@@ -12,6 +12,9 @@
  */
 package org.eclipse.vorto.plugin.generator;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * 
  * @author Alexander Edelmann - Robert Bosch (SEA) Pte. Ltd.
@@ -24,4 +27,15 @@ public interface IGenerationResult {
   byte[] getContent();
 
   String getMediatype();
+
+  /**
+   * Writes the content to the given stream, without copying it into a new array if the result
+   * supports it. The stream is not closed.
+   * 
+   * @param out stream to write the content to
+   * @throws IOException if the content cannot be written
+   */
+  default void writeTo(OutputStream out) throws IOException {
+    out.write(getContent());
+  }
 }
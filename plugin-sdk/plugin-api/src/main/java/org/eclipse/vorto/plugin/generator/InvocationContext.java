@@ -24,11 +24,17 @@ package org.eclipse.vorto.plugin.generator;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.vorto.core.api.model.datatype.Entity;
+import org.eclipse.vorto.core.api.model.datatype.Enum;
 import org.eclipse.vorto.core.api.model.datatype.EnumLiteral;
 import org.eclipse.vorto.core.api.model.datatype.Property;
 import org.eclipse.vorto.core.api.model.functionblock.FunctionBlock;
@@ -58,19 +64,29 @@ import org.eclipse.vorto.plugin.generator.mapping.IMapped;
 import org.eclipse.vorto.plugin.generator.mapping.NullMapped;
 import org.eclipse.vorto.plugin.generator.utils.FileContent;
 
+/**
+ * Context of a code generator invocation, i.e. the mapping models and the configuration the code
+ * generator has been invoked with.<br/>
+ * The mapping rules are indexed by the kind and name of their source element and by their
+ * stereotype when the context is created, so that looking up a mapped element only compares the
+ * element with the few rules that may apply to it.
+ */
 public class InvocationContext {
 
-  private List<MappingRule> mappingRules;
+  private Map<RuleKey, List<IndexedRule>> mappingRules = new HashMap<>();
 
   private Map<String, String> configProperties;
 
   private FileContent importedFile = null;
 
+  private Map<ModelPair, Boolean> equalModels = new ConcurrentHashMap<>();
+
   public InvocationContext(List<MappingModel> mappingModels,
       Map<String, String> configProperties) {
-    this.mappingRules = new ArrayList<MappingRule>();
     for (MappingModel mappingModel : mappingModels) {
-      this.mappingRules.addAll(mappingModel.getRules());
+      for (MappingRule rule : mappingModel.getRules()) {
+        index(rule);
+      }
     }
 
     this.configProperties = configProperties;
@@ -85,6 +101,78 @@ public class InvocationContext {
     return new InvocationContext(new ArrayList<MappingModel>(), configProperties);
   }
 
+  private void index(MappingRule rule) {
+    if (!(rule.getTarget() instanceof StereoTypeTarget)) {
+      return;
+    }
+    StereoTypeTarget target = (StereoTypeTarget) rule.getTarget();
+    for (Source ruleSource : rule.getSources()) {
+      if (ruleSource instanceof InfomodelSource) {
+        Model model = ((InfomodelSource) ruleSource).getModel();
+        add(SourceKind.INFOMODEL, getQualifiedName(model), target, model);
+      } else if (ruleSource instanceof FunctionBlockSource) {
+        Model model = ((FunctionBlockSource) ruleSource).getModel();
+        add(SourceKind.FUNCTIONBLOCK, getQualifiedName(model), target, model);
+      } else if (ruleSource instanceof EnumPropertySource) {
+        EnumLiteral literal = ((EnumPropertySource) ruleSource).getProperty();
+        add(SourceKind.ENUM_LITERAL, literal != null ? literal.getName() : null, target, literal);
+      } else if (ruleSource instanceof ConfigurationSource) {
+        addProperty(((ConfigurationSource) ruleSource).getProperty(), target);
+      } else if (ruleSource instanceof StatusSource) {
+        addProperty(((StatusSource) ruleSource).getProperty(), target);
+      } else if (ruleSource instanceof FaultSource) {
+        addProperty(((FaultSource) ruleSource).getProperty(), target);
+      } else if (ruleSource instanceof EntityPropertySource) {
+        addProperty(((EntityPropertySource) ruleSource).getProperty(), target);
+      } else if (ruleSource instanceof OperationSource) {
+        Operation operation = ((OperationSource) ruleSource).getOperation();
+        add(SourceKind.OPERATION, operation != null ? operation.getName() : null, target,
+            operation);
+      } else if (ruleSource instanceof InfoModelAttributeSource) {
+        addAttribute(SourceKind.INFOMODEL_ATTRIBUTE,
+            ((InfoModelAttributeSource) ruleSource).getAttribute(), target);
+      } else if (ruleSource instanceof FunctionBlockAttributeSource) {
+        addAttribute(SourceKind.FUNCTIONBLOCK_ATTRIBUTE,
+            ((FunctionBlockAttributeSource) ruleSource).getAttribute(), target);
+      } else if (ruleSource instanceof EnumAttributeSource) {
+        addAttribute(SourceKind.ENUM_ATTRIBUTE, ((EnumAttributeSource) ruleSource).getAttribute(),
+            target);
+      } else if (ruleSource instanceof EntityAttributeSource) {
+        addAttribute(SourceKind.ENTITY_ATTRIBUTE,
+            ((EntityAttributeSource) ruleSource).getAttribute(), target);
+      }
+    }
+  }
+
+  private void addProperty(Property property, StereoTypeTarget target) {
+    add(SourceKind.PROPERTY, property != null ? property.getName() : null, target, property);
+  }
+
+  private void addAttribute(SourceKind kind, ModelAttribute attribute, StereoTypeTarget target) {
+    add(kind, attribute != null ? attribute.getName() : null, target, null);
+  }
+
+  private void add(SourceKind kind, String name, StereoTypeTarget target, EObject sourceElement) {
+    mappingRules
+        .computeIfAbsent(new RuleKey(kind, name, target.getName()), key -> new ArrayList<>())
+        .add(new IndexedRule(sourceElement, target));
+  }
+
+  private List<IndexedRule> getRules(SourceKind kind, String name, String stereoType) {
+    if (stereoType == null) {
+      return Collections.emptyList();
+    }
+    return mappingRules.getOrDefault(new RuleKey(kind, name, stereoType),
+        Collections.emptyList());
+  }
+
+  private static String getQualifiedName(Model model) {
+    if (model == null) {
+      return null;
+    }
+    return model.getNamespace() + "." + model.getName() + ":" + model.getVersion();
+  }
+
   /**
    * Finds the mapped element by a stereotype for a given information model
    * 
@@ -94,14 +182,10 @@ public class InvocationContext {
    */
   public IMapped<InformationModel> getMappedElement(final InformationModel informationModel,
       final String stereoType) {
-    for (MappingRule rule : mappingRules) {
-      for (Source ruleSource : rule.getSources()) {
-        if (ruleSource instanceof InfomodelSource
-            && EcoreUtil.equals(((InfomodelSource) ruleSource).getModel(), informationModel)
-            && matchesStereoType(stereoType, (StereoTypeTarget) rule.getTarget())) {
-          return new DefaultMapped<InformationModel>(informationModel,
-              (StereoTypeTarget) rule.getTarget());
-        }
+    for (IndexedRule rule : getRules(SourceKind.INFOMODEL, getQualifiedName(informationModel),
+        stereoType)) {
+      if (matchesModel((Model) rule.sourceElement, informationModel)) {
+        return new DefaultMapped<InformationModel>(informationModel, rule.target);
       }
     }
     return new NullMapped<InformationModel>(informationModel);
@@ -116,14 +200,10 @@ public class InvocationContext {
    */
   public IMapped<FunctionblockModel> getMappedElement(final FunctionblockModel functionblockModel,
       final String stereoType) {
-    for (MappingRule rule : mappingRules) {
-      for (Source ruleSource : rule.getSources()) {
-        if (ruleSource instanceof FunctionBlockSource
-            && EcoreUtil.equals(((FunctionBlockSource) ruleSource).getModel(), functionblockModel)
-            && matchesStereoType(stereoType, (StereoTypeTarget) rule.getTarget())) {
-          return new DefaultMapped<FunctionblockModel>(functionblockModel,
-              (StereoTypeTarget) rule.getTarget());
-        }
+    for (IndexedRule rule : getRules(SourceKind.FUNCTIONBLOCK,
+        getQualifiedName(functionblockModel), stereoType)) {
+      if (matchesModel((Model) rule.sourceElement, functionblockModel)) {
+        return new DefaultMapped<FunctionblockModel>(functionblockModel, rule.target);
       }
     }
     return new NullMapped<FunctionblockModel>(functionblockModel);
@@ -138,29 +218,37 @@ public class InvocationContext {
    */
   public IMapped<EnumLiteral> getMappedElement(final EnumLiteral enumLiteral,
       final String stereoType) {
-    for (MappingRule rule : mappingRules) {
-      for (Source ruleSource : rule.getSources()) {
-        if (ruleSource instanceof EnumPropertySource
-            && EcoreUtil.equals(((EnumPropertySource) ruleSource).getProperty(), enumLiteral)
-            && matchesStereoType(stereoType, (StereoTypeTarget) rule.getTarget())) {
-          return new DefaultMapped<EnumLiteral>(enumLiteral, (StereoTypeTarget) rule.getTarget());
-        }
+    for (IndexedRule rule : getRules(SourceKind.ENUM_LITERAL, enumLiteral.getName(),
+        stereoType)) {
+      if (rule.sourceElement == enumLiteral
+          || EcoreUtil.equals(rule.sourceElement, enumLiteral)) {
+        return new DefaultMapped<EnumLiteral>(enumLiteral, rule.target);
       }
     }
     return new NullMapped<EnumLiteral>(enumLiteral);
   }
 
-  private boolean matchesStereoType(final String stereoType,
-      final StereoTypeTarget stereoTypeTarget) {
-    return stereoTypeTarget.getName().equalsIgnoreCase(stereoType);
+  /**
+   * Same as {@link EcoreUtil#equals(EObject, EObject)}, but compares models only once per
+   * invocation, as comparing whole models is expensive
+   */
+  private boolean matchesModel(final Model srcModel, final Model tgtModel) {
+    if (srcModel == tgtModel) {
+      return true;
+    }
+    return equalModels.computeIfAbsent(new ModelPair(srcModel, tgtModel),
+        pair -> EcoreUtil.equals(srcModel, tgtModel));
   }
 
   private boolean matchesProperty(final Property srcProp, final Property tgtProp) {
+    if (srcProp == tgtProp) {
+      return true;
+    }
     FunctionBlock srcFb = (FunctionBlock) srcProp.eContainer().eContainer();
     FunctionBlock tgtFb = (FunctionBlock) tgtProp.eContainer().eContainer();
     FunctionblockModel srcFbModel = (FunctionblockModel) srcFb.eContainer();
     FunctionblockModel tgtFbModel = (FunctionblockModel) tgtFb.eContainer();
-    return EcoreUtil.equals(srcProp, tgtProp) && EcoreUtil.equals(srcFbModel, tgtFbModel);
+    return EcoreUtil.equals(srcProp, tgtProp) && matchesModel(srcFbModel, tgtFbModel);
   }
 
   /**
@@ -171,26 +259,9 @@ public class InvocationContext {
    * @return mapped element
    */
   public IMapped<Property> getMappedElement(final Property property, final String stereoType) {
-
-    for (MappingRule rule : mappingRules) {
-      for (Source ruleSource : rule.getSources()) {
-        if (ruleSource instanceof ConfigurationSource
-            && matchesProperty(((ConfigurationSource) ruleSource).getProperty(), property)
-            && matchesStereoType(stereoType, (StereoTypeTarget) rule.getTarget())) {
-          return new DefaultMapped<Property>(property, (StereoTypeTarget) rule.getTarget());
-        } else if (ruleSource instanceof StatusSource
-            && matchesProperty(((StatusSource) ruleSource).getProperty(), property)
-            && matchesStereoType(stereoType, (StereoTypeTarget) rule.getTarget())) {
-          return new DefaultMapped<Property>(property, (StereoTypeTarget) rule.getTarget());
-        } else if (ruleSource instanceof FaultSource
-            && matchesProperty(((FaultSource) ruleSource).getProperty(), property)
-            && matchesStereoType(stereoType, (StereoTypeTarget) rule.getTarget())) {
-          return new DefaultMapped<Property>(property, (StereoTypeTarget) rule.getTarget());
-        } else if (ruleSource instanceof EntityPropertySource
-            && matchesProperty(((EntityPropertySource) ruleSource).getProperty(), property)
-            && matchesStereoType(stereoType, (StereoTypeTarget) rule.getTarget())) {
-          return new DefaultMapped<Property>(property, (StereoTypeTarget) rule.getTarget());
-        }
+    for (IndexedRule rule : getRules(SourceKind.PROPERTY, property.getName(), stereoType)) {
+      if (matchesProperty((Property) rule.sourceElement, property)) {
+        return new DefaultMapped<Property>(property, rule.target);
       }
     }
 
@@ -198,11 +269,14 @@ public class InvocationContext {
   }
 
   private boolean matchesOperation(final Operation srcOp, final Operation tgtOp) {
+    if (srcOp == tgtOp) {
+      return true;
+    }
     FunctionBlock srcFb = (FunctionBlock) srcOp.eContainer();
     FunctionBlock tgtFb = (FunctionBlock) tgtOp.eContainer();
     FunctionblockModel srcFbModel = (FunctionblockModel) srcFb.eContainer();
     FunctionblockModel tgtFbModel = (FunctionblockModel) tgtFb.eContainer();
-    return EcoreUtil.equals(srcOp, tgtOp) && EcoreUtil.equals(srcFbModel, tgtFbModel);
+    return EcoreUtil.equals(srcOp, tgtOp) && matchesModel(srcFbModel, tgtFbModel);
   }
 
   /**
@@ -213,13 +287,9 @@ public class InvocationContext {
    * @return mapped element
    */
   public IMapped<Operation> getMappedElement(final Operation operation, final String stereoType) {
-    for (MappingRule rule : mappingRules) {
-      for (Source ruleSource : rule.getSources()) {
-        if (ruleSource instanceof OperationSource
-            && matchesOperation(((OperationSource) ruleSource).getOperation(), operation)
-            && matchesStereoType(stereoType, (StereoTypeTarget) rule.getTarget())) {
-          return new DefaultMapped<Operation>(operation, (StereoTypeTarget) rule.getTarget());
-        }
+    for (IndexedRule rule : getRules(SourceKind.OPERATION, operation.getName(), stereoType)) {
+      if (matchesOperation((Operation) rule.sourceElement, operation)) {
+        return new DefaultMapped<Operation>(operation, rule.target);
       }
     }
 
@@ -235,26 +305,20 @@ public class InvocationContext {
    */
   public IMapped<ModelAttribute> getMappedModelAttribute(final Model model,
       final ModelAttribute attribute, final String stereoType) {
-    for (MappingRule rule : mappingRules) {
-      for (Source ruleSource : rule.getSources()) {
-        if (model instanceof InformationModel && ruleSource instanceof InfoModelAttributeSource
-            && ((InfoModelAttributeSource) ruleSource).getAttribute().equals(attribute)
-            && matchesStereoType(stereoType, (StereoTypeTarget) rule.getTarget())) {
-          return new DefaultMapped<ModelAttribute>(attribute, (StereoTypeTarget) rule.getTarget());
-        } else if (model instanceof FunctionblockModel
-            && ruleSource instanceof FunctionBlockAttributeSource
-            && ((FunctionBlockAttributeSource) ruleSource).getAttribute().equals(attribute)
-            && matchesStereoType(stereoType, (StereoTypeTarget) rule.getTarget())) {
-          return new DefaultMapped<ModelAttribute>(attribute, (StereoTypeTarget) rule.getTarget());
-        } else if (model instanceof Enum && ruleSource instanceof EnumAttributeSource
-            && ((EnumAttributeSource) ruleSource).getAttribute().equals(attribute)
-            && matchesStereoType(stereoType, (StereoTypeTarget) rule.getTarget())) {
-          return new DefaultMapped<ModelAttribute>(attribute, (StereoTypeTarget) rule.getTarget());
-        } else if (model instanceof Entity && ruleSource instanceof EnumAttributeSource
-            && ((EntityAttributeSource) ruleSource).getAttribute().equals(attribute)
-            && matchesStereoType(stereoType, (StereoTypeTarget) rule.getTarget())) {
-          return new DefaultMapped<ModelAttribute>(attribute, (StereoTypeTarget) rule.getTarget());
-        }
+    SourceKind kind = null;
+    if (model instanceof InformationModel) {
+      kind = SourceKind.INFOMODEL_ATTRIBUTE;
+    } else if (model instanceof FunctionblockModel) {
+      kind = SourceKind.FUNCTIONBLOCK_ATTRIBUTE;
+    } else if (model instanceof Enum) {
+      kind = SourceKind.ENUM_ATTRIBUTE;
+    } else if (model instanceof Entity) {
+      kind = SourceKind.ENTITY_ATTRIBUTE;
+    }
+    if (kind != null && attribute != null) {
+      List<IndexedRule> rules = getRules(kind, attribute.getName(), stereoType);
+      if (!rules.isEmpty()) {
+        return new DefaultMapped<ModelAttribute>(attribute, rules.get(0).target);
       }
     }
 
@@ -278,4 +342,86 @@ public class InvocationContext {
     this.importedFile = importedFile;
   }
 
+  private enum SourceKind {
+    INFOMODEL, FUNCTIONBLOCK, ENUM_LITERAL, PROPERTY, OPERATION, INFOMODEL_ATTRIBUTE,
+    FUNCTIONBLOCK_ATTRIBUTE, ENUM_ATTRIBUTE, ENTITY_ATTRIBUTE
+  }
+
+  /**
+   * Kind and name of the source element of a mapping rule together with the stereotype of the rule.
+   * Stereotypes are matched case-insensitively.
+   */
+  private static final class RuleKey {
+
+    private final SourceKind kind;
+
+    private final String name;
+
+    private final String stereoType;
+
+    RuleKey(SourceKind kind, String name, String stereoType) {
+      this.kind = kind;
+      this.name = name;
+      this.stereoType = stereoType != null ? stereoType.toLowerCase(Locale.ROOT) : null;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(kind, name, stereoType);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof RuleKey)) {
+        return false;
+      }
+      RuleKey other = (RuleKey) obj;
+      return kind == other.kind && Objects.equals(name, other.name)
+          && Objects.equals(stereoType, other.stereoType);
+    }
+  }
+
+  private static final class IndexedRule {
+
+    private final EObject sourceElement;
+
+    private final StereoTypeTarget target;
+
+    IndexedRule(EObject sourceElement, StereoTypeTarget target) {
+      this.sourceElement = sourceElement;
+      this.target = target;
+    }
+  }
+
+  /**
+   * Pair of models that is compared by identity
+   */
+  private static final class ModelPair {
+
+    private final Model first;
+
+    private final Model second;
+
+    ModelPair(Model first, Model second) {
+      this.first = first;
+      this.second = second;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(first) + System.identityHashCode(second);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof ModelPair)) {
+        return false;
+      }
+      ModelPair other = (ModelPair) obj;
+      return first == other.first && second == other.second;
+    }
+  }
 }
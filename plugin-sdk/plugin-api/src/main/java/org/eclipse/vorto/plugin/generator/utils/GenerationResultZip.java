@@ -14,6 +14,7 @@ package org.eclipse.vorto.plugin.generator.utils;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import org.eclipse.vorto.core.api.model.informationmodel.InformationModel;
@@ -86,6 +87,15 @@ public class GenerationResultZip implements IGeneratedWriter, IGenerationResult
     return baos.toByteArray();
   }
 
+  /**
+   * Completes the archive and writes it to the given stream directly from its buffer
+   */
+  @Override
+  public void writeTo(OutputStream out) throws IOException {
+    zos.close();
+    baos.writeTo(out);
+  }
+
   public String getFileName() {
     return fileName;
   }
@@ -13,7 +13,9 @@
 package org.eclipse.vorto.plugin;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -35,6 +37,7 @@ import org.eclipse.vorto.core.api.model.mapping.FunctionBlockMappingRule;
 import org.eclipse.vorto.core.api.model.mapping.FunctionBlockPropertySource;
 import org.eclipse.vorto.core.api.model.mapping.MappingFactory;
 import org.eclipse.vorto.core.api.model.mapping.MappingModel;
+import org.eclipse.vorto.core.api.model.mapping.StatusSource;
 import org.eclipse.vorto.core.api.model.mapping.StereoTypeTarget;
 import org.eclipse.vorto.core.api.model.model.ModelId;
 import org.eclipse.vorto.core.api.model.model.ModelType;
@@ -147,6 +150,43 @@ public class HelloWorldGeneratorTest implements ICodeGenerator {
 		assertEquals("entityAttributID", ctx.getMappedElement(prop, "OBJECT_ID").getAttributeValue("ID", "entityAttributID"));
 	}
 
+	/*
+	 * Test case for checking that a status property is mapped by its stereotype regardless of case
+	 * and that other properties of the function block are not mapped
+	 * 
+	 */
+	@Test
+	public void getMappedElementStatusProperty() throws Exception {
+
+		MappingBuilder mapping = BuilderUtils.newMapping(new ModelId(ModelType.Mapping, "", "", ""), "helloworld");
+		FunctionBlockMappingRule rule = MappingFactory.eINSTANCE.createFunctionBlockMappingRule();
+		StatusSource statusSource = MappingFactory.eINSTANCE.createStatusSource();
+		statusSource.setModel(functionBlock);
+		statusSource.setProperty(functionBlock.getFunctionblock().getStatus().getProperties().get(1));
+
+		rule.getSources().add(statusSource);
+
+		StereoTypeTarget stereotypeTarget = MappingFactory.eINSTANCE.createStereoTypeTarget();
+		stereotypeTarget.setName("source");
+		Attribute xpathAttribute = MappingFactory.eINSTANCE.createAttribute();
+		xpathAttribute.setName("xpath");
+		xpathAttribute.setValue("/status/on");
+		stereotypeTarget.getAttributes().add(xpathAttribute);
+		rule.setTarget(stereotypeTarget);
+
+		mapping.addRule(rule);
+
+		InvocationContext ctx = new InvocationContext(createMappingList(mapping.build()), Collections.emptyMap());
+
+		Property mappedProp = functionBlock.getFunctionblock().getStatus().getProperties().get(1);
+		assertTrue(ctx.getMappedElement(mappedProp, "SOURCE").isMapped());
+		assertEquals("/status/on", ctx.getMappedElement(mappedProp, "Source").getAttributeValue("xpath", null));
+		assertFalse(ctx.getMappedElement(mappedProp, "OBJECT_ID").isMapped());
+
+		Property otherProp = functionBlock.getFunctionblock().getStatus().getProperties().get(0);
+		assertFalse(ctx.getMappedElement(otherProp, "source").isMapped());
+	}
+
 	private List<MappingModel> createMappingList(MappingModel... mappings) {
 		return Arrays.asList(mappings);
 	}
@@ -14,6 +14,7 @@ package org.eclipse.vorto.codegen.api;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import org.eclipse.vorto.core.api.model.informationmodel.InformationModel;
@@ -83,6 +84,12 @@ public class GenerationResultZip implements IGeneratedWriter, IGenerationResult
     return baos.toByteArray();
   }
 
+  @Override
+  public void writeTo(OutputStream out) throws IOException {
+    zos.close();
+    baos.writeTo(out);
+  }
+
   public String getFileName() {
     return fileName;
   }
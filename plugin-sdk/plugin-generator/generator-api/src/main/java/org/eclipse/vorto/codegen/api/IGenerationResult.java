@@ -12,6 +12,9 @@
  */
 package org.eclipse.vorto.codegen.api;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * Please use the Plugin SDK API instead
  */
@@ -23,4 +26,11 @@ public interface IGenerationResult {
   byte[] getContent();
 
   String getMediatype();
+
+  /**
+   * Writes the content to the given stream. The stream is not closed.
+   */
+  default void writeTo(OutputStream out) throws IOException {
+    out.write(getContent());
+  }
 }
@@ -12,7 +12,6 @@
  */
 package org.eclipse.vorto.codegen.spi.controllers;
 
-import java.io.ByteArrayInputStream;
 import javax.servlet.http.HttpServletRequest;
 import org.eclipse.vorto.codegen.api.GeneratorServiceInfo;
 import org.eclipse.vorto.codegen.api.IGenerationResult;
@@ -22,7 +21,6 @@ import org.eclipse.vorto.codegen.spi.service.VortoService;
 import org.eclipse.vorto.codegen.spi.utils.GatewayUtils;
 import org.eclipse.vorto.model.ModelContent;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -30,6 +28,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/2/plugins/generators")
@@ -51,17 +50,17 @@ public class GeneratorControllerV2 {
 
   @RequestMapping(value = "/{pluginkey}",
       method = {RequestMethod.POST, RequestMethod.PUT, RequestMethod.GET})
-  public ResponseEntity<InputStreamResource> generate(final @PathVariable String pluginkey,
+  public ResponseEntity<StreamingResponseBody> generate(final @PathVariable String pluginkey,
       @RequestBody ModelContent model, final HttpServletRequest request) {
     return responseFromResult(
         vorto.generate(model, pluginkey, GatewayUtils.mapFromRequest(request)));
   }
 
 
-  private ResponseEntity<InputStreamResource> responseFromResult(IGenerationResult result) {
-    return ResponseEntity.ok().contentLength(result.getContent().length)
+  private ResponseEntity<StreamingResponseBody> responseFromResult(IGenerationResult result) {
+    return ResponseEntity.ok()
         .header("content-disposition", "attachment; filename = " + result.getFileName())
         .contentType(MediaType.parseMediaType(result.getMediatype()))
-        .body(new InputStreamResource(new ByteArrayInputStream(result.getContent())));
+        .body(result::writeTo);
   }
 }
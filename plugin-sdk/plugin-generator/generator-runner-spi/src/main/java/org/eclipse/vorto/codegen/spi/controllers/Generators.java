@@ -12,7 +12,6 @@
  */
 package org.eclipse.vorto.codegen.spi.controllers;
 
-import java.io.ByteArrayInputStream;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -24,7 +23,6 @@ import org.eclipse.vorto.codegen.spi.repository.GeneratorRepository;
 import org.eclipse.vorto.codegen.spi.service.VortoService;
 import org.eclipse.vorto.codegen.spi.utils.GatewayUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -32,6 +30,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/rest")
@@ -62,7 +61,7 @@ public class Generators {
 
   @RequestMapping(value = "/generators/{key}/generate/{namespace}/{name}/{version:.+}",
       method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
-  public ResponseEntity<InputStreamResource> generate(
+  public ResponseEntity<StreamingResponseBody> generate(
       final @PathVariable String key, @PathVariable String namespace, @PathVariable String name,
       @PathVariable String version, final HttpServletRequest request) {
     return responseFromResult(vorto.generate(key, namespace, name, version,
@@ -71,7 +70,7 @@ public class Generators {
 
   @RequestMapping(value = "/generators/{key}/generate", method = RequestMethod.GET,
       produces = MediaType.APPLICATION_JSON_VALUE)
-  public ResponseEntity<InputStreamResource> generateInfra(final @PathVariable String key,
+  public ResponseEntity<StreamingResponseBody> generateInfra(final @PathVariable String key,
       final HttpServletRequest request) {
     return responseFromResult(
         vorto.generate(key, GatewayUtils.mapFromRequest(request), getAuthorization(request)));
@@ -81,11 +80,11 @@ public class Generators {
     return Optional.ofNullable(request.getHeader(AUTHORIZATION));
   }
 
-  private ResponseEntity<InputStreamResource> responseFromResult(IGenerationResult result) {
-    return ResponseEntity.ok().contentLength(result.getContent().length)
+  private ResponseEntity<StreamingResponseBody> responseFromResult(IGenerationResult result) {
+    return ResponseEntity.ok()
         .header("content-disposition", "attachment; filename = " + result.getFileName())
         .contentType(MediaType.parseMediaType(result.getMediatype()))
-        .body(new InputStreamResource(new ByteArrayInputStream(result.getContent())));
+        .body(result::writeTo);
   }
 
 }
@@ -112,6 +112,10 @@ public class DefaultUserAccountService
 
     tenantRepo.save(tenant);
 
+    if (userIsPresent) {
+      eventPublisher.publishEvent(new AppEvent(this, userId, EventType.USER_MODIFIED));
+    }
+
     return userIsPresent;
   }
 
@@ -345,7 +349,9 @@ public class DefaultUserAccountService
     roles.forEach(role -> userRoles.removeIf(e -> role == e.getRole()));
     user.setRoles(tenantId, userRoles);
 
-    return userRepository.save(user);
+    User savedUser = userRepository.save(user);
+    eventPublisher.publishEvent(new AppEvent(this, userName, EventType.USER_MODIFIED));
+    return savedUser;
   }
 
   @Override
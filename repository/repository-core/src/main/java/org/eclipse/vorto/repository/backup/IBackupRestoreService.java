@@ -12,6 +12,8 @@
  */
 package org.eclipse.vorto.repository.backup;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Collection;
 import java.util.function.Predicate;
 import org.eclipse.vorto.repository.domain.Tenant;
@@ -25,6 +27,15 @@ public interface IBackupRestoreService {
    * @return a byte array for a zip file that contains the backup
    */
   byte[] createBackup(Predicate<Tenant> tenantFilter);
+
+  /**
+   * Creates a zipped backup for tenants who passed the tenantFilter and streams it to the given
+   * output. The tenants are exported in parallel.
+   * 
+   * @param tenantFilter a predicate that determines who among the tenants are placed in the backup
+   * @param out the stream the zip file is written to. It is not closed.
+   */
+  void createBackup(Predicate<Tenant> tenantFilter, OutputStream out);
   
   /**
    * Restores the given backup file to its tenants
@@ -35,4 +46,15 @@ public interface IBackupRestoreService {
    * @return collection of tenants restored
    */
   Collection<Tenant> restoreRepository(byte[] backupFile, Predicate<Tenant> tenantFilter);
+
+  /**
+   * Restores the backup file read from the given stream to its tenants. Only the models of the
+   * restored tenants are re-indexed.
+   * 
+   * @param backupFile stream of the zipped backup file
+   * @param tenantFilter a filter for which tenants to restore. If you want to restore to all tenants, 
+   * pass a predicate that returns true
+   * @return collection of tenants restored
+   */
+  Collection<Tenant> restoreRepository(InputStream backupFile, Predicate<Tenant> tenantFilter);
 }
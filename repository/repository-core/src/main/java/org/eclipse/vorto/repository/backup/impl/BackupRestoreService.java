@@ -15,10 +15,20 @@ package org.eclipse.vorto.repository.backup.impl;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -33,10 +43,9 @@ import org.eclipse.vorto.repository.core.IRepositoryManager;
 import org.eclipse.vorto.repository.domain.Tenant;
 import org.eclipse.vorto.repository.search.IIndexingService;
 import org.eclipse.vorto.repository.tenant.ITenantService;
-import org.eclipse.vorto.repository.utils.ZipUtils;
 import org.eclipse.vorto.repository.web.GenericApplicationException;
-import org.modeshape.common.collection.ImmutableMapEntry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -48,6 +57,8 @@ public class BackupRestoreService implements IBackupRestoreService {
 
   private static Logger logger = Logger.getLogger(BackupRestoreService.class);
   
+  private static final long EXPORT_TERMINATION_TIMEOUT_SECONDS = 30;
+  
   private static Function<Tenant, String> tenantSignature = (tenant) -> 
     tenant.getNamespaces().iterator().next().getName();
   
@@ -57,6 +68,9 @@ public class BackupRestoreService implements IBackupRestoreService {
   
   private IIndexingService indexingService;
   
+  @Value("${repo.config.backupThreads:4}")
+  private int backupThreads = 4;
+  
   private Supplier<Authentication> authSupplier = 
       () -> SecurityContextHolder.getContext().getAuthentication();
   
@@ -69,82 +83,110 @@ public class BackupRestoreService implements IBackupRestoreService {
   
   @Override
   public byte[] createBackup(Predicate<Tenant> tenantFilter) {
-    return createZippedInputStream(createBackups(tenantFilter));
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    createBackup(tenantFilter, baos);
+    return baos.toByteArray();
   }
   
-  private Map<String, byte[]> createBackups(Predicate<Tenant> tenantFilter) {
-    return createBackups(tenantService.getTenants()
+  @Override
+  public void createBackup(Predicate<Tenant> tenantFilter, OutputStream out) {
+    List<Tenant> tenants = tenantService.getTenants()
         .stream()
         .filter(tenantFilter)
-        .collect(Collectors.toList()));
+        .collect(Collectors.toList());
+    
+    // every tenant is exported by a worker to a temporary file, which is added to the zip file
+    // as soon as the export is complete
+    Authentication authentication = authSupplier.get();
+    List<Path> exports = new ArrayList<>(tenants.size());
+    ExecutorService executor =
+        Executors.newFixedThreadPool(Math.max(1, Math.min(backupThreads, tenants.size())));
+    try {
+      CompletionService<TenantBackup> completionService =
+          new ExecutorCompletionService<>(executor);
+      for (Tenant tenant : tenants) {
+        // the repository manager is created on the calling thread, which has access to the tenant
+        IRepositoryManager repoMgr = modelRepositoryFactory
+            .getDetachedRepositoryManager(tenant.getTenantId(), authentication);
+        Path export = Files.createTempFile("vorto-backup-", ".xml");
+        exports.add(export);
+        String namespace = tenantSignature.apply(tenant);
+        completionService.submit(() -> {
+          try (OutputStream exportStream = Files.newOutputStream(export)) {
+            repoMgr.backup(exportStream);
+          }
+          return new TenantBackup(namespace, export);
+        });
+      }
+      
+      ZipOutputStream zos = new ZipOutputStream(out);
+      for (int i = 0; i < tenants.size(); i++) {
+        TenantBackup backup = completionService.take().get();
+        logger.info("Adding backup of '" + backup.namespace + "'");
+        zos.putNextEntry(new ZipEntry(backup.namespace + ".xml"));
+        Files.copy(backup.export, zos);
+        zos.closeEntry();
+        Files.deleteIfExists(backup.export);
+      }
+      zos.finish();
+      
+    } catch (IOException | ExecutionException ex) {
+      throw new GenericApplicationException("Error while generating zip file.", ex);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new GenericApplicationException("Interrupted while generating zip file.", ex);
+    } finally {
+      executor.shutdownNow();
+      // exports that are still running must not write to temporary files after they are deleted
+      awaitTermination(executor);
+      exports.forEach(BackupRestoreService::deleteQuietly);
+    }
   }
   
-  private Map<String, byte[]> createBackups(Collection<Tenant> tenants) {
-  return tenants.stream()
-      .map(tenant -> 
-        new ImmutableMapEntry<String, byte[]>(
-            tenantSignature.apply(tenant), 
-            modelRepositoryFactory.getRepositoryManager(tenant.getTenantId(), authSupplier.get()).backup())
-      ).collect(Collectors.toMap(entry -> entry.getKey(), entry -> entry.getValue()));
+  private static void awaitTermination(ExecutorService executor) {
+    try {
+      if (!executor.awaitTermination(EXPORT_TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        logger.warn("Tenant exports did not stop within " + EXPORT_TERMINATION_TIMEOUT_SECONDS
+            + " seconds, deleting their temporary backup files anyway");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
   }
   
-  private byte[] createZippedInputStream(Map<String, byte[]> backups) {
-    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    ZipOutputStream zos = new ZipOutputStream(baos);
-
+  private static void deleteQuietly(Path file) {
     try {
-      for(Map.Entry<String, byte[]> entry : backups.entrySet()) {
-        ZipEntry zipEntry = new ZipEntry(entry.getKey() + ".xml");
-        zos.putNextEntry(zipEntry);
-        zos.write(entry.getValue());
-        zos.closeEntry();
-      }
-
-      zos.close();
-      baos.close();
-
-      return baos.toByteArray();
-
-    } catch (Exception ex) {
-      throw new GenericApplicationException("Error while generating zip file.", ex);
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      logger.warn("Could not delete temporary backup file " + file, e);
     }
   }
   
   @Override
   public Collection<Tenant> restoreRepository(byte[] backupFile, Predicate<Tenant> tenantFilter) {
     Preconditions.checkNotNull(backupFile, "backupFile must not be null");
+    return restoreRepository(new ByteArrayInputStream(backupFile), tenantFilter);
+  }
+  
+  @Override
+  public Collection<Tenant> restoreRepository(InputStream backupFile,
+      Predicate<Tenant> tenantFilter) {
+    Preconditions.checkNotNull(backupFile, "backupFile must not be null");
     try {
       Collection<Tenant> tenantsRestored = Lists.newArrayList();
-      Map<String, byte[]> backups = getBackups(backupFile);
       
-      backups.forEach((namespace, backup) -> {
-        logger.info("Restoring backup for '" + namespace + "'");
-        Optional<Tenant> tenant = tenantService.getTenantFromNamespace(namespace);
-        if (tenant.isPresent() && tenantFilter.test(tenant.get())) {
-          try {
-            String tenantId = tenant.get().getTenantId();
-            IRepositoryManager repoMgr = modelRepositoryFactory.getRepositoryManager(tenantId, authSupplier.get()); 
-            
-            if (!repoMgr.isWorkspaceExist(tenantId)) {
-              repoMgr.createTenantWorkspace(tenantId);
-            } else {
-              repoMgr.removeTenantWorkspace(tenantId);
-              repoMgr.createTenantWorkspace(tenantId);
-            }
-            
-            repoMgr.restore(backup);
-            this.modelRepositoryFactory.getPolicyManager(tenantId, SecurityContextHolder.getContext().getAuthentication()).restorePolicyEntries();
-            tenantsRestored.add(tenant.get());
-          } catch (Exception e) {
-            logger.error("Error in restoration of '" + namespace + "'", e);
-          }
-        } else {
-          logger.info("Skipping restoration of '" + namespace + "' either because the tenant could not be found, or is filtered.");
+      ZipInputStream zis = new ZipInputStream(backupFile);
+      ZipEntry entry = null;
+      while ((entry = zis.getNextEntry()) != null) {
+        String fileName = entry.getName().substring(entry.getName().lastIndexOf("/") + 1);
+        if (!entry.isDirectory() && !fileName.startsWith(".")) {
+          restoreTenant(fileName.replace(".xml", ""), zis, tenantFilter)
+              .ifPresent(tenantsRestored::add);
         }
-      });
+      }
             
       if (!tenantsRestored.isEmpty()) {
-        indexingService.reindexAllModels();
+        indexingService.reindexModels(tenantsRestored);
       }
       
       return tenantsRestored;
@@ -154,21 +196,32 @@ public class BackupRestoreService implements IBackupRestoreService {
     }
   }
   
-  private Map<String, byte[]> getBackups(byte[] file) throws IOException {
-    Map<String, byte[]> backups = new HashMap<>();
-    
-    ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(file));
-    ZipEntry entry = null;
-    
-    while ((entry = zis.getNextEntry()) != null) {
-      if (!entry.isDirectory()
-          && !entry.getName().substring(entry.getName().lastIndexOf("/") + 1).startsWith(".")) {
-        String namespace = entry.getName().substring(entry.getName().lastIndexOf("/") + 1).replace(".xml", "");
-        backups.put(namespace, ZipUtils.copyStream(zis, entry));
+  private Optional<Tenant> restoreTenant(String namespace, InputStream backup,
+      Predicate<Tenant> tenantFilter) {
+    logger.info("Restoring backup for '" + namespace + "'");
+    Optional<Tenant> tenant = tenantService.getTenantFromNamespace(namespace);
+    if (tenant.isPresent() && tenantFilter.test(tenant.get())) {
+      try {
+        String tenantId = tenant.get().getTenantId();
+        IRepositoryManager repoMgr = modelRepositoryFactory.getRepositoryManager(tenantId, authSupplier.get()); 
+        
+        if (!repoMgr.isWorkspaceExist(tenantId)) {
+          repoMgr.createTenantWorkspace(tenantId);
+        } else {
+          repoMgr.removeTenantWorkspace(tenantId);
+          repoMgr.createTenantWorkspace(tenantId);
+        }
+        
+        repoMgr.restore(backup);
+        this.modelRepositoryFactory.getPolicyManager(tenantId, SecurityContextHolder.getContext().getAuthentication()).restorePolicyEntries();
+        return tenant;
+      } catch (Exception e) {
+        logger.error("Error in restoration of '" + namespace + "'", e);
       }
+    } else {
+      logger.info("Skipping restoration of '" + namespace + "' either because the tenant could not be found, or is filtered.");
     }
-    
-    return backups;
+    return Optional.empty();
   }
   
   public Supplier<Authentication> getAuthSupplier() {
@@ -178,4 +231,24 @@ public class BackupRestoreService implements IBackupRestoreService {
   public void setAuthSupplier(Supplier<Authentication> authSupplier) {
     this.authSupplier = authSupplier;
   }
+
+  public int getBackupThreads() {
+    return backupThreads;
+  }
+
+  public void setBackupThreads(int backupThreads) {
+    this.backupThreads = backupThreads;
+  }
+
+  private static final class TenantBackup {
+    
+    private final String namespace;
+    
+    private final Path export;
+    
+    TenantBackup(String namespace, Path export) {
+      this.namespace = namespace;
+      this.export = export;
+    }
+  }
 }
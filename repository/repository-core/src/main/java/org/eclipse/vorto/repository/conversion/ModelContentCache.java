@@ -0,0 +1,294 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.conversion;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.log4j.Logger;
+import org.eclipse.vorto.model.ModelContent;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.plugin.generator.adapter.ObjectMapperFactory;
+import org.eclipse.vorto.repository.core.IModelRepository;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Size bounded cache of resolved {@link ModelContent}, keyed by model ID, target platform and the
+ * user the content was resolved for.
+ *
+ * Content is resolved with the permissions of the user, e.g. the mappings of a target platform
+ * are those the user can read, so it is only served to the same user. Only content without a
+ * target platform that consists of public, released models is the same for every user and is
+ * shared between all users.
+ *
+ * Content is kept in its serialized form, which is also its size in the cache, and every lookup
+ * returns a new copy, so that callers are free to modify the content they get. Content that only
+ * consists of released models expires after a configurable time, content that includes draft
+ * models after a shorter one. In addition, entries are invalidated whenever one of the models they
+ * were resolved from is changed, see
+ * {@link org.eclipse.vorto.repository.core.impl.ModelRepositoryEventListener}.
+ */
+@Component
+public class ModelContentCache {
+
+  private static final Logger logger = Logger.getLogger(ModelContentCache.class);
+
+  private static final ObjectMapper MAPPER = ObjectMapperFactory.getInstance();
+
+  /**
+   * User of requests that are not authenticated
+   */
+  public static final String ANONYMOUS = "anonymous";
+
+  /**
+   * Pseudo user of content that is shared between all users
+   */
+  private static final String SHARED = "";
+
+  private final long maxBytes;
+
+  private final long releasedTtlMillis;
+
+  private final long draftTtlMillis;
+
+  private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  private long currentBytes = 0;
+
+  private long generation = 0;
+
+  @Autowired
+  public ModelContentCache(@Value("${repo.cache.modelContent.maxBytes:67108864}") long maxBytes,
+      @Value("${repo.cache.modelContent.releasedTtlSeconds:3600}") long releasedTtlSeconds,
+      @Value("${repo.cache.modelContent.draftTtlSeconds:300}") long draftTtlSeconds) {
+    this.maxBytes = maxBytes;
+    this.releasedTtlMillis = TimeUnit.SECONDS.toMillis(releasedTtlSeconds);
+    this.draftTtlMillis = TimeUnit.SECONDS.toMillis(draftTtlSeconds);
+  }
+
+  /**
+   * @return name of the current user, or {@link #ANONYMOUS} if the current request is not
+   *         authenticated
+   */
+  public static String getCurrentUser() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null || !authentication.isAuthenticated()
+        || authentication instanceof AnonymousAuthenticationToken) {
+      return ANONYMOUS;
+    }
+    return authentication.getName();
+  }
+
+  /**
+   * @param modelId resolved model ID, i.e. without latest tag
+   * @param platformKey target platform the content was resolved for
+   * @param user user the content is resolved for, see {@link #getCurrentUser()}
+   * @return a copy of the cached content or empty if no valid content is cached
+   */
+  public Optional<ModelContent> get(ModelId modelId, Optional<String> platformKey, String user) {
+    Entry entry;
+    synchronized (this) {
+      Key key = new Key(modelId, platformKey, SHARED);
+      entry = platformKey.isPresent() ? null : getValid(key);
+      if (entry == null) {
+        entry = getValid(new Key(modelId, platformKey, user));
+      }
+      if (entry == null) {
+        return Optional.empty();
+      }
+    }
+
+    try {
+      return Optional.of(MAPPER.readValue(entry.content, ModelContent.class));
+    } catch (IOException e) {
+      logger.warn("Could not read cached content of " + modelId.getPrettyFormat(), e);
+      invalidate(modelId, null);
+      return Optional.empty();
+    }
+  }
+
+  private Entry getValid(Key key) {
+    Entry entry = entries.get(key);
+    if (entry != null && entry.isExpired(System.currentTimeMillis())) {
+      remove(key);
+      return null;
+    }
+    return entry;
+  }
+
+  /**
+   * @return current generation of the cache, to be passed to
+   *         {@link #put(ModelId, Optional, String, ModelContent, Collection, long)}
+   */
+  public synchronized long getGeneration() {
+    return generation;
+  }
+
+  /**
+   * Caches the given content unless the cache has been invalidated since the given generation, as
+   * the content may have been resolved from models that have changed in the meantime.
+   *
+   * @param modelId resolved model ID, i.e. without latest tag
+   * @param platformKey target platform the content was resolved for
+   * @param user user the content was resolved for, see {@link #getCurrentUser()}
+   * @param content resolved content
+   * @param resolvedFrom models and mappings the content was resolved from
+   * @param generation generation of the cache before the content was resolved
+   */
+  public void put(ModelId modelId, Optional<String> platformKey, String user,
+      ModelContent content, Collection<ModelInfo> resolvedFrom, long generation) {
+    byte[] serialized;
+    try {
+      serialized = MAPPER.writeValueAsBytes(content);
+    } catch (IOException e) {
+      logger.warn("Could not cache content of " + modelId.getPrettyFormat(), e);
+      return;
+    }
+    if (serialized.length > maxBytes) {
+      return;
+    }
+
+    Set<ModelId> dependencies = new HashSet<>();
+    boolean released = true;
+    boolean shared = !platformKey.isPresent();
+    for (ModelInfo modelInfo : resolvedFrom) {
+      dependencies.add(modelInfo.getId());
+      released &= modelInfo.isReleased();
+      shared &= modelInfo.isReleased()
+          && IModelRepository.VISIBILITY_PUBLIC.equals(modelInfo.getVisibility());
+    }
+    long expiresAt =
+        System.currentTimeMillis() + (released ? releasedTtlMillis : draftTtlMillis);
+
+    synchronized (this) {
+      if (generation != this.generation) {
+        return;
+      }
+      Key key = new Key(modelId, platformKey, shared ? SHARED : user);
+      remove(key);
+      entries.put(key, new Entry(serialized, dependencies, expiresAt));
+      currentBytes += serialized.length;
+      evictForSpace();
+    }
+  }
+
+  /**
+   * Invalidates all content that has been resolved from the given model. Content for target
+   * platforms is also invalidated if the given model is a mapping or of unknown type, because a
+   * new mapping changes the content of the models it maps.
+   *
+   * @param modelId changed model
+   * @param type type of the changed model, null if unknown
+   */
+  public synchronized void invalidate(ModelId modelId, ModelType type) {
+    generation++;
+    final boolean mappingChanged = type == null || type == ModelType.Mapping;
+    Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<Key, Entry> entry = iterator.next();
+      if (entry.getValue().dependencies.contains(modelId)
+          || (mappingChanged && entry.getKey().platformKey.isPresent())) {
+        currentBytes -= entry.getValue().content.length;
+        iterator.remove();
+      }
+    }
+  }
+
+  public synchronized void clear() {
+    generation++;
+    entries.clear();
+    currentBytes = 0;
+  }
+
+  private void remove(Key key) {
+    Entry removed = entries.remove(key);
+    if (removed != null) {
+      currentBytes -= removed.content.length;
+    }
+  }
+
+  private void evictForSpace() {
+    Iterator<Entry> iterator = entries.values().iterator();
+    while (currentBytes > maxBytes && iterator.hasNext()) {
+      currentBytes -= iterator.next().content.length;
+      iterator.remove();
+    }
+  }
+
+  private static final class Key {
+
+    private final ModelId modelId;
+
+    private final Optional<String> platformKey;
+
+    private final String user;
+
+    Key(ModelId modelId, Optional<String> platformKey, String user) {
+      this.modelId = modelId;
+      this.platformKey = platformKey;
+      this.user = user;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(modelId, platformKey, user);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return modelId.equals(other.modelId) && platformKey.equals(other.platformKey)
+          && user.equals(other.user);
+    }
+  }
+
+  private static final class Entry {
+
+    private final byte[] content;
+
+    private final Set<ModelId> dependencies;
+
+    private final long expiresAt;
+
+    Entry(byte[] content, Set<ModelId> dependencies, long expiresAt) {
+      this.content = content;
+      this.dependencies = dependencies;
+      this.expiresAt = expiresAt;
+    }
+
+    boolean isExpired(long now) {
+      return now > expiresAt;
+    }
+  }
+}
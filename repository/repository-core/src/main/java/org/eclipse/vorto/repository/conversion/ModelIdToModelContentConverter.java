@@ -41,8 +41,20 @@ public class ModelIdToModelContentConverter implements IModelConverter<ModelId,M
 
   private IModelRepositoryFactory repositoryFactory;
 
+  private ModelContentCache cache;
+
   public ModelIdToModelContentConverter(IModelRepositoryFactory repositoryFactory) {
+    this(repositoryFactory, null);
+  }
+
+  /**
+   * @param repositoryFactory repository factory
+   * @param cache cache of resolved content, null to resolve the content on every conversion
+   */
+  public ModelIdToModelContentConverter(IModelRepositoryFactory repositoryFactory,
+      ModelContentCache cache) {
     this.repositoryFactory = repositoryFactory;
+    this.cache = cache;
   }
 
   @Override
@@ -53,7 +65,25 @@ public class ModelIdToModelContentConverter implements IModelConverter<ModelId,M
           String.format("Model [%s] does not exist", modelId.getPrettyFormat()), null);
     }
 
-    ModelWorkspaceReader workspaceReader = getWorkspaceForModel(modelId);
+    if (cache == null) {
+      return resolve(modelId, platformKey, new ArrayList<>());
+    }
+
+    final String user = ModelContentCache.getCurrentUser();
+    Optional<ModelContent> cached = cache.get(modelId, platformKey, user);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+    final long generation = cache.getGeneration();
+    List<ModelInfo> resolvedFrom = new ArrayList<>();
+    ModelContent result = resolve(modelId, platformKey, resolvedFrom);
+    cache.put(modelId, platformKey, user, result, resolvedFrom, generation);
+    return result;
+  }
+
+  private ModelContent resolve(ModelId modelId, Optional<String> platformKey,
+      List<ModelInfo> resolvedFrom) {
+    ModelWorkspaceReader workspaceReader = getWorkspaceForModel(modelId, resolvedFrom);
 
     ModelContent result = new ModelContent();
     result.setRoot(modelId);
@@ -61,6 +91,7 @@ public class ModelIdToModelContentConverter implements IModelConverter<ModelId,M
     if (platformKey.isPresent()) {
       final List<ModelInfo> mappingResources = repositoryFactory.getRepositoryByModel(modelId).getMappingModelsForTargetPlatform(modelId, platformKey.get(),Optional.empty());
       if (!mappingResources.isEmpty()) {
+        resolvedFrom.addAll(mappingResources);
         // adding to workspace reader in order to resolve cross linking between mapping models correctly
         mappingResources.forEach(mapping -> workspaceReader.addFile(new ByteArrayInputStream(repositoryFactory.getRepositoryByModel(mapping.getId()).getFileContent(mapping.getId(), Optional.empty()).get().getContent()), org.eclipse.vorto.model.ModelType.Mapping));
 
@@ -110,10 +141,12 @@ public class ModelIdToModelContentConverter implements IModelConverter<ModelId,M
   }
 
 
-  private ModelWorkspaceReader getWorkspaceForModel(final ModelId modelId) {
+  private ModelWorkspaceReader getWorkspaceForModel(final ModelId modelId,
+      List<ModelInfo> resolvedFrom) {
     List<ModelInfo> allModels = getModelWithAllDependencies(modelId);
     DependencyManager dm = new DependencyManager(new HashSet<>(allModels));
     allModels = dm.getSorted();
+    resolvedFrom.addAll(allModels);
 
     ModelWorkspaceReader workspaceReader = IModelWorkspace.newReader();
     for (ModelInfo model : allModels) {
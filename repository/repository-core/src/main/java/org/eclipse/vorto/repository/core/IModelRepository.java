@@ -12,6 +12,7 @@
  */
 package org.eclipse.vorto.repository.core;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -45,6 +46,16 @@ public interface IModelRepository {
    */
   ModelInfo getById(ModelId modelId) throws NotAuthorizedException;
 
+  /**
+   * Gets the meta data of the given model without its references and platform mappings, e.g. to
+   * check the state of the model. The meta data is served from the model information cache if it
+   * is cached.
+   * @param modelId
+   * @return the meta data or empty if the model does not exist
+   * @throws NotAuthorizedException if current user is not allowed to access the given model
+   */
+  Optional<ModelInfo> getMinimalInfo(ModelId modelId) throws NotAuthorizedException;
+
   /**
    * Gets the model ID of the latest (highest and released) version for the given model.
    * @param modelId - the ID of the model, version can be blank - it will be ignored
@@ -268,6 +279,15 @@ public interface IModelRepository {
    */
   boolean exists(ModelId modelId);
 
+  /**
+   * Checks which of the given model IDs exist in the repository, looking all of them up in a single
+   * session. Same semantics as {@link #exists(ModelId)}.
+   *
+   * @param modelIds model IDs to check
+   * @return the given model IDs that exist
+   */
+  Set<ModelId> filterExisting(Collection<ModelId> modelIds);
+
   /**
    *
    * @return
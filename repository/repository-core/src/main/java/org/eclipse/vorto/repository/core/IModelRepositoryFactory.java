@@ -42,4 +42,10 @@ public interface IModelRepositoryFactory {
   IModelRetrievalService getModelRetrievalService();
   
   IRepositoryManager getRepositoryManager(String tenant, Authentication user);
+
+  /**
+   * Creates a repository manager that opens its own sessions instead of using the sessions of the
+   * current request. It can therefore be used outside of the request thread, e.g. by backup workers.
+   */
+  IRepositoryManager getDetachedRepositoryManager(String tenant, Authentication user);
 }
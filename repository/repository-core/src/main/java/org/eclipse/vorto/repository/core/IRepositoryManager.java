@@ -12,6 +12,9 @@
  */
 package org.eclipse.vorto.repository.core;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+
 public interface IRepositoryManager {
 
   /**
@@ -25,6 +28,18 @@ public interface IRepositoryManager {
    * @param data
    */
   void restore(byte[] data);
+
+  /**
+   * Backs up the given repository to the given stream
+   * @param out stream the backup is written to, it is not closed
+   */
+  void backup(OutputStream out);
+
+  /**
+   * Restores a repository with the data read from the given stream
+   * @param data stream of the backup, it is not closed
+   */
+  void restore(InputStream data);
   
   /**
    * Creates a workspace with the given tenantId
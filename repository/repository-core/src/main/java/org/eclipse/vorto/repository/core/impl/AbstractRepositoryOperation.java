@@ -58,19 +58,25 @@ public class AbstractRepositoryOperation {
     }
   }
 
-  public <T> void doInElevatedSession(SessionFunction<T> fn, IUserContext userContext) {
+  public <T> T doInElevatedSession(SessionFunction<T> fn, IUserContext userContext) {
     RequestRepositorySessionHelper helper = new RequestRepositorySessionHelper(false);
     IUserContext elevatedUserContext = getUserContextForCreatingAttachment(userContext);
+    RequestRepositorySessionHelper userHelper = repositorySessionHelperSupplier.get();
+    Session session = null;
     try {
       helper.setUser(elevatedUserContext.getAuthentication());
-      helper.setRepository(repositorySessionHelperSupplier.get().getRepository());
+      helper.setRepository(userHelper.getRepository());
       helper.setRolesInTenant(Stream.of(Role.SYS_ADMIN).collect(Collectors.toSet()));
-      helper.setTenantId(repositorySessionHelperSupplier.get().getTenantId());
-      fn.apply(helper.getSession());
+      helper.setTenantId(userHelper.getTenantId());
+      helper.setSessionPool(userHelper.getSessionPool());
+      session = helper.getSession();
+      return fn.apply(session);
     } catch (Exception e) {
       throw new FatalModelRepositoryException("Unexpected exception", e);
     } finally {
-      helper.getSession().logout();
+      if (session != null) {
+        helper.logoutSessionIfNotReusable(session);
+      }
     }
   }
 
@@ -0,0 +1,195 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Size bounded, per tenant index of the minimal {@link ModelInfo} of models, i.e. the model
+ * information that is read for every row of a repository search. It saves reading the properties
+ * and attachments of every model node found by a search.
+ *
+ * The index is written through by {@link ModelRepository}: every change of a model invalidates its
+ * entry. Entries also expire after a configurable time, which bounds how long changes made by
+ * other instances of the repository can go unnoticed. Every lookup returns a new copy, so that
+ * callers are free to modify the model information they get.
+ */
+@Component
+public class ModelInfoCache {
+
+  private final int maxEntries;
+
+  private final long ttlMillis;
+
+  private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  private long generation = 0;
+
+  @Autowired
+  public ModelInfoCache(@Value("${repo.cache.modelInfo.maxEntries:50000}") int maxEntries,
+      @Value("${repo.cache.modelInfo.ttlSeconds:600}") long ttlSeconds) {
+    this.maxEntries = maxEntries;
+    this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+  }
+
+  /**
+   * @param tenantId tenant, i.e. workspace, of the model
+   * @param modelId model ID
+   * @return a copy of the cached model information or empty if none is cached
+   */
+  public Optional<ModelInfo> get(String tenantId, ModelId modelId) {
+    ModelInfo cached;
+    synchronized (this) {
+      Key key = new Key(tenantId, modelId);
+      Entry entry = entries.get(key);
+      if (entry == null) {
+        return Optional.empty();
+      }
+      if (entry.isExpired(System.currentTimeMillis())) {
+        entries.remove(key);
+        return Optional.empty();
+      }
+      cached = entry.modelInfo;
+    }
+    return Optional.of(copy(cached));
+  }
+
+  /**
+   * @return current generation of the cache, to be passed to
+   *         {@link #put(String, ModelInfo, long)}
+   */
+  public synchronized long getGeneration() {
+    return generation;
+  }
+
+  /**
+   * Caches the given model information unless the cache has been invalidated since the given
+   * generation, as the information may have been read before the model changed.
+   *
+   * @param tenantId tenant, i.e. workspace, of the model
+   * @param modelInfo model information to cache
+   * @param generation generation of the cache before the model information was read
+   */
+  public void put(String tenantId, ModelInfo modelInfo, long generation) {
+    ModelInfo copy = copy(modelInfo);
+    synchronized (this) {
+      if (generation != this.generation) {
+        return;
+      }
+      entries.put(new Key(tenantId, modelInfo.getId()),
+          new Entry(copy, System.currentTimeMillis() + ttlMillis));
+      Iterator<Entry> iterator = entries.values().iterator();
+      while (entries.size() > maxEntries && iterator.hasNext()) {
+        iterator.next();
+        iterator.remove();
+      }
+    }
+  }
+
+  public synchronized void invalidate(String tenantId, ModelId modelId) {
+    generation++;
+    entries.remove(new Key(tenantId, modelId));
+  }
+
+  public synchronized void invalidateTenant(String tenantId) {
+    generation++;
+    entries.keySet().removeIf(key -> key.tenantId.equals(tenantId));
+  }
+
+  public synchronized void clear() {
+    generation++;
+    entries.clear();
+  }
+
+  private static ModelInfo copy(ModelInfo source) {
+    ModelInfo copy = new ModelInfo(source.getId(), source.getType());
+    copy.setDescription(source.getDescription());
+    copy.setDisplayName(source.getDisplayName());
+    copy.setFileName(source.getFileName());
+    copy.setCreationDate(copyOf(source.getCreationDate()));
+    copy.setModificationDate(copyOf(source.getModificationDate()));
+    copy.setLastModifiedBy(source.getLastModifiedBy());
+    copy.setState(source.getState());
+    copy.setAuthor(source.getAuthor());
+    copy.setTargetPlatformKey(source.getTargetPlatformKey());
+    copy.setVisibility(source.getVisibility());
+    copy.setHasImage(source.isHasImage());
+    copy.setImported(source.getImported());
+    copy.setReferences(new ArrayList<>(source.getReferences()));
+    copy.setReferencedBy(new ArrayList<>(source.getReferencedBy()));
+    copy.setPlatformMappings(new HashMap<>(source.getPlatformMappings()));
+    return copy;
+  }
+
+  private static Date copyOf(Date date) {
+    return date != null ? new Date(date.getTime()) : null;
+  }
+
+  private static final class Key {
+
+    private final String tenantId;
+
+    private final ModelId modelId;
+
+    Key(String tenantId, ModelId modelId) {
+      this.tenantId = tenantId;
+      this.modelId = modelId;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(tenantId, modelId);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return tenantId.equals(other.tenantId) && modelId.equals(other.modelId);
+    }
+  }
+
+  private static final class Entry {
+
+    private final ModelInfo modelInfo;
+
+    private final long expiresAt;
+
+    Entry(ModelInfo modelInfo, long expiresAt) {
+      this.modelInfo = modelInfo;
+      this.expiresAt = expiresAt;
+    }
+
+    boolean isExpired(long now) {
+      return now > expiresAt;
+    }
+  }
+}
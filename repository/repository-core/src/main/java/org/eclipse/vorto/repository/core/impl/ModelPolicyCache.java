@@ -0,0 +1,281 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.core.PolicyEntry;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.domain.Tenant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Size bounded cache of what {@link ModelPolicyManager#hasPermission(ModelId,
+ * PolicyEntry.Permission)} needs for evaluating a permission: the policy entries of model nodes,
+ * per tenant, and whether a user has a role in a tenant.
+ *
+ * Policy entries are written through by {@link ModelPolicyManager} and {@link ModelRepository}:
+ * changing the policies of a model or removing the model invalidates its entry. Role memberships
+ * are invalidated by user and tenant events, and expire after a shorter time than policy entries,
+ * as not every change of a role is published as an event. Every lookup returns new copies, so that
+ * callers are free to modify the policy entries they get.
+ */
+@Component
+public class ModelPolicyCache implements ApplicationListener<AppEvent> {
+
+  private final int maxEntries;
+
+  private final long ttlMillis;
+
+  private final long roleTtlMillis;
+
+  private final LinkedHashMap<PolicyKey, Entry<List<PolicyEntry>>> policies =
+      new LinkedHashMap<>(16, 0.75f, true);
+
+  private final LinkedHashMap<RoleKey, Entry<Boolean>> roles = new LinkedHashMap<>(16, 0.75f, true);
+
+  private long generation = 0;
+
+  private long roleGeneration = 0;
+
+  @Autowired
+  public ModelPolicyCache(@Value("${repo.cache.policies.maxEntries:50000}") int maxEntries,
+      @Value("${repo.cache.policies.ttlSeconds:600}") long ttlSeconds,
+      @Value("${repo.cache.policies.roleTtlSeconds:60}") long roleTtlSeconds) {
+    this.maxEntries = maxEntries;
+    this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+    this.roleTtlMillis = TimeUnit.SECONDS.toMillis(roleTtlSeconds);
+  }
+
+  /**
+   * @param tenantId tenant, i.e. workspace, of the model
+   * @param modelId model ID
+   * @return copies of the cached policy entries of the model or empty if none are cached
+   */
+  public Optional<List<PolicyEntry>> getPolicyEntries(String tenantId, ModelId modelId) {
+    List<PolicyEntry> cached = get(policies, new PolicyKey(tenantId, modelId));
+    return cached != null ? Optional.of(copy(cached)) : Optional.empty();
+  }
+
+  /**
+   * @return current generation of the policy entries, to be passed to
+   *         {@link #putPolicyEntries(String, ModelId, Collection, long)}
+   */
+  public synchronized long getGeneration() {
+    return generation;
+  }
+
+  /**
+   * Caches the given policy entries unless the policies have been invalidated since the given
+   * generation, as the entries may have been read before they changed.
+   *
+   * @param tenantId tenant, i.e. workspace, of the model
+   * @param modelId model ID
+   * @param entries policy entries of the model
+   * @param generation generation of the cache before the entries were read
+   */
+  public void putPolicyEntries(String tenantId, ModelId modelId, Collection<PolicyEntry> entries,
+      long generation) {
+    List<PolicyEntry> copy = copy(entries);
+    synchronized (this) {
+      if (generation == this.generation) {
+        put(policies, new PolicyKey(tenantId, modelId), copy, ttlMillis);
+      }
+    }
+  }
+
+  public synchronized void invalidate(String tenantId, ModelId modelId) {
+    generation++;
+    policies.remove(new PolicyKey(tenantId, modelId));
+  }
+
+  /**
+   * @param tenantId tenant the role is checked in
+   * @param username name of the user
+   * @param role role, with or without role prefix
+   * @return whether the user has the role or empty if it is not cached
+   */
+  public Optional<Boolean> hasRole(String tenantId, String username, String role) {
+    return Optional.ofNullable(get(roles, new RoleKey(tenantId, username, role)));
+  }
+
+  /**
+   * @return current generation of the role memberships, to be passed to
+   *         {@link #putRole(String, String, String, boolean, long)}
+   */
+  public synchronized long getRoleGeneration() {
+    return roleGeneration;
+  }
+
+  public synchronized void putRole(String tenantId, String username, String role,
+      boolean hasRole, long generation) {
+    if (generation == this.roleGeneration) {
+      put(roles, new RoleKey(tenantId, username, role), hasRole, roleTtlMillis);
+    }
+  }
+
+  public synchronized void invalidateUser(String username) {
+    roleGeneration++;
+    roles.keySet().removeIf(key -> Objects.equals(key.username, username));
+  }
+
+  public synchronized void invalidateTenant(String tenantId) {
+    generation++;
+    roleGeneration++;
+    policies.keySet().removeIf(key -> key.tenantId.equals(tenantId));
+    roles.keySet().removeIf(key -> key.tenantId.equals(tenantId));
+  }
+
+  public synchronized void clear() {
+    generation++;
+    roleGeneration++;
+    policies.clear();
+    roles.clear();
+  }
+
+  @Override
+  public void onApplicationEvent(AppEvent event) {
+    switch (event.getEventType()) {
+      case USER_ADDED:
+      case USER_MODIFIED:
+      case USER_DELETED:
+        if (event.getSubject() instanceof String) {
+          invalidateUser((String) event.getSubject());
+        }
+        break;
+      case TENANT_ADDED:
+      case TENANT_UPDATED:
+      case TENANT_DELETED:
+        if (event.getSubject() instanceof Tenant) {
+          invalidateTenant(((Tenant) event.getSubject()).getTenantId());
+        }
+        break;
+      default:
+        break;
+    }
+  }
+
+  private synchronized <K, V> V get(LinkedHashMap<K, Entry<V>> entries, K key) {
+    Entry<V> entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.isExpired(System.currentTimeMillis())) {
+      entries.remove(key);
+      return null;
+    }
+    return entry.value;
+  }
+
+  private <K, V> void put(LinkedHashMap<K, Entry<V>> entries, K key, V value, long ttl) {
+    entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttl));
+    Iterator<Entry<V>> iterator = entries.values().iterator();
+    while (entries.size() > maxEntries && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+    }
+  }
+
+  private static List<PolicyEntry> copy(Collection<PolicyEntry> entries) {
+    return entries.stream().map(entry -> PolicyEntry.of(entry.getPrincipalId(),
+        entry.getPrincipalType(), entry.getPermission())).collect(Collectors.toList());
+  }
+
+  private static final class PolicyKey {
+
+    private final String tenantId;
+
+    private final ModelId modelId;
+
+    PolicyKey(String tenantId, ModelId modelId) {
+      this.tenantId = tenantId;
+      this.modelId = modelId;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(tenantId, modelId);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof PolicyKey)) {
+        return false;
+      }
+      PolicyKey other = (PolicyKey) obj;
+      return tenantId.equals(other.tenantId) && modelId.equals(other.modelId);
+    }
+  }
+
+  private static final class RoleKey {
+
+    private final String tenantId;
+
+    private final String username;
+
+    private final String role;
+
+    RoleKey(String tenantId, String username, String role) {
+      this.tenantId = tenantId;
+      this.username = username;
+      this.role = role;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(tenantId, username, role);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof RoleKey)) {
+        return false;
+      }
+      RoleKey other = (RoleKey) obj;
+      return Objects.equals(tenantId, other.tenantId) && Objects.equals(username, other.username)
+          && Objects.equals(role, other.role);
+    }
+  }
+
+  private static final class Entry<V> {
+
+    private final V value;
+
+    private final long expiresAt;
+
+    Entry(V value, long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+
+    boolean isExpired(long now) {
+      return now > expiresAt;
+    }
+  }
+}
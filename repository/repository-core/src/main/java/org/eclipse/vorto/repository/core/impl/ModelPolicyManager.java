@@ -50,43 +50,60 @@ public class ModelPolicyManager extends AbstractRepositoryOperation implements I
 
   private IModelRepositoryFactory modelRepositoryFactory;
 
+  private ModelPolicyCache policyCache = null;
+
   public ModelPolicyManager(@Autowired IUserAccountService userAccountService, @Autowired IModelRepositoryFactory iModelRepositoryFactory) {
     this.userAccountService = userAccountService;
     this.modelRepositoryFactory = iModelRepositoryFactory;
   }
 
+  public void setPolicyCache(ModelPolicyCache policyCache) {
+    this.policyCache = policyCache;
+  }
+
   @Override
   public Collection<PolicyEntry> getPolicyEntries(ModelId modelId) {
     return doInSession(session -> {
-      List<PolicyEntry> policyEntries = new ArrayList<PolicyEntry>();
+      long generation = policyCache != null ? policyCache.getGeneration() : 0;
+      List<PolicyEntry> policyEntries = readPolicyEntries(session, modelId);
+      if (policyCache != null) {
+        policyCache.putPolicyEntries(session.getWorkspace().getName(), modelId, policyEntries,
+            generation);
+      }
+      return policyEntries;
+    });
+  }
 
-      try {
-        ModelIdHelper modelIdHelper = new ModelIdHelper(modelId);
+  private List<PolicyEntry> readPolicyEntries(Session session, ModelId modelId)
+      throws RepositoryException {
+    List<PolicyEntry> policyEntries = new ArrayList<PolicyEntry>();
 
-        Node nodeToGetPolicies = session.getNode(modelIdHelper.getFullPath());
-        
-        AccessControlManager acm = session.getAccessControlManager();
+    try {
+      ModelIdHelper modelIdHelper = new ModelIdHelper(modelId);
 
-        AccessControlList acl = null;
-        AccessControlPolicyIterator it = acm.getApplicablePolicies(nodeToGetPolicies.getPath());
-        if (it.hasNext()) {
-          acl = (AccessControlList) it.nextAccessControlPolicy();
-        } else {
-          acl = (AccessControlList) acm.getPolicies(nodeToGetPolicies.getPath())[0];
-        }
+      Node nodeToGetPolicies = session.getNode(modelIdHelper.getFullPath());
+      
+      AccessControlManager acm = session.getAccessControlManager();
 
-        for (AccessControlEntry entry : acl.getAccessControlEntries()) {
-          PolicyEntry policy = PolicyEntry.of(entry);
-          if (!policy.isAdminPolicy()) {
-            policyEntries.add(policy);
-          }
-        }
+      AccessControlList acl = null;
+      AccessControlPolicyIterator it = acm.getApplicablePolicies(nodeToGetPolicies.getPath());
+      if (it.hasNext()) {
+        acl = (AccessControlList) it.nextAccessControlPolicy();
+      } else {
+        acl = (AccessControlList) acm.getPolicies(nodeToGetPolicies.getPath())[0];
+      }
 
-        return policyEntries;
-      } catch (AccessDeniedException ex) {
-        throw new NotAuthorizedException(modelId);
+      for (AccessControlEntry entry : acl.getAccessControlEntries()) {
+        PolicyEntry policy = PolicyEntry.of(entry);
+        if (!policy.isAdminPolicy()) {
+          policyEntries.add(policy);
+        }
       }
-    });
+
+      return policyEntries;
+    } catch (AccessDeniedException ex) {
+      throw new NotAuthorizedException(modelId);
+    }
   }
 
   @Override
@@ -145,6 +162,7 @@ public class ModelPolicyManager extends AbstractRepositoryOperation implements I
 
         acm.setPolicy(nodeToAddPolicy.getPath(), _acl);
         session.save();
+        invalidatePolicyEntries(session, modelId);
         return null;
       } catch (AccessDeniedException ex) {
         throw new NotAuthorizedException(modelId);
@@ -192,6 +210,7 @@ public class ModelPolicyManager extends AbstractRepositoryOperation implements I
 
           acm.removePolicy(nodeToRemovePolicy.getPath(), acl);
           session.save();
+          invalidatePolicyEntries(session, modelId);
 
           return null;
         } catch (AccessDeniedException ex) {
@@ -204,24 +223,60 @@ public class ModelPolicyManager extends AbstractRepositoryOperation implements I
   @Override
   public boolean hasPermission(final ModelId modelId, final Permission permission) {
     return doInSession(session -> {
-      return this.getPolicyEntries(modelId).stream()
-          .filter(userFilter(session).and(p -> hasPermission(p.getPermission(), permission)))
-          .findAny()
-          .isPresent();
+      return getCachedPolicyEntries(session, modelId).stream()
+          .filter(p -> hasPermission(p.getPermission(), permission)).anyMatch(userFilter(session));
     });
   }
+
+  /**
+   * Reads the policy entries of the model with the given session unless they are cached
+   */
+  private List<PolicyEntry> getCachedPolicyEntries(Session session, ModelId modelId)
+      throws RepositoryException {
+    if (policyCache == null) {
+      return readPolicyEntries(session, modelId);
+    }
+    String tenantId = session.getWorkspace().getName();
+    Optional<List<PolicyEntry>> cached = policyCache.getPolicyEntries(tenantId, modelId);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+    long generation = policyCache.getGeneration();
+    List<PolicyEntry> policyEntries = readPolicyEntries(session, modelId);
+    policyCache.putPolicyEntries(tenantId, modelId, policyEntries, generation);
+    return policyEntries;
+  }
+
+  private void invalidatePolicyEntries(Session session, ModelId modelId) {
+    if (policyCache != null) {
+      policyCache.invalidate(session.getWorkspace().getName(), modelId);
+    }
+  }
   
   private Predicate<PolicyEntry> userFilter(Session session) {
     return p -> {
       if (p.getPrincipalType() == PrincipalType.User) {
         return p.getPrincipalId().equalsIgnoreCase(session.getUserID());
       } else {
-        return userAccountService.hasRole(session.getWorkspace().getName(), session.getUserID(),
-            p.getPrincipalId());
+        return hasRole(session.getWorkspace().getName(), session.getUserID(), p.getPrincipalId());
       }
     };
   }
 
+  private boolean hasRole(String tenantId, String username, String role) {
+    if (policyCache == null) {
+      return userAccountService.hasRole(tenantId, username, role);
+    }
+    Optional<Boolean> cached = policyCache.hasRole(tenantId, username, role);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+    long generation = policyCache.getRoleGeneration();
+    boolean hasRole = userAccountService.hasRole(tenantId, username, role);
+    policyCache.putRole(tenantId, username, role, hasRole, generation);
+    return hasRole;
+  }
+
   private boolean hasPermission(Permission userPermission, Permission permission) {
     return userPermission.includes(permission);
   }
@@ -0,0 +1,279 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per tenant graph of the references between models, which answers which models reference a
+ * given model and which target platform a mapping is for without querying the repository.
+ *
+ * The graph of a tenant is loaded from the repository when it is first needed and is then written
+ * through by {@link ModelRepository} whenever a model is saved or removed. The graph of a tenant
+ * is reloaded after a configurable time, which bounds how long changes made by other instances of
+ * the repository can go unnoticed.
+ *
+ * Each tenant is loaded by only one thread at a time, while other threads that need the same
+ * tenant wait for that load. Models that are saved or removed while a tenant is loaded are applied
+ * to the loaded graph before it is cached, so that writes to a tenant do not keep its graph from
+ * being cached.
+ */
+@Component
+public class ModelReferenceIndex {
+
+  private final long ttlMillis;
+
+  private final Map<String, Entry> tenants = new HashMap<>();
+
+  private final Map<String, Load> loads = new HashMap<>();
+
+  @Autowired
+  public ModelReferenceIndex(
+      @Value("${repo.cache.modelReferences.ttlSeconds:600}") long ttlSeconds) {
+    this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+  }
+
+  /**
+   * @param tenantId tenant, i.e. workspace
+   * @param loader loads the complete references of the tenant from the repository, if they are
+   *        not loaded yet
+   * @return references of the tenant
+   */
+  public TenantReferences get(String tenantId, Supplier<TenantReferences> loader) {
+    Load load;
+    boolean loading = false;
+    synchronized (this) {
+      Entry entry = tenants.get(tenantId);
+      if (entry != null && !entry.isExpired(System.currentTimeMillis())) {
+        return entry.references;
+      }
+      tenants.remove(tenantId);
+      load = loads.get(tenantId);
+      if (load == null) {
+        load = new Load();
+        loads.put(tenantId, load);
+        loading = true;
+      }
+    }
+    return loading ? load(tenantId, load, loader) : load.await();
+  }
+
+  private TenantReferences load(String tenantId, Load load, Supplier<TenantReferences> loader) {
+    TenantReferences loaded;
+    try {
+      loaded = loader.get();
+    } catch (RuntimeException e) {
+      synchronized (this) {
+        loads.remove(tenantId, load);
+      }
+      load.result.completeExceptionally(e);
+      throw e;
+    }
+
+    synchronized (this) {
+      loads.remove(tenantId, load);
+      // the loader may or may not have seen models that changed while loading, applying the
+      // changes again yields their current references in either case
+      load.changes.forEach(change -> change.accept(loaded));
+      if (!load.invalidated) {
+        tenants.put(tenantId, new Entry(loaded, System.currentTimeMillis() + ttlMillis));
+      }
+    }
+    load.result.complete(loaded);
+    return loaded;
+  }
+
+  /**
+   * Updates the references of a saved model, if the references of its tenant are loaded
+   *
+   * @param tenantId tenant, i.e. workspace, of the model
+   * @param modelId saved model
+   * @param type type of the saved model
+   * @param platformKey target platform of the model if it is a mapping, null otherwise
+   * @param references models the saved model references
+   */
+  public synchronized void update(String tenantId, ModelId modelId, ModelType type,
+      String platformKey, Collection<ModelId> references) {
+    apply(tenantId,
+        tenantReferences -> tenantReferences.put(modelId, type, platformKey, references));
+  }
+
+  public synchronized void remove(String tenantId, ModelId modelId) {
+    apply(tenantId, tenantReferences -> tenantReferences.remove(modelId));
+  }
+
+  private void apply(String tenantId, Consumer<TenantReferences> change) {
+    Entry entry = tenants.get(tenantId);
+    if (entry != null) {
+      change.accept(entry.references);
+    }
+    Load load = loads.get(tenantId);
+    if (load != null) {
+      load.changes.add(change);
+    }
+  }
+
+  public synchronized void invalidateTenant(String tenantId) {
+    tenants.remove(tenantId);
+    Load load = loads.get(tenantId);
+    if (load != null) {
+      load.invalidated = true;
+    }
+  }
+
+  public synchronized void clear() {
+    tenants.clear();
+    loads.values().forEach(load -> load.invalidated = true);
+  }
+
+  /**
+   * References between the models of a single tenant
+   */
+  public static final class TenantReferences {
+
+    private final Map<ModelId, List<ModelId>> references = new HashMap<>();
+
+    private final Map<ModelId, Set<ModelId>> referencedBy = new HashMap<>();
+
+    private final Map<ModelId, String> platformKeys = new HashMap<>();
+
+    /**
+     * Adds or replaces the references of a model
+     *
+     * @param modelId model
+     * @param type type of the model
+     * @param platformKey target platform of the model if it is a mapping, null otherwise or if the
+     *        target platform of the mapping is unknown
+     * @param modelReferences models the model references
+     */
+    public synchronized void put(ModelId modelId, ModelType type, String platformKey,
+        Collection<ModelId> modelReferences) {
+      remove(modelId);
+      references.put(modelId, new ArrayList<>(modelReferences));
+      for (ModelId reference : modelReferences) {
+        referencedBy.computeIfAbsent(reference, key -> new LinkedHashSet<>()).add(modelId);
+      }
+      if (type == ModelType.Mapping) {
+        platformKeys.put(modelId, platformKey);
+      }
+    }
+
+    synchronized void remove(ModelId modelId) {
+      List<ModelId> removed = references.remove(modelId);
+      if (removed != null) {
+        for (ModelId reference : removed) {
+          Set<ModelId> referencing = referencedBy.get(reference);
+          if (referencing != null) {
+            referencing.remove(modelId);
+            if (referencing.isEmpty()) {
+              referencedBy.remove(reference);
+            }
+          }
+        }
+      }
+      platformKeys.remove(modelId);
+    }
+
+    /**
+     * @return models of the tenant that reference the given model
+     */
+    public synchronized List<ModelId> getReferencing(ModelId modelId) {
+      Set<ModelId> referencing = referencedBy.get(modelId);
+      return referencing != null ? new ArrayList<>(referencing) : Collections.emptyList();
+    }
+
+    /**
+     * @return models the given model references, empty if the model is unknown
+     */
+    public synchronized List<ModelId> getReferences(ModelId modelId) {
+      List<ModelId> modelReferences = references.get(modelId);
+      return modelReferences != null ? new ArrayList<>(modelReferences) : Collections.emptyList();
+    }
+
+    /**
+     * @return target platform of the given mapping, null if it is unknown
+     */
+    public synchronized String getPlatformKey(ModelId mappingId) {
+      return platformKeys.get(mappingId);
+    }
+
+    /**
+     * Records the target platform of a mapping that has been resolved from its content
+     */
+    public synchronized void setPlatformKey(ModelId mappingId, String platformKey) {
+      if (platformKeys.containsKey(mappingId)) {
+        platformKeys.put(mappingId, platformKey);
+      }
+    }
+  }
+
+  /**
+   * Load of the references of a tenant that is in progress. The changes and the invalidation are
+   * guarded by the index.
+   */
+  private static final class Load {
+
+    private final CompletableFuture<TenantReferences> result = new CompletableFuture<>();
+
+    private final List<Consumer<TenantReferences>> changes = new ArrayList<>();
+
+    private boolean invalidated = false;
+
+    /**
+     * Waits for the thread that loads the references
+     */
+    TenantReferences await() {
+      try {
+        return result.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw e;
+      }
+    }
+  }
+
+  private static final class Entry {
+
+    private final TenantReferences references;
+
+    private final long expiresAt;
+
+    Entry(TenantReferences references, long expiresAt) {
+      this.references = references;
+      this.expiresAt = expiresAt;
+    }
+
+    boolean isExpired(long now) {
+      return now > expiresAt;
+    }
+  }
+}
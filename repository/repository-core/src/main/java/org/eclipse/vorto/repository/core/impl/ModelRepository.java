@@ -23,8 +23,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -161,6 +163,11 @@ public class ModelRepository extends AbstractRepositoryOperation
 
   private IModelPolicyManager policyManager;
 
+  private ModelInfoCache modelInfoCache = null;
+
+  private ModelReferenceIndex modelReferenceIndex = null;
+
+  private ModelPolicyCache policyCache = null;
 
   public ModelRepository(ModelSearchUtil modelSearchUtil, AttachmentValidator attachmentValidator,
       ModelParserFactory modelParserFactory, IModelRetrievalService modelRetrievalService,
@@ -180,6 +187,18 @@ public class ModelRepository extends AbstractRepositoryOperation
     this.eventPublisher = applicationEventPublisher;
   }
 
+  public void setModelInfoCache(ModelInfoCache modelInfoCache) {
+    this.modelInfoCache = modelInfoCache;
+  }
+
+  public void setModelReferenceIndex(ModelReferenceIndex modelReferenceIndex) {
+    this.modelReferenceIndex = modelReferenceIndex;
+  }
+
+  public void setPolicyCache(ModelPolicyCache policyCache) {
+    this.policyCache = policyCache;
+  }
+
   @Override
   public List<ModelInfo> search(final String expression) {
     return doInSession(session -> {
@@ -191,12 +210,13 @@ public class ModelRepository extends AbstractRepositoryOperation
       logger.debug("Searching repository with expression " + query.getStatement());
       QueryResult result = query.execute();
       RowIterator rowIterator = result.getRows();
+      String tenantId = session.getWorkspace().getName();
       while (rowIterator.hasNext()) {
         Row row = rowIterator.nextRow();
         Node currentNode = row.getNode();
         if (currentNode.hasProperty(VORTO_NODE_TYPE)) {
           try {
-            modelResources.add(createMinimalModelInfo(currentNode));
+            modelResources.add(getMinimalModelInfo(tenantId, currentNode));
           } catch (Exception ex) {
             logger.debug("Error while converting node to a ModelInfo", ex);
           }
@@ -207,6 +227,32 @@ public class ModelRepository extends AbstractRepositoryOperation
     });
   }
 
+  /**
+   * Same as {@link #createMinimalModelInfo(Node)}, but takes the model information from the
+   * {@link ModelInfoCache} if it is cached
+   */
+  private ModelInfo getMinimalModelInfo(String tenantId, Node fileNode)
+      throws RepositoryException {
+    if (modelInfoCache == null) {
+      return createMinimalModelInfo(fileNode);
+    }
+    ModelId modelId = ModelIdHelper.fromPath(fileNode.getParent().getPath());
+    Optional<ModelInfo> cached = modelInfoCache.get(tenantId, modelId);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+    long generation = modelInfoCache.getGeneration();
+    ModelInfo modelInfo = createMinimalModelInfo(fileNode);
+    modelInfoCache.put(tenantId, modelInfo, generation);
+    return modelInfo;
+  }
+
+  private void invalidateModelInfo(Session session, ModelId modelId) {
+    if (modelInfoCache != null) {
+      modelInfoCache.invalidate(session.getWorkspace().getName(), modelId);
+    }
+  }
+
   private ModelInfo createMinimalModelInfo(Node fileNode) throws RepositoryException {
     Node folderNode = fileNode.getParent();
     ModelInfo resource = new ModelInfo(ModelIdHelper.fromPath(folderNode.getPath()),
@@ -360,6 +406,8 @@ public class ModelRepository extends AbstractRepositoryOperation
         }
 
         session.save();
+        invalidateModelInfo(session, modelInfo.getId());
+        indexReferences(session, folderNode);
         logger.info("Model was saved successful");
 
         ModelInfo createdModel = getById(modelInfo.getId());
@@ -391,6 +439,25 @@ public class ModelRepository extends AbstractRepositoryOperation
     });
   }
 
+  @Override
+  public Optional<ModelInfo> getMinimalInfo(ModelId modelId) {
+    return doInSession(session -> {
+      try {
+        ModelIdHelper modelIdHelper = new ModelIdHelper(modelId);
+        Node folderNode = session.getNode(modelIdHelper.getFullPath());
+        if (!folderNode.getNodes(FILE_NODES).hasNext()) {
+          return Optional.empty();
+        }
+        return Optional.of(getMinimalModelInfo(session.getWorkspace().getName(),
+            folderNode.getNodes(FILE_NODES).nextNode()));
+      } catch (PathNotFoundException e) {
+        return Optional.empty();
+      } catch (AccessDeniedException e) {
+        throw new NotAuthorizedException(modelId, e);
+      }
+    });
+  }
+
   @Override
   public ModelId getLatestModelVersionIfLatestTagIsSet(ModelId modelId) {
     if (!"latest".equalsIgnoreCase(modelId.getVersion())) {
@@ -502,6 +569,9 @@ public class ModelRepository extends AbstractRepositoryOperation
 
   @Override
   public List<ModelInfo> getModelsReferencing(ModelId modelId) {
+    if (modelReferenceIndex != null) {
+      return getIndexedModelsReferencing(modelId);
+    }
     return doInSession(session -> {
       List<ModelInfo> referencingModels = Lists.newArrayList();
       QueryManager queryManager = session.getWorkspace().getQueryManager();
@@ -511,12 +581,13 @@ public class ModelRepository extends AbstractRepositoryOperation
 
       QueryResult result = query.execute();
       RowIterator rowIterator = result.getRows();
+      String tenantId = session.getWorkspace().getName();
       while (rowIterator.hasNext()) {
         Row row = rowIterator.nextRow();
         Node currentNode = row.getNode();
         try {
-          referencingModels
-              .add(createMinimalModelInfo(currentNode.getNodes(FILE_NODES).nextNode()));
+          referencingModels.add(
+              getMinimalModelInfo(tenantId, currentNode.getNodes(FILE_NODES).nextNode()));
         } catch (Exception ex) {
           logger.error("Error while converting node to a ModelId", ex);
         }
@@ -526,37 +597,164 @@ public class ModelRepository extends AbstractRepositoryOperation
     });
   }
 
+  /**
+   * Looks the referencing models up in the {@link ModelReferenceIndex} and only reads their nodes,
+   * which leaves out models the user is not allowed to read, just like a query would.
+   */
+  private List<ModelInfo> getIndexedModelsReferencing(ModelId modelId) {
+    return doInSession(session -> {
+      String tenantId = session.getWorkspace().getName();
+      List<ModelInfo> referencingModels = Lists.newArrayList();
+      for (ModelId referencingId : getReferenceIndex(tenantId).getReferencing(modelId)) {
+        try {
+          Node folderNode = session.getNode(new ModelIdHelper(referencingId).getFullPath());
+          referencingModels
+              .add(getMinimalModelInfo(tenantId, folderNode.getNodes(FILE_NODES).nextNode()));
+        } catch (PathNotFoundException | AccessDeniedException e) {
+          logger.debug("Referencing model " + referencingId.getPrettyFormat() + " is not readable");
+        } catch (Exception ex) {
+          logger.error("Error while converting node to a ModelId", ex);
+        }
+      }
+      return referencingModels;
+    });
+  }
+
+  private ModelReferenceIndex.TenantReferences getReferenceIndex(String tenantId) {
+    return modelReferenceIndex.get(tenantId, this::loadReferenceIndex);
+  }
+
+  /**
+   * Reads the references of all models of the tenant in a privileged session, as the index must
+   * be complete regardless of the user it is first loaded for
+   */
+  private ModelReferenceIndex.TenantReferences loadReferenceIndex() {
+    return doInElevatedSession(session -> {
+      ModelReferenceIndex.TenantReferences references =
+          new ModelReferenceIndex.TenantReferences();
+      Query query = session.getWorkspace().getQueryManager().createQuery(
+          "SELECT * FROM [vorto:meta] WHERE [vorto:type] IS NOT NULL", Query.JCR_SQL2);
+      RowIterator rowIterator = query.execute().getRows();
+      while (rowIterator.hasNext()) {
+        Node fileNode = rowIterator.nextRow().getNode();
+        try {
+          putReferences(references, fileNode.getParent(), fileNode);
+        } catch (Exception ex) {
+          logger.debug("Error while reading the references of " + fileNode.getPath(), ex);
+        }
+      }
+      logger.info("Loaded model references of tenant " + session.getWorkspace().getName());
+      return references;
+    }, PrivilegedUserContextProvider.systemAdminContext());
+  }
+
+  private void indexReferences(Session session, Node folderNode) throws RepositoryException {
+    if (modelReferenceIndex == null) {
+      return;
+    }
+    Node fileNode = folderNode.getNodes(FILE_NODES).nextNode();
+    modelReferenceIndex.update(session.getWorkspace().getName(),
+        ModelIdHelper.fromPath(folderNode.getPath()),
+        ModelType.valueOf(fileNode.getProperty(VORTO_NODE_TYPE).getString()),
+        getTargetPlatformKey(fileNode), getReferences(folderNode));
+  }
+
+  private void putReferences(ModelReferenceIndex.TenantReferences references, Node folderNode,
+      Node fileNode) throws RepositoryException {
+    references.put(ModelIdHelper.fromPath(folderNode.getPath()),
+        ModelType.valueOf(fileNode.getProperty(VORTO_NODE_TYPE).getString()),
+        getTargetPlatformKey(fileNode), getReferences(folderNode));
+  }
+
+  private static String getTargetPlatformKey(Node fileNode) throws RepositoryException {
+    return fileNode.hasProperty(VORTO_TARGETPLATFORM)
+        ? fileNode.getProperty(VORTO_TARGETPLATFORM).getString()
+        : null;
+  }
+
   @Override
   public List<ModelInfo> getMappingModelsForTargetPlatform(ModelId modelId, String targetPlatform,
       Optional<String> version) {
     logger.info("Fetching mapping models for model ID " + modelId.getPrettyFormat() + " and key "
         + targetPlatform);
     Set<ModelInfo> mappingResources = new HashSet<>();
-    ModelInfo modelResource = getBasicInfo(modelId);
-    if (modelResource != null) {
-      for (ModelInfo referenceeModelInfo : this.getModelsReferencing(modelId)) {
-        if (referenceeModelInfo.getType() != ModelType.Mapping || version.isPresent()
-            && !referenceeModelInfo.getId().getVersion().equals(version.get())) {
-          continue;
-        }
+    collectMappingModels(modelId, targetPlatform, version, mappingResources, new HashSet<>());
+    return new ArrayList<ModelInfo>(mappingResources);
+  }
 
-        if (referenceeModelInfo.getTargetPlatformKey() != null) {
-          if (targetPlatform.equalsIgnoreCase(referenceeModelInfo.getTargetPlatformKey())) {
-            mappingResources.add(referenceeModelInfo);
-          }
-        } else if (getEMFResource(referenceeModelInfo.getId()).matchesTargetPlatform(targetPlatform)) {
-          mappingResources.add(referenceeModelInfo);
+  /**
+   * Collects the mappings of the given model and of all models it references, directly or
+   * indirectly
+   *
+   * @param visited models whose mappings have already been collected, so that models which are
+   *        referenced more than once are only visited once
+   */
+  void collectMappingModels(ModelId modelId, String targetPlatform, Optional<String> version,
+      Set<ModelInfo> mappingResources, Set<ModelId> visited) {
+    if (!visited.add(modelId)) {
+      return;
+    }
+    List<ModelId> references = getReferences(modelId);
+    if (references == null) {
+      return;
+    }
 
-        }
+    for (ModelInfo referenceeModelInfo : this.getModelsReferencing(modelId)) {
+      if (referenceeModelInfo.getType() != ModelType.Mapping || version.isPresent()
+          && !referenceeModelInfo.getId().getVersion().equals(version.get())) {
+        continue;
       }
 
-      for (ModelId referencedModelId : modelResource.getReferences()) {
+      if (targetPlatform.equalsIgnoreCase(getTargetPlatformKey(referenceeModelInfo))) {
+        mappingResources.add(referenceeModelInfo);
+      }
+    }
 
-        mappingResources.addAll(this.repositoryFactory.getRepositoryByModel(referencedModelId)
-            .getMappingModelsForTargetPlatform(referencedModelId, targetPlatform, version));
+    for (ModelId referencedModelId : references) {
+      IModelRepository repository = this.repositoryFactory.getRepositoryByModel(referencedModelId);
+      if (repository instanceof ModelRepository) {
+        ((ModelRepository) repository).collectMappingModels(referencedModelId, targetPlatform,
+            version, mappingResources, visited);
+      } else {
+        mappingResources.addAll(repository.getMappingModelsForTargetPlatform(referencedModelId,
+            targetPlatform, version));
       }
     }
-    return new ArrayList<ModelInfo>(mappingResources);
+  }
+
+  /**
+   * @return the models the given model references or null if the model does not exist
+   */
+  private List<ModelId> getReferences(ModelId modelId) {
+    return doInSession(session -> {
+      try {
+        return getReferences(session.getNode(new ModelIdHelper(modelId).getFullPath()));
+      } catch (PathNotFoundException e) {
+        return null;
+      } catch (AccessDeniedException e) {
+        throw new NotAuthorizedException(modelId, e);
+      }
+    });
+  }
+
+  /**
+   * Mappings stored before the target platform was kept as a node property only state it in their
+   * content. The target platform of those is parsed once and then kept in the reference index.
+   */
+  private String getTargetPlatformKey(ModelInfo mappingInfo) {
+    if (mappingInfo.getTargetPlatformKey() != null) {
+      return mappingInfo.getTargetPlatformKey();
+    }
+    if (modelReferenceIndex == null) {
+      return getEMFResource(mappingInfo.getId()).getTargetPlatform();
+    }
+    ModelReferenceIndex.TenantReferences references = getReferenceIndex(getTenantId());
+    String platformKey = references.getPlatformKey(mappingInfo.getId());
+    if (platformKey == null) {
+      platformKey = getEMFResource(mappingInfo.getId()).getTargetPlatform();
+      references.setPlatformKey(mappingInfo.getId(), platformKey);
+    }
+    return platformKey;
   }
 
   @Override
@@ -600,6 +798,13 @@ public class ModelRepository extends AbstractRepositoryOperation
         Item item = session.getItem(modelIdHelper.getFullPath());
         item.remove();
         session.save();
+        invalidateModelInfo(session, modelId);
+        if (modelReferenceIndex != null) {
+          modelReferenceIndex.remove(session.getWorkspace().getName(), modelId);
+        }
+        if (policyCache != null) {
+          policyCache.invalidate(session.getWorkspace().getName(), modelId);
+        }
 
         eventPublisher.publishEvent(new AppEvent(this, modelId, null, EventType.MODEL_DELETED));
 
@@ -642,6 +847,7 @@ public class ModelRepository extends AbstractRepositoryOperation
         fileNode.addMixin(MIX_LAST_MODIFIED);
 
         session.save();
+        invalidateModelInfo(session, modelId);
 
         eventPublisher
             .publishEvent(new AppEvent(this, getBasicInfo(modelId), null, EventType.MODEL_UPDATED));
@@ -686,6 +892,7 @@ public class ModelRepository extends AbstractRepositoryOperation
           .createBinary(new ByteArrayInputStream(fileContent.getContent()));
       contentNode.setProperty(JCR_DATA, binary);
       session.save();
+      invalidateModelInfo(session, modelId);
 
       return null;
     });
@@ -798,6 +1005,7 @@ public class ModelRepository extends AbstractRepositoryOperation
           .createBinary(new ByteArrayInputStream(fileContent.getContent()));
       contentNode.setProperty(JCR_DATA, binary);
       session.save();
+      invalidateModelInfo(session, modelId);
 
       eventPublisher.publishEvent(
           new AppEvent(this, getById(modelId), userContext, EventType.MODEL_UPDATED));
@@ -925,6 +1133,7 @@ public class ModelRepository extends AbstractRepositoryOperation
             Node attachmentNode = attachmentFolderNode.getNode(fileName);
             attachmentNode.remove();
             session.save();
+            invalidateModelInfo(session, modelId);
             return true;
           }
         }
@@ -983,6 +1192,31 @@ public class ModelRepository extends AbstractRepositoryOperation
     });
   }
 
+  @Override
+  public Set<ModelId> filterExisting(Collection<ModelId> modelIds) {
+    Map<ModelId, ModelId> latestModelIds = new HashMap<>();
+    for (ModelId modelId : modelIds) {
+      // resolving the latest version modifies the given model ID
+      latestModelIds.put(modelId, getLatestModelVersionIfLatestTagIsSet(
+          new ModelId(modelId.getName(), modelId.getNamespace(), modelId.getVersion())));
+    }
+    return doInSession(session -> {
+      Set<ModelId> existing = new HashSet<>();
+      for (Map.Entry<ModelId, ModelId> entry : latestModelIds.entrySet()) {
+        try {
+          if (session.itemExists(new ModelIdHelper(entry.getValue()).getFullPath())) {
+            existing.add(entry.getKey());
+          }
+        } catch (NullPointerException e) {
+          // no such released version, see exists(ModelId)
+        } catch (AccessDeniedException e) {
+          existing.add(entry.getKey());
+        }
+      }
+      return existing;
+    });
+  }
+
   @Override
   public String getTenantId() {
     return doInSession(session -> {
@@ -1104,6 +1338,13 @@ public class ModelRepository extends AbstractRepositoryOperation
   }
 
   private void setReferencesOnResource(Node folderNode, ModelInfo resource) throws RepositoryException {
+    if (folderNode.hasProperty(VORTO_REFERENCES)) {
+      resource.setReferences(getReferences(folderNode));
+    }
+  }
+
+  private List<ModelId> getReferences(Node folderNode) throws RepositoryException {
+    ModelReferencesHelper referenceHelper = new ModelReferencesHelper();
     if (folderNode.hasProperty(VORTO_REFERENCES)) {
       Value[] referenceValues;
       try {
@@ -1113,12 +1354,11 @@ public class ModelRepository extends AbstractRepositoryOperation
       }
 
       if (referenceValues != null) {
-        ModelReferencesHelper referenceHelper = new ModelReferencesHelper();
         for (Value referValue : referenceValues) {
           referenceHelper.addModelReference(referValue.getString());
         }
-        resource.setReferences(referenceHelper.getReferences());
       }
     }
+    return referenceHelper.getReferences();
   }
 }
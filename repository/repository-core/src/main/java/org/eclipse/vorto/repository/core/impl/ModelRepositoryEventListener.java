@@ -13,12 +13,15 @@
 package org.eclipse.vorto.repository.core.impl;
 
 import java.util.List;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.conversion.ModelContentCache;
 import org.eclipse.vorto.repository.core.IModelRepository;
 import org.eclipse.vorto.repository.core.IRepositoryManager;
 import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.core.events.AppEvent;
 import org.eclipse.vorto.repository.core.events.EventType;
+import org.eclipse.vorto.repository.core.impl.parser.ParsedModelCache;
 import org.eclipse.vorto.repository.domain.User;
 import org.eclipse.vorto.repository.search.ISearchService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,6 +46,12 @@ public class ModelRepositoryEventListener implements ApplicationListener<AppEven
   @Autowired
   private ISearchService searchService;
 
+  @Autowired(required = false)
+  private ModelContentCache modelContentCache;
+
+  @Autowired(required = false)
+  private ParsedModelCache parsedModelCache;
+
   @Override
   public void onApplicationEvent(AppEvent event) {
     if (event.getEventType() == EventType.USER_DELETED) {
@@ -51,6 +60,21 @@ public class ModelRepositoryEventListener implements ApplicationListener<AppEven
       createWorkspaceForTenant(event);
     } else if (event.getEventType() == EventType.TENANT_DELETED) {
       deleteWorkspaceForTenant(event);
+    } else if (event.getEventType() == EventType.MODEL_CREATED
+        || event.getEventType() == EventType.MODEL_UPDATED) {
+      ModelInfo modelInfo = (ModelInfo) event.getSubject();
+      invalidateModelContent(modelInfo.getId(), modelInfo);
+    } else if (event.getEventType() == EventType.MODEL_DELETED) {
+      invalidateModelContent((ModelId) event.getSubject(), null);
+    }
+  }
+
+  private void invalidateModelContent(ModelId modelId, ModelInfo modelInfo) {
+    if (modelContentCache != null) {
+      modelContentCache.invalidate(modelId, modelInfo != null ? modelInfo.getType() : null);
+    }
+    if (parsedModelCache != null) {
+      parsedModelCache.invalidate(modelId);
     }
   }
 
@@ -95,6 +119,22 @@ public class ModelRepositoryEventListener implements ApplicationListener<AppEven
     this.repositoryFactory = repositoryFactory;
   }
 
+  public ModelContentCache getModelContentCache() {
+    return modelContentCache;
+  }
+
+  public void setModelContentCache(ModelContentCache modelContentCache) {
+    this.modelContentCache = modelContentCache;
+  }
+
+  public ParsedModelCache getParsedModelCache() {
+    return parsedModelCache;
+  }
+
+  public void setParsedModelCache(ParsedModelCache parsedModelCache) {
+    this.parsedModelCache = parsedModelCache;
+  }
+
   public ISearchService getSearchService() {
     return searchService;
   }
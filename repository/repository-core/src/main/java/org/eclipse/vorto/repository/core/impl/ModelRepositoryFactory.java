@@ -54,6 +54,7 @@ import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Component("modelRepositoryFactory")
 public class ModelRepositoryFactory implements IModelRepositoryFactory, ApplicationEventPublisherAware {
@@ -89,6 +90,18 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory, Applicat
   @Autowired
   private RequestRepositorySessionHelper sessionHelper;
 
+  @Autowired(required = false)
+  private ModelInfoCache modelInfoCache;
+
+  @Autowired(required = false)
+  private ModelReferenceIndex modelReferenceIndex;
+
+  @Autowired(required = false)
+  private RepositorySessionPool sessionPool;
+
+  @Autowired(required = false)
+  private ModelPolicyCache policyCache;
+
   private ApplicationEventPublisher eventPublisher = null;
 
   private Repository repository;
@@ -139,6 +152,22 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory, Applicat
   public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
     this.eventPublisher = applicationEventPublisher;
   }
+
+  public void setModelInfoCache(ModelInfoCache modelInfoCache) {
+    this.modelInfoCache = modelInfoCache;
+  }
+
+  public void setModelReferenceIndex(ModelReferenceIndex modelReferenceIndex) {
+    this.modelReferenceIndex = modelReferenceIndex;
+  }
+
+  public void setSessionPool(RepositorySessionPool sessionPool) {
+    this.sessionPool = sessionPool;
+  }
+
+  public void setPolicyCache(ModelPolicyCache policyCache) {
+    this.policyCache = policyCache;
+  }
   
   @Override
   public IModelRetrievalService getModelRetrievalService(Authentication user) {
@@ -173,13 +202,47 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory, Applicat
     RepositoryManager repoManager = new RepositoryManager();
     repoManager.setRepositorySessionHelperSupplier(namedWorkspaceSessionSupplier(tenant, user));
     repoManager.setDefaultSessionSupplier(defaultWorkspaceSessionSupplier(user));
+    repoManager.setModelInfoCache(modelInfoCache);
+    repoManager.setModelReferenceIndex(modelReferenceIndex);
+    repoManager.setSessionPool(sessionPool);
+    repoManager.setPolicyCache(policyCache);
+    repoManager.setParsedModelCache(modelParserFactory.getParsedModelCache());
+    return repoManager;
+  }
+
+  @Override
+  public IRepositoryManager getDetachedRepositoryManager(String tenant, Authentication user) {
+    // roles are resolved on the calling thread, as the tenant might not be accessible otherwise
+    final Set<Role> rolesInTenant = getUserRolesInTenant(tenant, user.getName());
+    RepositoryManager repoManager = new RepositoryManager();
+    repoManager.setRepositorySessionHelperSupplier(() -> {
+      RequestRepositorySessionHelper helper = new RequestRepositorySessionHelper(false);
+      helper.setRepository(repository);
+      helper.setTenantId(tenant);
+      helper.setRolesInTenant(rolesInTenant);
+      helper.setUser(user);
+      helper.setSessionPool(sessionPool);
+      return helper;
+    });
+    repoManager.setDefaultSessionSupplier(defaultWorkspaceSessionSupplier(user));
+    repoManager.setModelInfoCache(modelInfoCache);
+    repoManager.setModelReferenceIndex(modelReferenceIndex);
+    repoManager.setSessionPool(sessionPool);
+    repoManager.setPolicyCache(policyCache);
+    repoManager.setParsedModelCache(modelParserFactory.getParsedModelCache());
     return repoManager;
   }
 
   @Override
   public IModelPolicyManager getPolicyManager(String tenant, Authentication user) {
+    return createPolicyManager(namedWorkspaceSessionSupplier(tenant, user));
+  }
+
+  private ModelPolicyManager createPolicyManager(
+      Supplier<RequestRepositorySessionHelper> sessionHelperSupplier) {
     ModelPolicyManager policyManager = new ModelPolicyManager(userAccountService, this);
-    policyManager.setRepositorySessionHelperSupplier(namedWorkspaceSessionSupplier(tenant, user));
+    policyManager.setRepositorySessionHelperSupplier(sessionHelperSupplier);
+    policyManager.setPolicyCache(policyCache);
     return policyManager;
   }
 
@@ -189,10 +252,16 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory, Applicat
   }
 
   public IModelRepository getRepository(String tenant, Authentication user) {
+    // the repository and its policy manager share the roles of the user in the tenant
+    Supplier<RequestRepositorySessionHelper> sessionHelperSupplier =
+        namedWorkspaceSessionSupplier(tenant, user);
     ModelRepository modelRepository = new ModelRepository(this.modelSearchUtil,
-        this.attachmentValidator, this.modelParserFactory, getModelRetrievalService(user),this,tenantService,getPolicyManager(tenant, user),errorMessageProvider);
-    modelRepository.setRepositorySessionHelperSupplier(namedWorkspaceSessionSupplier(tenant, user));
+        this.attachmentValidator, this.modelParserFactory, getModelRetrievalService(user),this,tenantService,createPolicyManager(sessionHelperSupplier),errorMessageProvider);
+    modelRepository.setRepositorySessionHelperSupplier(sessionHelperSupplier);
     modelRepository.setApplicationEventPublisher(eventPublisher);
+    modelRepository.setModelInfoCache(modelInfoCache);
+    modelRepository.setModelReferenceIndex(modelReferenceIndex);
+    modelRepository.setPolicyCache(policyCache);
     
     return modelRepository;
   }
@@ -208,16 +277,40 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory, Applicat
   }
   
   private Supplier<RequestRepositorySessionHelper> namedWorkspaceSessionSupplier(String tenant, Authentication user) {
+    // the roles are looked up once per supplier rather than for every session
+    final Supplier<Set<Role>> rolesInTenant = new Supplier<Set<Role>>() {
+      private volatile Set<Role> roles = null;
+
+      @Override
+      public Set<Role> get() {
+        if (roles == null) {
+          roles = getUserRolesInTenant(tenant, user.getName());
+        }
+        return roles;
+      }
+    };
     return () -> {
-      if(sessionHelper == null)
-        sessionHelper = new RequestRepositorySessionHelper(false);
-      sessionHelper.setRepository(repository);
-      sessionHelper.setTenantId(tenant);
-      sessionHelper.setRolesInTenant(getUserRolesInTenant(tenant, user.getName()));
-      sessionHelper.setUser(user);
-      return sessionHelper;
+      RequestRepositorySessionHelper helper = currentSessionHelper();
+      helper.setRepository(repository);
+      helper.setTenantId(tenant);
+      helper.setRolesInTenant(rolesInTenant.get());
+      helper.setUser(user);
+      helper.setSessionPool(sessionPool);
+      return helper;
     };
   }
+
+  /**
+   * The request scoped session helper is only available while serving a request. Otherwise, e.g.
+   * in background jobs, every operation gets a helper of its own, which takes its session from the
+   * session pool if there is one.
+   */
+  private RequestRepositorySessionHelper currentSessionHelper() {
+    if (sessionHelper == null || RequestContextHolder.getRequestAttributes() == null) {
+      return new RequestRepositorySessionHelper(false);
+    }
+    return sessionHelper;
+  }
   
   private Supplier<Session> defaultWorkspaceSessionSupplier(Authentication user) {
     return () -> {
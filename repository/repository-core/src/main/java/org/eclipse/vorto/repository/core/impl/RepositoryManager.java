@@ -15,27 +15,51 @@ package org.eclipse.vorto.repository.core.impl;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.function.Supplier;
 import javax.jcr.ImportUUIDBehavior;
 import javax.jcr.RepositoryException;
 import javax.jcr.Session;
 import javax.jcr.Workspace;
+import org.apache.commons.io.input.CloseShieldInputStream;
 import org.apache.log4j.Logger;
 import org.eclipse.vorto.repository.core.FatalModelRepositoryException;
 import org.eclipse.vorto.repository.core.IRepositoryManager;
+import org.eclipse.vorto.repository.core.impl.parser.ParsedModelCache;
 
 public class RepositoryManager extends AbstractRepositoryOperation implements IRepositoryManager {
 
   private static Logger logger = Logger.getLogger(RepositoryManager.class);
   
   private Supplier<Session> defaultSessionSupplier;
+
+  private ModelInfoCache modelInfoCache = null;
+
+  private ModelReferenceIndex modelReferenceIndex = null;
+
+  private RepositorySessionPool sessionPool = null;
+
+  private ModelPolicyCache policyCache = null;
+
+  private ParsedModelCache parsedModelCache = null;
   
   @Override
   public byte[] backup() {
-    return doInSession(session -> {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    backup(baos);
+    return baos.toByteArray();
+  }
+
+  @Override
+  public void backup(OutputStream out) {
+    doInSession(session -> {
       try {
-        return backupRepository(session);
+        backupRepository(session, out);
+        return null;
       } catch (IOException e) {
         logger.error("Exception while making a backup", e);
         throw new FatalModelRepositoryException(
@@ -44,36 +68,47 @@ public class RepositoryManager extends AbstractRepositoryOperation implements IR
     });
   }
 
-  private byte[] backupRepository(Session session) throws RepositoryException, IOException {
-    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    session.exportSystemView("/", baos, false, false);
-    baos.close();
-    return baos.toByteArray();
+  private void backupRepository(Session session, OutputStream out)
+      throws RepositoryException, IOException {
+    session.exportSystemView("/", out, false, false);
   }
 
   @Override
   public void restore(byte[] data) {
+    restore(new ByteArrayInputStream(data));
+  }
+
+  @Override
+  public void restore(InputStream data) {
     doInSession(session -> {
-      byte[] oldData = null;
+      // the current data is kept on disk, so that restoring large workspaces needs no extra heap
+      Path oldData = Files.createTempFile("vorto-restore-", ".xml");
       try {
-        oldData = backupRepository(session);
-
-        logger.info("Attempting to restore backup");
-        session.getWorkspace().importXML("/", new ByteArrayInputStream(data),
-            ImportUUIDBehavior.IMPORT_UUID_COLLISION_REPLACE_EXISTING);
-        logger.info("Restored backup succesfully");
+        try (OutputStream out = Files.newOutputStream(oldData)) {
+          backupRepository(session, out);
+        }
 
-      } catch (RepositoryException | IOException e) {
-        logger.error("Backup failed. Will try to revert the restoration with previous data.", e);
         try {
-          logger.info("Reverting to old data.");
-          session.getWorkspace().importXML("/", new ByteArrayInputStream(oldData),
+          logger.info("Attempting to restore backup");
+          session.getWorkspace().importXML("/", new CloseShieldInputStream(data),
               ImportUUIDBehavior.IMPORT_UUID_COLLISION_REPLACE_EXISTING);
-          logger.info("Reverted the restoration succesfully");
-        } catch (RepositoryException | IOException ex) {
-          logger.error("Revert of restoration unsuccesfull", ex);
+          logger.info("Restored backup succesfully");
+
+        } catch (RepositoryException | IOException e) {
+          logger.error("Backup failed. Will try to revert the restoration with previous data.", e);
+          try (InputStream in = Files.newInputStream(oldData)) {
+            logger.info("Reverting to old data.");
+            session.getWorkspace().importXML("/", in,
+                ImportUUIDBehavior.IMPORT_UUID_COLLISION_REPLACE_EXISTING);
+            logger.info("Reverted the restoration succesfully");
+          } catch (RepositoryException | IOException ex) {
+            logger.error("Revert of restoration unsuccesfull", ex);
+          }
+          throw e;
         }
-        throw e;
+      } finally {
+        Files.deleteIfExists(oldData);
+        invalidateTenant(session.getWorkspace().getName());
       }
       return null;
     });
@@ -116,10 +151,50 @@ public class RepositoryManager extends AbstractRepositoryOperation implements IR
     return doInSession(session -> {
       Workspace workspace = session.getWorkspace();
       workspace.deleteWorkspace(tenantId);
+      invalidateTenant(tenantId);
       return true;
     });
   }
 
+  private void invalidateTenant(String tenantId) {
+    if (modelInfoCache != null) {
+      modelInfoCache.invalidateTenant(tenantId);
+    }
+    if (modelReferenceIndex != null) {
+      modelReferenceIndex.invalidateTenant(tenantId);
+    }
+    if (sessionPool != null) {
+      sessionPool.invalidateTenant(tenantId);
+    }
+    if (policyCache != null) {
+      policyCache.invalidateTenant(tenantId);
+    }
+    if (parsedModelCache != null) {
+      // parsed models are not kept per tenant
+      parsedModelCache.clear();
+    }
+  }
+
+  public void setModelInfoCache(ModelInfoCache modelInfoCache) {
+    this.modelInfoCache = modelInfoCache;
+  }
+
+  public void setModelReferenceIndex(ModelReferenceIndex modelReferenceIndex) {
+    this.modelReferenceIndex = modelReferenceIndex;
+  }
+
+  public void setSessionPool(RepositorySessionPool sessionPool) {
+    this.sessionPool = sessionPool;
+  }
+
+  public void setPolicyCache(ModelPolicyCache policyCache) {
+    this.policyCache = policyCache;
+  }
+
+  public void setParsedModelCache(ParsedModelCache parsedModelCache) {
+    this.parsedModelCache = parsedModelCache;
+  }
+
   public Supplier<Session> getDefaultSessionSupplier() {
     return defaultSessionSupplier;
   }
@@ -0,0 +1,341 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import javax.jcr.Repository;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import org.apache.log4j.Logger;
+import org.eclipse.vorto.repository.core.security.SpringSecurityCredentials;
+import org.eclipse.vorto.repository.domain.Role;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pool of ModeShape sessions for work outside of an HTTP request, e.g. background jobs, which
+ * would otherwise log in for every single repository operation.<br/>
+ * Sessions are pooled per tenant and principal, i.e. user name, authorities and roles in the
+ * tenant, so that a pooled session is only ever reused with the same permissions. A session is
+ * lent to one borrower at a time, which makes the pool safe to use from several threads although
+ * sessions themselves are not thread-safe. Unsaved changes are discarded when a session is
+ * returned.<br/>
+ * The number of idle sessions is bounded in total and per principal, and idle sessions are logged
+ * out after a configurable time. Logins and reuses are published as metrics.
+ */
+@Component
+public class RepositorySessionPool implements PublicMetrics {
+
+  private static final Logger logger = Logger.getLogger(RepositorySessionPool.class);
+
+  private final int maxIdlePerKey;
+
+  private final int maxIdle;
+
+  private final long idleTimeoutMillis;
+
+  private final Map<Key, Deque<IdleSession>> idle = new HashMap<>();
+
+  private final Map<Session, Key> borrowed = new IdentityHashMap<>();
+
+  private int idleCount = 0;
+
+  private final AtomicLong logins = new AtomicLong();
+
+  private final AtomicLong reuses = new AtomicLong();
+
+  @Autowired
+  public RepositorySessionPool(@Value("${repo.session.pool.maxIdlePerKey:4}") int maxIdlePerKey,
+      @Value("${repo.session.pool.maxIdle:64}") int maxIdle,
+      @Value("${repo.session.pool.idleTimeoutSeconds:300}") long idleTimeoutSeconds) {
+    this.maxIdlePerKey = maxIdlePerKey;
+    this.maxIdle = maxIdle;
+    this.idleTimeoutMillis = TimeUnit.SECONDS.toMillis(idleTimeoutSeconds);
+  }
+
+  /**
+   * Logs into the repository without pooling the session, but records the login in the metrics
+   */
+  public Session login(Repository repository, String tenantId, Authentication user,
+      Set<Role> rolesInTenant) throws RepositoryException {
+    Session session =
+        repository.login(new SpringSecurityCredentials(user, rolesInTenant), tenantId);
+    logins.incrementAndGet();
+    return session;
+  }
+
+  /**
+   * Borrows an idle session of the given principal or logs in if there is none. Borrowed sessions
+   * must be handed back with {@link #release(Session)}.
+   */
+  public Session borrow(Repository repository, String tenantId, Authentication user,
+      Set<Role> rolesInTenant) throws RepositoryException {
+    Key key = new Key(tenantId, user, rolesInTenant);
+    Session session = pollIdle(key);
+    if (session != null) {
+      reuses.incrementAndGet();
+    } else {
+      session = login(repository, tenantId, user, rolesInTenant);
+    }
+    synchronized (this) {
+      borrowed.put(session, key);
+    }
+    return session;
+  }
+
+  /**
+   * Hands a borrowed session back to the pool. Sessions that have not been borrowed from the pool
+   * are logged out.
+   */
+  public void release(Session session) {
+    Key key;
+    synchronized (this) {
+      key = borrowed.remove(session);
+    }
+    if (key == null || !session.isLive()) {
+      logout(session);
+      return;
+    }
+
+    try {
+      if (session.hasPendingChanges()) {
+        session.refresh(false);
+      }
+    } catch (RepositoryException e) {
+      logger.warn("Could not discard pending changes of a pooled session", e);
+      logout(session);
+      return;
+    }
+
+    Session evicted = null;
+    synchronized (this) {
+      Deque<IdleSession> sessions = idle.computeIfAbsent(key, k -> new ArrayDeque<>());
+      if (sessions.size() >= maxIdlePerKey) {
+        evicted = session;
+      } else {
+        sessions.push(new IdleSession(session, System.currentTimeMillis()));
+        idleCount++;
+        if (idleCount > maxIdle) {
+          evicted = removeOldestIdle();
+        }
+      }
+    }
+    if (evicted != null) {
+      logout(evicted);
+    }
+  }
+
+  private Session pollIdle(Key key) {
+    long now = System.currentTimeMillis();
+    Collection<Session> expired = new ArrayList<>();
+    Session session = null;
+    synchronized (this) {
+      Deque<IdleSession> sessions = idle.get(key);
+      while (session == null && sessions != null && !sessions.isEmpty()) {
+        IdleSession candidate = sessions.pop();
+        idleCount--;
+        if (candidate.isExpired(now, idleTimeoutMillis) || !candidate.session.isLive()) {
+          expired.add(candidate.session);
+        } else {
+          session = candidate.session;
+        }
+      }
+      expired.addAll(removeExpiredIdle(now));
+    }
+    expired.forEach(this::logout);
+    return session;
+  }
+
+  private Collection<Session> removeExpiredIdle(long now) {
+    Collection<Session> expired = new ArrayList<>();
+    Iterator<Deque<IdleSession>> keys = idle.values().iterator();
+    while (keys.hasNext()) {
+      Deque<IdleSession> sessions = keys.next();
+      // the oldest sessions are at the end of the deque
+      while (!sessions.isEmpty() && sessions.peekLast().isExpired(now, idleTimeoutMillis)) {
+        expired.add(sessions.removeLast().session);
+        idleCount--;
+      }
+      if (sessions.isEmpty()) {
+        keys.remove();
+      }
+    }
+    return expired;
+  }
+
+  private Session removeOldestIdle() {
+    Deque<IdleSession> oldest = null;
+    for (Deque<IdleSession> sessions : idle.values()) {
+      if (!sessions.isEmpty() && (oldest == null
+          || sessions.peekLast().idleSince < oldest.peekLast().idleSince)) {
+        oldest = sessions;
+      }
+    }
+    if (oldest == null) {
+      return null;
+    }
+    idleCount--;
+    return oldest.removeLast().session;
+  }
+
+  private void logout(Session session) {
+    try {
+      session.logout();
+    } catch (RuntimeException e) {
+      logger.warn("Error while logging out a repository session", e);
+    }
+  }
+
+  /**
+   * Logs out all idle sessions of the given tenant, e.g. because its workspace has been removed or
+   * restored
+   */
+  public void invalidateTenant(String tenantId) {
+    Collection<Session> sessions = new ArrayList<>();
+    synchronized (this) {
+      Iterator<Map.Entry<Key, Deque<IdleSession>>> entries = idle.entrySet().iterator();
+      while (entries.hasNext()) {
+        Map.Entry<Key, Deque<IdleSession>> entry = entries.next();
+        if (Objects.equals(tenantId, entry.getKey().getTenantId())) {
+          entry.getValue().forEach(idleSession -> sessions.add(idleSession.session));
+          idleCount -= entry.getValue().size();
+          entries.remove();
+        }
+      }
+    }
+    sessions.forEach(this::logout);
+  }
+
+  /**
+   * Logs out all idle sessions
+   */
+  @PreDestroy
+  public void close() {
+    Collection<Session> sessions = new ArrayList<>();
+    synchronized (this) {
+      idle.values()
+          .forEach(deque -> deque.forEach(idleSession -> sessions.add(idleSession.session)));
+      idle.clear();
+      idleCount = 0;
+    }
+    sessions.forEach(this::logout);
+  }
+
+  public long getLogins() {
+    return logins.get();
+  }
+
+  public long getReuses() {
+    return reuses.get();
+  }
+
+  public synchronized int getIdleCount() {
+    return idleCount;
+  }
+
+  public synchronized int getBorrowedCount() {
+    return borrowed.size();
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    Collection<Metric<?>> metrics = new ArrayList<>();
+    metrics.add(new Metric<Long>("counter.repository.sessions.logins", getLogins()));
+    metrics.add(new Metric<Long>("counter.repository.sessions.reused", getReuses()));
+    metrics.add(new Metric<Integer>("gauge.repository.sessions.idle", getIdleCount()));
+    metrics.add(new Metric<Integer>("gauge.repository.sessions.borrowed", getBorrowedCount()));
+    return metrics;
+  }
+
+  /**
+   * Tenant and principal a session has been logged in for
+   */
+  static final class Key {
+
+    private final String tenantId;
+
+    private final String userName;
+
+    private final Set<String> authorities;
+
+    private final Set<Role> rolesInTenant;
+
+    Key(String tenantId, Authentication user, Set<Role> rolesInTenant) {
+      this.tenantId = tenantId;
+      this.userName = user != null ? user.getName() : null;
+      this.authorities = user != null
+          ? user.getAuthorities().stream().map(GrantedAuthority::getAuthority)
+              .collect(Collectors.toSet())
+          : Collections.emptySet();
+      this.rolesInTenant = rolesInTenant;
+    }
+
+    String getTenantId() {
+      return tenantId;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(tenantId, userName, authorities, rolesInTenant);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return Objects.equals(tenantId, other.tenantId) && Objects.equals(userName, other.userName)
+          && authorities.equals(other.authorities)
+          && Objects.equals(rolesInTenant, other.rolesInTenant);
+    }
+  }
+
+  private static final class IdleSession {
+
+    private final Session session;
+
+    private final long idleSince;
+
+    IdleSession(Session session, long idleSince) {
+      this.session = session;
+      this.idleSince = idleSince;
+    }
+
+    boolean isExpired(long now, long timeoutMillis) {
+      return now - idleSince > timeoutMillis;
+    }
+  }
+}
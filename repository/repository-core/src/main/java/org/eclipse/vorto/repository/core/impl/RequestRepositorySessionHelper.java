@@ -36,12 +36,13 @@ public class RequestRepositorySessionHelper implements DisposableBean, Initializ
 
     private static final Logger myLogger = Logger.getLogger(RequestRepositorySessionHelper.class);
 
-    private Map<String, Session> repositorySessionMap;
+    private Map<RepositorySessionPool.Key, Session> repositorySessionMap;
     private String tenantId;
     private Authentication user;
     private Repository repository;
     private Set<Role> roleSet;
     private Supplier<Session> internalSessionSupplier;
+    private RepositorySessionPool sessionPool;
 
     public RequestRepositorySessionHelper() {
         this(true);
@@ -65,6 +66,9 @@ public class RequestRepositorySessionHelper implements DisposableBean, Initializ
         } else {
             internalSessionSupplier = () -> {
                 try {
+                    if (sessionPool != null) {
+                        return sessionPool.borrow(repository, tenantId, user, roleSet);
+                    }
                     return login(tenantId, user);
                 } catch (RepositoryException e) {
                     throw new FatalModelRepositoryException("Error while getting repository given tenant ["
@@ -84,7 +88,7 @@ public class RequestRepositorySessionHelper implements DisposableBean, Initializ
     }
 
     private void logoutAssociatedRepositorySessions() {
-        for (Map.Entry<String, Session> entry : this.repositorySessionMap.entrySet()) {
+        for (Map.Entry<RepositorySessionPool.Key, Session> entry : this.repositorySessionMap.entrySet()) {
             myLogger.debug("logging out session: " + entry.getValue().getUserID() +
                     " session live: " + entry.getValue().isLive());
             entry.getValue().logout();
@@ -102,16 +106,21 @@ public class RequestRepositorySessionHelper implements DisposableBean, Initializ
     }
 
     private synchronized Session getSessionInternal(String tenant, Authentication user) throws RepositoryException {
+        // sessions are kept per principal, as the same request may also use elevated sessions
+        RepositorySessionPool.Key key = new RepositorySessionPool.Key(tenant, user, roleSet);
         Session mySession;
-        mySession = this.repositorySessionMap.get(tenant);
+        mySession = this.repositorySessionMap.get(key);
         if (mySession == null || !mySession.isLive()) {
             mySession = login(tenant, user);
-            this.repositorySessionMap.put(tenant, mySession);
+            this.repositorySessionMap.put(key, mySession);
         }
         return mySession;
     }
 
     private Session login(String tenant, Authentication user) throws RepositoryException {
+        if (sessionPool != null) {
+            return sessionPool.login(repository, tenant, user, roleSet);
+        }
         return repository.login(
                 new SpringSecurityCredentials(user, roleSet),
                 tenant);
@@ -120,9 +129,13 @@ public class RequestRepositorySessionHelper implements DisposableBean, Initializ
     public void logoutSessionIfNotReusable(Session session) {
         // if the session is in the session map - do not logout the session. It will be logged out
         //  after the request is finished.
-        if (this.repositorySessionMap != null && this.repositorySessionMap.get(tenantId) != null)
+        if (this.repositorySessionMap != null && this.repositorySessionMap.containsValue(session))
             return;
-        session.logout();
+        if (sessionPool != null) {
+            sessionPool.release(session);
+        } else {
+            session.logout();
+        }
     }
 
     public void setTenantId(String tenant) {
@@ -148,4 +161,16 @@ public class RequestRepositorySessionHelper implements DisposableBean, Initializ
     public void setRolesInTenant(Set<Role> userRolesInTenant) {
         this.roleSet = userRolesInTenant;
     }
+
+    public RepositorySessionPool getSessionPool() {
+        return sessionPool;
+    }
+
+    /**
+     * Sessions of helpers that are not bound to a request are borrowed from the given pool instead
+     * of logging in for every operation. Helpers bound to a request only record their logins.
+     */
+    public void setSessionPool(RepositorySessionPool sessionPool) {
+        this.sessionPool = sessionPool;
+    }
 }
@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -48,19 +49,25 @@ import com.google.inject.Injector;
 public abstract class AbstractModelParser implements IModelParser {
 
   private String fileName;
+  private IModelRepositoryFactory repositoryFactory;
+  private ParsedModelCache parsedModelCache;
   private LocalModelWorkspace workspace;
   private ErrorMessageProvider errorMessageProvider;
   private boolean isValidationEnabled = false;
 
   public AbstractModelParser(String fileName, IModelRepositoryFactory repositoryFactory) {
     this.fileName = fileName;
-    this.workspace = new LocalModelWorkspace(repositoryFactory);
+    this.repositoryFactory = repositoryFactory;
   }
 
   @Override
   public ModelInfo parse(InputStream is) {
     Injector injector = getInjector();
 
+    if (workspace == null) {
+      workspace = new LocalModelWorkspace(repositoryFactory, Collections.emptyList(),
+          parsedModelCache);
+    }
     XtextResourceSet resourceSet = workspace.getResourceSet();
 
     Resource resource = createResource(fileName, getContent(is), resourceSet)
@@ -114,6 +121,15 @@ public abstract class AbstractModelParser implements IModelParser {
     return this;
   }
   
+  /**
+   * Sets the cache the released references of the parsed model are taken from. Has no effect on
+   * a workspace that has been set explicitly.
+   */
+  public IModelParser setParsedModelCache(ParsedModelCache parsedModelCache) {
+    this.parsedModelCache = parsedModelCache;
+    return this;
+  }
+
   public IModelParser enableValidation() {
     this.isValidationEnabled = true;
     return this;
@@ -12,8 +12,8 @@
  */
 package org.eclipse.vorto.repository.core.impl.parser;
 
-import org.eclipse.vorto.editor.functionblock.FunctionblockStandaloneSetup;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
+import org.eclipse.vorto.utilities.reader.DslInjectors;
 import com.google.inject.Injector;
 
 /**
@@ -27,6 +27,6 @@ public class FunctionblockModelParser extends AbstractModelParser {
 
   @Override
   protected Injector getInjector() {
-    return new FunctionblockStandaloneSetup().createInjectorAndDoEMFRegistration();
+    return DslInjectors.functionblock();
   }
 }
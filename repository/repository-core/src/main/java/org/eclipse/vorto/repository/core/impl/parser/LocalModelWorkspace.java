@@ -14,9 +14,16 @@ package org.eclipse.vorto.repository.core.impl.parser;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -25,15 +32,16 @@ import java.util.stream.Collectors;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.vorto.core.api.model.model.Model;
-import org.eclipse.vorto.editor.mapping.MappingStandaloneSetup;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.FileContent;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
+import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.core.ModelNotFoundException;
 import org.eclipse.vorto.repository.core.impl.validation.ValidationException;
-import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.vorto.repository.web.core.exceptions.NotAuthorizedException;
+import org.eclipse.vorto.utilities.reader.DslInjectors;
+import org.eclipse.xtext.EcoreUtil2;
 import org.eclipse.xtext.resource.XtextResourceSet;
-import com.google.inject.Injector;
 
 public class LocalModelWorkspace {
 
@@ -43,6 +51,28 @@ public class LocalModelWorkspace {
 
   private IModelRepositoryFactory repoFactory;
 
+  private ParsedModelCache parsedModelCache;
+
+  private final ParsedModelCache.ModelLoader releasedModelLoader =
+      new ParsedModelCache.ModelLoader() {
+
+        @Override
+        public boolean isReleased(ModelId modelId) {
+          try {
+            return repoFactory.getRepositoryByModel(modelId).getMinimalInfo(modelId)
+                .map(ModelInfo::isReleased).orElse(false);
+          } catch (ModelNotFoundException | NotAuthorizedException e) {
+            return false;
+          }
+        }
+
+        @Override
+        public Optional<FileContent> load(ModelId modelId) {
+          return repoFactory.getRepositoryByModel(modelId).getFileContent(modelId,
+              Optional.empty());
+        }
+      };
+
   static {
     // injector = Guice.createInjector(Modules2.mixin(new DatatypeRuntimeModule(),
     // new FunctionblockRuntimeModule(),
@@ -52,12 +82,18 @@ public class LocalModelWorkspace {
   }
 
   public LocalModelWorkspace(IModelRepositoryFactory repositoryFactory, Collection<FileContent> files) {
-    Injector injector = new MappingStandaloneSetup().createInjectorAndDoEMFRegistration();
-    resourceSet = injector.getInstance(XtextResourceSet.class);
-    resourceSet.addLoadOption(XtextResource.OPTION_RESOLVE_ALL, Boolean.TRUE);
-    resourceSet.addLoadOption(XtextResource.OPTION_ENCODING, "UTF-8");
+    this(repositoryFactory, files, null);
+  }
+
+  /**
+   * @param parsedModelCache cache released references are attached from, may be null
+   */
+  public LocalModelWorkspace(IModelRepositoryFactory repositoryFactory,
+      Collection<FileContent> files, ParsedModelCache parsedModelCache) {
+    resourceSet = DslInjectors.newResourceSet();
 
     this.repoFactory = repositoryFactory;
+    this.parsedModelCache = parsedModelCache;
     
     this.load(files);
   }
@@ -76,15 +112,7 @@ public class LocalModelWorkspace {
     return dependencies.stream().map(fileContent -> {
       Optional<Resource> maybeDependency =
           createResource(fileContent.getFileName(), fileContent.getContent(), resourceSet);
-      return maybeDependency.flatMap(dependency -> {
-        Model dependencyModel = (Model) dependency.getContents().get(0);
-        if (dependencyModel.getName() != null && dependencyModel.getNamespace() != null
-            && dependencyModel.getVersion() != null) {
-          return Optional.of(new ModelId(dependencyModel.getName(), dependencyModel.getNamespace(),
-              dependencyModel.getVersion()));
-        }
-        return Optional.empty();
-      }).orElse(null);
+      return maybeDependency.flatMap(ResourceCopies::getModelId).orElse(null);
     }).collect(Collectors.toList());
   }
 
@@ -114,10 +142,19 @@ public class LocalModelWorkspace {
   }
 
   public void loadFromRepository(Collection<ModelId> modelIds) {
-    Collection<ModelId> allReferences = modelIds;
-    allReferences.removeAll(this.modelIds);
-    allReferences.forEach(refModelId -> {
+    for (ModelId refModelId : modelIds) {
+      if (this.modelIds.contains(refModelId)) {
+        continue;
+      }
       try {
+        Set<ModelId> attached = parsedModelCache != null
+            ? parsedModelCache.attach(refModelId, resourceSet, releasedModelLoader)
+            : Collections.emptySet();
+        if (!attached.isEmpty()) {
+          // the references of released models are attached as well
+          this.modelIds.addAll(attached);
+          continue;
+        }
         repoFactory.getRepositoryByModel(refModelId)
             .getFileContent(refModelId, Optional.empty()).ifPresent(refFile -> {
               createResource(refFile.getFileName(), refFile.getContent(), resourceSet);
@@ -125,15 +162,72 @@ public class LocalModelWorkspace {
       } catch (ModelNotFoundException notFoundException) {
         throw new ValidationException("Could not find reference "+refModelId.getPrettyFormat(), null);
       }
-    });
-    // add references, so that they are not looked up again
-    this.modelIds.addAll(allReferences);
+      // add reference, so that it is not looked up again
+      this.modelIds.add(refModelId);
+    }
+  }
+
+  /**
+   * Attaches copies of all models of the given workspace to this workspace, so that they are
+   * neither parsed nor loaded from the repository again. Models that are already in this workspace
+   * are not copied again. The models of the given workspace are expected to be linked already, see
+   * {@link #resolveAll()}.
+   *
+   * @param source workspace to copy the models from
+   */
+  public void addModels(LocalModelWorkspace source) {
+    List<Resource> copies;
+    synchronized (source) {
+      copies = ResourceCopies.copyMissing(new ArrayList<>(source.resourceSet.getResources()),
+          resourceSet);
+    }
+    copies.forEach(copy -> ResourceCopies.getModelId(copy).ifPresent(modelIds::add));
+  }
+
+  /**
+   * Same as {@link #addModels(LocalModelWorkspace)}, but only attaches the given models of the
+   * given workspace and the models of the given workspace they reference directly or indirectly
+   *
+   * @param source workspace to copy the models from
+   * @param modelIds models to attach, models that are not in the given workspace are ignored
+   */
+  public void addModels(LocalModelWorkspace source, Collection<ModelId> modelIds) {
+    List<Resource> copies;
+    synchronized (source) {
+      Map<ModelId, Resource> sourceResources = new HashMap<>();
+      for (Resource resource : source.resourceSet.getResources()) {
+        ResourceCopies.getModelId(resource)
+            .ifPresent(modelId -> sourceResources.putIfAbsent(modelId, resource));
+      }
+
+      Map<ModelId, Resource> resources = new LinkedHashMap<>();
+      Deque<ModelId> pending = new ArrayDeque<>(modelIds);
+      while (!pending.isEmpty()) {
+        ModelId modelId = pending.poll();
+        Resource resource = sourceResources.get(modelId);
+        if (resource != null && resources.putIfAbsent(modelId, resource) == null) {
+          pending.addAll(getReferences((Model) resource.getContents().get(0)));
+        }
+      }
+      copies = ResourceCopies.copyMissing(resources.values(), resourceSet);
+    }
+    copies.forEach(copy -> ResourceCopies.getModelId(copy).ifPresent(this.modelIds::add));
+  }
+
+  private static Collection<ModelId> getReferences(Model model) {
+    return model.getReferences().stream().map(
+        modelRef -> ModelId.fromReference(modelRef.getImportedNamespace(), modelRef.getVersion()))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Resolves all references between the models of this workspace
+   */
+  public synchronized void resolveAll() {
+    EcoreUtil2.resolveAll(resourceSet);
   }
 
   public XtextResourceSet getResourceSet() {
     return this.resourceSet;
   }
-  
-  
-
 }
@@ -18,10 +18,8 @@ import org.eclipse.vorto.core.api.model.functionblock.FunctionblockPackage;
 import org.eclipse.vorto.core.api.model.informationmodel.InformationModelPackage;
 import org.eclipse.vorto.core.api.model.mapping.MappingPackage;
 import org.eclipse.vorto.core.api.model.model.ModelType;
-import org.eclipse.vorto.editor.functionblock.FunctionblockStandaloneSetup;
-import org.eclipse.vorto.editor.infomodel.InformationModelStandaloneSetup;
-import org.eclipse.vorto.editor.mapping.MappingStandaloneSetup;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
+import org.eclipse.vorto.utilities.reader.DslInjectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -39,6 +37,9 @@ public class ModelParserFactory {
   @Autowired
   private IModelRepositoryFactory modelRepoFactory;
 
+  @Autowired(required = false)
+  private ParsedModelCache parsedModelCache;
+
   @PostConstruct
   public void init() {
     if (!isInit) {
@@ -53,14 +54,16 @@ public class ModelParserFactory {
     InformationModelPackage.eINSTANCE.eClass();
     MappingPackage.eINSTANCE.eClass();
 
-    FunctionblockStandaloneSetup.doSetup();
-    InformationModelStandaloneSetup.doSetup();
-    MappingStandaloneSetup.doSetup();
+    DslInjectors.warmUp();
 
     this.isInit = true;
   }
 
   public IModelParser getParser(String fileName) {
+    return createParser(fileName).setParsedModelCache(parsedModelCache);
+  }
+
+  private AbstractModelParser createParser(String fileName) {
     if (fileName.endsWith(ModelType.Datatype.getExtension())) {
       return new DatatypeModelParser(fileName,modelRepoFactory);
     } else if (fileName.endsWith(ModelType.Functionblock.getExtension())) {
@@ -92,4 +95,12 @@ public class ModelParserFactory {
   public void setModelRepositoryFactory(IModelRepositoryFactory modelRepoFactory) {
     this.modelRepoFactory = modelRepoFactory;
   }
+
+  public ParsedModelCache getParsedModelCache() {
+    return parsedModelCache;
+  }
+
+  public void setParsedModelCache(ParsedModelCache parsedModelCache) {
+    this.parsedModelCache = parsedModelCache;
+  }
 }
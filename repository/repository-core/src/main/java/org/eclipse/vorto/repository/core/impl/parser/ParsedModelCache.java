@@ -0,0 +1,242 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.vorto.core.api.model.model.Model;
+import org.eclipse.vorto.core.api.model.model.ModelReference;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.core.FileContent;
+import org.eclipse.vorto.utilities.reader.DslInjectors;
+import org.eclipse.xtext.EcoreUtil2;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Size bounded cache of parsed and linked released models, i.e. of models whose content can no
+ * longer change. It saves parsing and linking the released models that are referenced by every
+ * model that is parsed, validated or imported.
+ *
+ * Every cached model is kept in a resource set of its own, together with all models it references
+ * directly or indirectly, so that all of its references are resolved. As EMF objects belong to a
+ * single resource set and callers are free to modify what they parse, the cache never hands out
+ * the cached objects, but attaches copies of them to the resource set of the caller. Models that
+ * are already in the resource set of the caller are not attached again.
+ *
+ * Entries are invalidated when a model they contain changes or is deleted. They also expire after
+ * a configurable time, which bounds how long changes made by other instances of the repository can
+ * go unnoticed.
+ */
+@Component
+public class ParsedModelCache {
+
+  private final int maxEntries;
+
+  private final long ttlMillis;
+
+  private final LinkedHashMap<ModelId, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  private long generation = 0;
+
+  @Autowired
+  public ParsedModelCache(@Value("${repo.cache.parsedModels.maxEntries:1000}") int maxEntries,
+      @Value("${repo.cache.parsedModels.ttlSeconds:3600}") long ttlSeconds) {
+    this.maxEntries = maxEntries;
+    this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+  }
+
+  /**
+   * Attaches copies of the given released model and of all models it references to the given
+   * resource set, unless they are already in the resource set. The model is parsed and cached if
+   * it is not cached yet.
+   *
+   * @param modelId model to attach
+   * @param target resource set of the caller
+   * @param loader reads released models on behalf of the caller
+   * @return IDs of the given model and of all models it references directly or indirectly, empty
+   *         if the model, or one of the models it references, is not released or cannot be read by
+   *         the caller, in which case nothing has been attached
+   */
+  public Set<ModelId> attach(ModelId modelId, ResourceSet target, ModelLoader loader) {
+    Entry entry = get(modelId);
+    if (entry != null) {
+      // the entry may have been parsed on behalf of a caller with different permissions
+      if (!entry.modelIds.stream().allMatch(loader::isReleased)) {
+        return Collections.emptySet();
+      }
+    } else {
+      entry = parse(modelId, loader);
+      if (entry == null) {
+        return Collections.emptySet();
+      }
+    }
+    entry.copyTo(target);
+    return Collections.unmodifiableSet(entry.modelIds);
+  }
+
+  private synchronized Entry get(ModelId modelId) {
+    Entry entry = entries.get(modelId);
+    if (entry != null && entry.isExpired(System.currentTimeMillis())) {
+      entries.remove(modelId);
+      return null;
+    }
+    return entry;
+  }
+
+  private Entry parse(ModelId modelId, ModelLoader loader) {
+    long generation = getGeneration();
+    XtextResourceSet resourceSet = DslInjectors.newResourceSet();
+    List<Resource> resources = new ArrayList<>();
+    Set<ModelId> modelIds = new LinkedHashSet<>();
+    Deque<ModelId> pending = new ArrayDeque<>(Collections.singleton(modelId));
+    while (!pending.isEmpty()) {
+      ModelId current = pending.poll();
+      if (!modelIds.add(current)) {
+        continue;
+      }
+      if (!loader.isReleased(current)) {
+        return null;
+      }
+      Optional<FileContent> content = loader.load(current);
+      Resource resource = content.isPresent()
+          ? load(resourceSet, content.get().getFileName(), content.get().getContent())
+          : null;
+      if (resource == null) {
+        return null;
+      }
+      resources.add(resource);
+      Model model = (Model) resource.getContents().get(0);
+      for (ModelReference reference : model.getReferences()) {
+        pending.add(ModelId.fromReference(reference.getImportedNamespace(),
+            reference.getVersion()));
+      }
+    }
+    EcoreUtil2.resolveAll(resourceSet);
+
+    Entry entry = new Entry(resources, modelIds, System.currentTimeMillis() + ttlMillis);
+    put(modelId, entry, generation);
+    return entry;
+  }
+
+  /**
+   * @return the loaded resource or null if the content cannot be parsed without errors
+   */
+  private static Resource load(XtextResourceSet resourceSet, String fileName, byte[] content) {
+    Resource resource = resourceSet.createResource(URI.createURI(createFileName(fileName)));
+    if (resource == null) {
+      return null;
+    }
+    try {
+      resource.load(new ByteArrayInputStream(content), resourceSet.getLoadOptions());
+    } catch (IOException e) {
+      return null;
+    }
+    return !resource.getContents().isEmpty() && resource.getErrors().isEmpty() ? resource : null;
+  }
+
+  private static String createFileName(String fileName) {
+    return "dummy:/file-" + UUID.randomUUID().toString().replace("-", "") + "-" + fileName;
+  }
+
+  private synchronized void put(ModelId modelId, Entry entry, long generation) {
+    if (generation != this.generation) {
+      return;
+    }
+    entries.put(modelId, entry);
+    Iterator<Entry> iterator = entries.values().iterator();
+    while (entries.size() > maxEntries && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+    }
+  }
+
+  private synchronized long getGeneration() {
+    return generation;
+  }
+
+  /**
+   * Removes all entries that contain the given model
+   */
+  public synchronized void invalidate(ModelId modelId) {
+    generation++;
+    entries.values().removeIf(entry -> entry.modelIds.contains(modelId));
+  }
+
+  public synchronized void clear() {
+    generation++;
+    entries.clear();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Reads released models on behalf of the caller of the cache
+   */
+  public interface ModelLoader {
+
+    /**
+     * @param modelId model to check
+     * @return true if the model is released or deprecated and can be read by the caller
+     */
+    boolean isReleased(ModelId modelId);
+
+    /**
+     * @param modelId released model
+     * @return file content of the model or empty if the model does not exist
+     */
+    Optional<FileContent> load(ModelId modelId);
+  }
+
+  private static final class Entry {
+
+    private final List<Resource> resources;
+
+    private final Set<ModelId> modelIds;
+
+    private final long expiresAt;
+
+    Entry(List<Resource> resources, Set<ModelId> modelIds, long expiresAt) {
+      this.resources = resources;
+      this.modelIds = modelIds;
+      this.expiresAt = expiresAt;
+    }
+
+    boolean isExpired(long now) {
+      return now > expiresAt;
+    }
+
+    synchronized void copyTo(ResourceSet target) {
+      ResourceCopies.copyMissing(resources, target);
+    }
+  }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl.parser;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.vorto.core.api.model.model.Model;
+import org.eclipse.vorto.model.ModelId;
+
+/**
+ * Copies parsed and linked models into another resource set, as EMF objects can only belong to a
+ * single resource set.
+ */
+final class ResourceCopies {
+
+  private ResourceCopies() {}
+
+  /**
+   * Copies the models of the given resources that are not in the target resource set yet with a
+   * single copier, so that the references between the copies are resolved the same way as
+   * between the given resources. References to models that are already in the target are linked
+   * to the models of the target instead, so that the target never contains a model twice.
+   * Proxies are copied as they are.
+   *
+   * @param resources resources to copy
+   * @param target resource set the copies are attached to
+   * @return the copies
+   */
+  static List<Resource> copyMissing(Collection<Resource> resources, ResourceSet target) {
+    Map<ModelId, Resource> present = new HashMap<>();
+    for (Resource resource : target.getResources()) {
+      getModelId(resource).ifPresent(modelId -> present.putIfAbsent(modelId, resource));
+    }
+
+    Map<Resource, Resource> presentResources = new HashMap<>();
+    List<Resource> missing = new ArrayList<>();
+    for (Resource resource : resources) {
+      Resource presentResource = getModelId(resource).map(present::get).orElse(null);
+      if (presentResource != null) {
+        presentResources.put(resource, presentResource);
+      } else {
+        missing.add(resource);
+      }
+    }
+
+    EcoreUtil.Copier copier = new EcoreUtil.Copier(false) {
+
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      public EObject get(Object key) {
+        EObject copy = super.get(key);
+        if (copy == null && key instanceof EObject) {
+          // both models are parsed from the same content, so their objects have the same paths
+          Resource resource = ((EObject) key).eResource();
+          Resource presentResource = presentResources.get(resource);
+          if (presentResource != null) {
+            copy = presentResource.getEObject(resource.getURIFragment((EObject) key));
+          }
+        }
+        return copy;
+      }
+    };
+
+    List<Collection<EObject>> contents = new ArrayList<>();
+    for (Resource resource : missing) {
+      contents.add(copier.copyAll(resource.getContents()));
+    }
+    copier.copyReferences();
+
+    List<Resource> copies = new ArrayList<>();
+    int i = 0;
+    for (Resource resource : missing) {
+      String fileName = "file-" + UUID.randomUUID().toString().replace("-", "") + "."
+          + resource.getURI().fileExtension();
+      Resource copy = target.createResource(URI.createURI("dummy:/" + fileName));
+      copy.getContents().addAll(contents.get(i++));
+      copies.add(copy);
+    }
+    return copies;
+  }
+
+  /**
+   * @return ID of the model of the given resource, empty if the resource has no model or the
+   *         model is incomplete
+   */
+  static Optional<ModelId> getModelId(Resource resource) {
+    if (resource.getContents().isEmpty()) {
+      return Optional.empty();
+    }
+    Model model = (Model) resource.getContents().get(0);
+    if (model.getName() != null && model.getNamespace() != null && model.getVersion() != null) {
+      return Optional.of(new ModelId(model.getName(), model.getNamespace(), model.getVersion()));
+    }
+    return Optional.empty();
+  }
+}
@@ -16,21 +16,38 @@ import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.vorto.core.api.model.model.Model;
+import org.eclipse.vorto.core.api.model.model.ModelReference;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.model.ModelType;
 import org.eclipse.vorto.repository.account.IUserAccountService;
 import org.eclipse.vorto.repository.core.FatalModelRepositoryException;
 import org.eclipse.vorto.repository.core.FileContent;
+import org.eclipse.vorto.repository.core.IModelRepository;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelInfo;
@@ -48,8 +65,20 @@ import org.eclipse.vorto.repository.core.impl.validation.ValidationException;
 import org.eclipse.vorto.repository.importer.ValidationReport;
 import org.eclipse.vorto.repository.tenant.ITenantService;
 import org.eclipse.vorto.repository.web.core.exceptions.BulkUploadException;
+import org.eclipse.vorto.utilities.reader.DslInjectors;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.util.StringUtils;
 
+/**
+ * Parses and validates all models of a zip file.<br/>
+ * The models are parsed in the order of their dependencies within the zip file: every model is
+ * parsed in a workspace of its own, to which copies of the already parsed models it references are
+ * attached. Models that do not depend on each other are parsed and validated in parallel. The
+ * referenced models that are not part of the zip file are loaded from the repository once per
+ * upload.
+ */
 public class BulkUploadHelper {
 
   private IUserAccountService userRepository;
@@ -58,6 +87,8 @@ public class BulkUploadHelper {
 
   private ITenantService tenantService;
 
+  private int parallelism = Runtime.getRuntime().availableProcessors();
+
   public BulkUploadHelper(IModelRepositoryFactory modelRepoFactory,
       IUserAccountService userRepository, ITenantService tenantService, ErrorMessageProvider errorMessageProvider) {
     this.modelRepoFactory = modelRepoFactory;
@@ -67,13 +98,34 @@ public class BulkUploadHelper {
 
   public List<ValidationReport> uploadMultiple(byte[] content, String zipFileName,
       IUserContext user) {
+    if (content == null) {
+      throw new FatalModelRepositoryException("Contents of zip file are invalid", null);
+    }
+    return uploadMultiple(new ByteArrayInputStream(content), zipFileName, user);
+  }
+
+  /**
+   * Same as {@link #uploadMultiple(byte[], String, IUserContext)}, but reads the zip file from the
+   * given stream, so that the zip file does not need to be held in memory as a whole
+   */
+  public List<ValidationReport> uploadMultiple(InputStream content, String zipFileName,
+      IUserContext user) {
     if (!isValid(zipFileName)) {
       throw new FatalModelRepositoryException("Filename/type is invalid", null);
     }
+    if (content == null) {
+      throw new FatalModelRepositoryException("Contents of zip file are invalid", null);
+    }
 
-    ZipParseResult parseResult = parseZipFile(content);
+    List<FileContent> fileContents = getFileContentsFromZip(content);
 
+    // workers act on behalf of the calling user
+    ExecutorService executor = new DelegatingSecurityContextExecutorService(
+        Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, fileContents.size()))),
+        SecurityContextHolder.getContext());
     try {
+      ZipParseResult parseResult = parseZipFile(fileContents, executor);
+
       /*
        * Create mapping function that will convert from a ModelInfo to an UploadModelResult using
        * validators
@@ -85,8 +137,11 @@ public class BulkUploadHelper {
       /*
        * Convert parsed models to ValidationReport
        */
-      Set<ValidationReport> validatedModelResults = parseResult.validModels.stream()
-          .map(convertToValidationReport).collect(Collectors.toSet());
+      Set<ValidationReport> validatedModelResults = new HashSet<>(invokeAll(executor,
+          parseResult.validModels.stream()
+              .map(modelInfo -> (Callable<ValidationReport>) () -> convertToValidationReport
+                  .apply(modelInfo))
+              .collect(Collectors.toList())));
 
       /*
        * Add everything to a Set to eliminate redundancy
@@ -99,9 +154,15 @@ public class BulkUploadHelper {
 
     } catch (Exception e) {
       throw new BulkUploadException("Invalid zip file", e);
+    } finally {
+      executor.shutdownNow();
     }
   }
 
+  public void setParallelism(int parallelism) {
+    this.parallelism = parallelism;
+  }
+
   private Function<ModelInfo, ValidationReport> createConvertToUploadModelResultFn(
       List<IModelValidator> bulkUploadValidators, InvocationContext context) {
     return (modelInfo) -> {
@@ -119,47 +180,202 @@ public class BulkUploadHelper {
     Set<ModelInfo> validModels;
   }
 
-  private ZipParseResult parseZipFile(byte[] content) {
-    if (content == null) {
-      throw new FatalModelRepositoryException("Contents of zip file are invalid", null);
-    }
+  private ZipParseResult parseZipFile(List<FileContent> fileContents, ExecutorService executor)
+      throws InterruptedException, ExecutionException {
+    ZipParseResult parsingResult = new ZipParseResult();
 
+    parsingResult.invalidModels = ConcurrentHashMap.newKeySet();
+    parsingResult.validModels = ConcurrentHashMap.newKeySet();
 
-    ZipParseResult parsingResult = new ZipParseResult();
+    List<ScannedModel> scannedModels = invokeAll(executor, fileContents.stream()
+        .map(fileContent -> (Callable<ScannedModel>) () -> scan(fileContent))
+        .collect(Collectors.toList()));
 
-    parsingResult.invalidModels = new HashSet<>();
-    parsingResult.validModels = new HashSet<>();
+    List<List<ScannedModel>> levels = getLevels(scannedModels);
+    LocalModelWorkspace repositoryReferences = loadRepositoryReferences(scannedModels);
 
-    Collection<FileContent> fileContents = getFileContentsFromZip(content);
-    
-    LocalModelWorkspace workspace = new LocalModelWorkspace(modelRepoFactory,fileContents);
-    
-    
-    fileContents.forEach(fileContent -> {
-      try {
-        IModelParser parser = ModelParserFactory.instance().getParser(fileContent.getFileName());
-        parser.setWorkspace(workspace);
-        parser.enableValidation();
-        parsingResult.validModels
-            .add(parser.parse(new ByteArrayInputStream(fileContent.getContent())));
-      } catch (ValidationException grammarProblem) {
-        parsingResult.invalidModels.add(ValidationReport.invalid(
-            trytoCreateModelFromCorruptFile(fileContent.getFileName(), fileContent.getContent()),
-            grammarProblem));
-      } catch (Exception e) {
-        parsingResult.invalidModels.add(ValidationReport.invalid(
-            trytoCreateModelFromCorruptFile(fileContent.getFileName(), fileContent.getContent()),
-            "File cannot be processed to a Vorto model."));
+    // index of the last level that references a model of the zip file
+    Map<ScannedModel, Integer> lastLevels = new HashMap<>();
+    for (int i = 0; i < levels.size(); i++) {
+      for (ScannedModel scannedModel : levels.get(i)) {
+        for (ScannedModel dependency : scannedModel.dependencies) {
+          lastLevels.put(dependency, i);
+        }
       }
-    });
+    }
+
+    // workspaces of the parsed models, for the models that reference them
+    Map<ScannedModel, LocalModelWorkspace> workspaces = new ConcurrentHashMap<>();
+    for (int i = 0; i < levels.size(); i++) {
+      invokeAll(executor, levels.get(i).stream().map(scannedModel -> (Callable<Void>) () -> {
+        parse(scannedModel, workspaces, repositoryReferences, parsingResult);
+        return null;
+      }).collect(Collectors.toList()));
+
+      // release the workspaces no later level needs
+      int level = i;
+      workspaces.keySet()
+          .removeIf(scannedModel -> lastLevels.getOrDefault(scannedModel, -1) <= level);
+    }
 
     return parsingResult;
   }
 
-  private Collection<FileContent> getFileContentsFromZip(byte[] content) {
-    Collection<FileContent> fileContents = new ArrayList<FileContent>();
+  /**
+   * Loads the models that are referenced by the models of the zip file, but are not part of it,
+   * into a single workspace, so that each of them is loaded and parsed once rather than once per
+   * model that references it
+   */
+  private LocalModelWorkspace loadRepositoryReferences(List<ScannedModel> scannedModels) {
+    LocalModelWorkspace workspace = new LocalModelWorkspace(modelRepoFactory,
+        Collections.emptyList(), ModelParserFactory.instance().getParsedModelCache());
+    scannedModels.stream().flatMap(scannedModel -> scannedModel.repositoryReferences.stream())
+        .distinct().forEach(modelId -> {
+          try {
+            workspace.loadFromRepository(new ArrayList<>(Collections.singleton(modelId)));
+          } catch (RuntimeException e) {
+            // the models referencing this model load it again and report it as missing
+          }
+        });
+    try {
+      workspace.resolveAll();
+    } catch (RuntimeException e) {
+      // the references are resolved again in the workspaces of the models
+    }
+    return workspace;
+  }
+
+  private void parse(ScannedModel scannedModel, Map<ScannedModel, LocalModelWorkspace> workspaces,
+      LocalModelWorkspace repositoryReferences, ZipParseResult parsingResult) {
+    FileContent fileContent = scannedModel.fileContent;
+    LocalModelWorkspace workspace = new LocalModelWorkspace(modelRepoFactory,
+        Collections.emptyList(), ModelParserFactory.instance().getParsedModelCache());
+    scannedModel.dependencies.stream().map(workspaces::get).filter(Objects::nonNull)
+        .forEach(workspace::addModels);
+    workspace.addModels(repositoryReferences, scannedModel.repositoryReferences);
+    try {
+      IModelParser parser = ModelParserFactory.instance().getParser(fileContent.getFileName());
+      parser.setWorkspace(workspace);
+      parser.enableValidation();
+      parsingResult.validModels
+          .add(parser.parse(new ByteArrayInputStream(fileContent.getContent())));
+    } catch (ValidationException grammarProblem) {
+      parsingResult.invalidModels.add(ValidationReport.invalid(
+          trytoCreateModelFromCorruptFile(fileContent.getFileName(), fileContent.getContent()),
+          grammarProblem));
+    } catch (Exception e) {
+      parsingResult.invalidModels.add(ValidationReport.invalid(
+          trytoCreateModelFromCorruptFile(fileContent.getFileName(), fileContent.getContent()),
+          "File cannot be processed to a Vorto model."));
+    }
 
-    ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(content));
+    // models that failed validation are still offered to the models referencing them, as if all
+    // models of the zip file were parsed in a single workspace
+    try {
+      workspace.resolveAll();
+      workspaces.put(scannedModel, workspace);
+    } catch (RuntimeException e) {
+      // the models referencing this model report it as missing
+    }
+  }
+
+  /**
+   * Reads the ID and the references of a model without linking or validating it
+   */
+  private ScannedModel scan(FileContent fileContent) {
+    ScannedModel scannedModel = new ScannedModel(fileContent);
+    try {
+      XtextResourceSet resourceSet = DslInjectors.newResourceSet();
+      Resource resource =
+          resourceSet.createResource(URI.createURI("dummy:/" + fileContent.getFileName()));
+      if (resource == null) {
+        return scannedModel;
+      }
+      resource.load(new ByteArrayInputStream(fileContent.getContent()),
+          resourceSet.getLoadOptions());
+      if (resource.getContents().isEmpty()) {
+        return scannedModel;
+      }
+      Model model = (Model) resource.getContents().get(0);
+      if (model.getName() != null && model.getNamespace() != null && model.getVersion() != null) {
+        scannedModel.modelId =
+            new ModelId(model.getName(), model.getNamespace(), model.getVersion());
+      }
+      for (ModelReference reference : model.getReferences()) {
+        scannedModel.references.add(
+            ModelId.fromReference(reference.getImportedNamespace(), reference.getVersion()));
+      }
+    } catch (IOException | RuntimeException e) {
+      // the model is reported as invalid when it is parsed
+    }
+    return scannedModel;
+  }
+
+  /**
+   * Groups the models into levels, so that every model only references models of lower levels.
+   * Models with cyclic references end up in the last level. References to models that are not
+   * part of the zip file are collected as repository references.
+   */
+  private List<List<ScannedModel>> getLevels(List<ScannedModel> scannedModels) {
+    Map<ModelId, List<ScannedModel>> modelsById = new HashMap<>();
+    scannedModels.stream().filter(scannedModel -> scannedModel.modelId != null).forEach(
+        scannedModel -> modelsById.computeIfAbsent(scannedModel.modelId, id -> new ArrayList<>())
+            .add(scannedModel));
+    for (ScannedModel scannedModel : scannedModels) {
+      for (ModelId reference : scannedModel.references) {
+        List<ScannedModel> dependencies = modelsById.get(reference);
+        if (dependencies == null) {
+          scannedModel.repositoryReferences.add(reference);
+          continue;
+        }
+        dependencies.stream().filter(dependency -> dependency != scannedModel)
+            .forEach(scannedModel.dependencies::add);
+      }
+    }
+
+    List<List<ScannedModel>> levels = new ArrayList<>();
+    Set<ScannedModel> parsed = new HashSet<>();
+    List<ScannedModel> pending = new ArrayList<>(scannedModels);
+    while (!pending.isEmpty()) {
+      List<ScannedModel> level = pending.stream()
+          .filter(scannedModel -> parsed.containsAll(scannedModel.dependencies))
+          .collect(Collectors.toList());
+      if (level.isEmpty()) {
+        level = pending;
+      }
+      levels.add(level);
+      parsed.addAll(level);
+      pending = pending.stream().filter(scannedModel -> !parsed.contains(scannedModel))
+          .collect(Collectors.toList());
+    }
+    return levels;
+  }
+
+  private static <T> List<T> invokeAll(ExecutorService executor, List<Callable<T>> tasks)
+      throws InterruptedException, ExecutionException {
+    List<T> results = new ArrayList<>(tasks.size());
+    for (Future<T> future : executor.invokeAll(tasks)) {
+      results.add(future.get());
+    }
+    return results;
+  }
+
+  private static class ScannedModel {
+    final FileContent fileContent;
+    ModelId modelId;
+    final List<ModelId> references = new ArrayList<>();
+    final Set<ScannedModel> dependencies = new HashSet<>();
+    final List<ModelId> repositoryReferences = new ArrayList<>();
+
+    ScannedModel(FileContent fileContent) {
+      this.fileContent = fileContent;
+    }
+  }
+
+  private List<FileContent> getFileContentsFromZip(InputStream content) {
+    List<FileContent> fileContents = new ArrayList<FileContent>();
+
+    ZipInputStream zis = new ZipInputStream(content);
     ZipEntry entry = null;
 
     try {
@@ -191,14 +407,38 @@ public class BulkUploadHelper {
   }
 
   private List<IModelValidator> constructBulkUploadValidators(Set<ModelInfo> modelResources) {
+    Set<ModelId> existingModels = findExistingModels(modelResources);
     List<IModelValidator> bulkUploadValidators = new LinkedList<IModelValidator>();
     bulkUploadValidators.add(new UserHasAccessToNamespaceValidation(userRepository, tenantService));
-    bulkUploadValidators.add(new DuplicateModelValidation(modelRepoFactory));
+    bulkUploadValidators.add(new DuplicateModelValidation(existingModels::contains));
     bulkUploadValidators.add(new BulkModelDuplicateIdValidation(modelRepoFactory, modelResources));
-    bulkUploadValidators.add(new BulkModelReferencesValidation(modelRepoFactory, modelResources));
+    bulkUploadValidators.add(new BulkModelReferencesValidation(modelRepoFactory, modelResources,
+        existingModels::contains));
     return bulkUploadValidators;
   }
 
+  /**
+   * Looks up which of the given models and of the models they reference exist in the repository,
+   * with a single lookup per namespace
+   */
+  private Set<ModelId> findExistingModels(Collection<ModelInfo> modelResources) {
+    Map<String, Set<ModelId>> modelIdsByNamespace = new HashMap<>();
+    for (ModelInfo modelResource : modelResources) {
+      Stream.concat(Stream.of(modelResource.getId()), modelResource.getReferences().stream())
+          .forEach(modelId -> modelIdsByNamespace
+              .computeIfAbsent(modelId.getNamespace(), namespace -> new HashSet<>()).add(modelId));
+    }
+
+    Set<ModelId> existingModels = new HashSet<>();
+    modelIdsByNamespace.forEach((namespace, modelIds) -> {
+      IModelRepository repository = modelRepoFactory.getRepositoryByNamespace(namespace);
+      if (repository != null) {
+        existingModels.addAll(repository.filterExisting(modelIds));
+      }
+    });
+    return existingModels;
+  }
+
   protected static byte[] copyStream(ZipInputStream in, ZipEntry entry) {
     ByteArrayOutputStream out = new ByteArrayOutputStream();
     try {
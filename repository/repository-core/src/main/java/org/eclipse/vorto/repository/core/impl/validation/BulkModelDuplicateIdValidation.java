@@ -12,10 +12,9 @@
  */
 package org.eclipse.vorto.repository.core.impl.validation;
 
+import java.util.Collection;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.ModelInfo;
@@ -23,32 +22,24 @@ import org.eclipse.vorto.repository.core.impl.InvocationContext;
 
 public class BulkModelDuplicateIdValidation extends ModelReferencesValidation {
 
-  private List<ModelId> zipModelIds;
+  private Set<ModelId> duplicateModelIds = new HashSet<>();
 
   public BulkModelDuplicateIdValidation(IModelRepositoryFactory modelRepoFactory,
-      Set<ModelInfo> modelResources) {
+      Collection<ModelInfo> modelResources) {
     super(modelRepoFactory);
-    zipModelIds =
-        modelResources.stream().map(new java.util.function.Function<ModelInfo, ModelId>() {
-          @Override
-          public ModelId apply(ModelInfo resource) {
-            return resource.getId();
-          }
-
-        }).collect(Collectors.toList());
+    Set<ModelId> zipModelIds = new HashSet<>();
+    for (ModelInfo resource : modelResources) {
+      if (!zipModelIds.add(resource.getId())) {
+        duplicateModelIds.add(resource.getId());
+      }
+    }
   }
 
   @Override
   public void validate(ModelInfo modelResource, InvocationContext context)
       throws ValidationException {
-    Set<ModelId> nonduplicates = new HashSet<>();
-
-    for (ModelId modelId : zipModelIds) {
-      if (modelResource.getId().equals(modelId) && nonduplicates.contains(modelId)) {
-        throw new ValidationException("Zip contains models with duplicate Ids", modelResource);
-      } else {
-        nonduplicates.add(modelId);
-      }
+    if (duplicateModelIds.contains(modelResource.getId())) {
+      throw new ValidationException("Zip contains models with duplicate Ids", modelResource);
     }
   }
 }
@@ -13,12 +13,16 @@
 package org.eclipse.vorto.repository.core.impl.validation;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
-import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.core.impl.InvocationContext;
 
@@ -30,19 +34,28 @@ import org.eclipse.vorto.repository.core.impl.InvocationContext;
  */
 public class BulkModelReferencesValidation extends ModelReferencesValidation {
 
-  private List<ModelId> zipModelIds;
+  private Set<ModelId> zipModelIds;
+
+  private Predicate<ModelId> existsInRepository;
+
+  private Map<ModelId, Optional<ModelInfo>> referencedModels = new ConcurrentHashMap<>();
 
   public BulkModelReferencesValidation(IModelRepositoryFactory modelRepoFactory,
-      Set<ModelInfo> modelResources) {
-    super(modelRepoFactory);
-    zipModelIds =
-        modelResources.stream().map(new java.util.function.Function<ModelInfo, ModelId>() {
-          @Override
-          public ModelId apply(ModelInfo resource) {
-            return resource.getId();
-          }
+      Collection<ModelInfo> modelResources) {
+    this(modelRepoFactory, modelResources,
+        modelId -> modelRepoFactory.getRepositoryByModel(modelId).exists(modelId));
+  }
 
-        }).collect(Collectors.toList());
+  /**
+   * @param existsInRepository checks if a model exists in the repository, e.g. against the result
+   *        of a batched lookup
+   */
+  public BulkModelReferencesValidation(IModelRepositoryFactory modelRepoFactory,
+      Collection<ModelInfo> modelResources, Predicate<ModelId> existsInRepository) {
+    super(modelRepoFactory);
+    this.zipModelIds =
+        modelResources.stream().map(ModelInfo::getId).collect(Collectors.toSet());
+    this.existsInRepository = existsInRepository;
   }
 
   @Override
@@ -53,6 +66,17 @@ public class BulkModelReferencesValidation extends ModelReferencesValidation {
     validateInZipFiles(modelResource, context);
   }
 
+  /**
+   * Models of the repository are usually referenced by many models of the zip file, so they are
+   * only read once per upload. Models that do not exist are not read at all.
+   */
+  @Override
+  protected ModelInfo getReferencedModel(ModelId modelId) {
+    return referencedModels.computeIfAbsent(modelId, id -> existsInRepository.test(id)
+        ? Optional.ofNullable(super.getReferencedModel(id))
+        : Optional.empty()).orElse(null);
+  }
+
   private List<ModelId> validateInRepository(ModelInfo modelResource, InvocationContext context) {
     List<ModelId> missingReferences = new ArrayList<ModelId>();
     try {
@@ -63,15 +87,11 @@ public class BulkModelReferencesValidation extends ModelReferencesValidation {
     return missingReferences;
   }
 
-  private boolean isNotInRepository(ModelId modelId, IUserContext userContext) {
-    return !getModelRepoFactory().getRepositoryByModel(modelId).exists(modelId);
-  }
-
   private void validateInZipFiles(ModelInfo modelResource, InvocationContext context) {
     List<ModelId> references = modelResource.getReferences();
     List<ModelId> missingReferences = new ArrayList<ModelId>();
     for (ModelId modelId : references) {
-      if (!zipModelIds.contains(modelId) && isNotInRepository(modelId, context.getUserContext())) {
+      if (!zipModelIds.contains(modelId) && !existsInRepository.test(modelId)) {
         missingReferences.add(modelId);
       }
     }
@@ -12,6 +12,8 @@
  */
 package org.eclipse.vorto.repository.core.impl.validation;
 
+import java.util.function.Predicate;
+import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.core.impl.InvocationContext;
@@ -21,17 +23,25 @@ import org.eclipse.vorto.repository.core.impl.InvocationContext;
  */
 public class DuplicateModelValidation implements IModelValidator {
 
-  private IModelRepositoryFactory modelRepoFactory;
+  private Predicate<ModelId> existsInRepository;
   
   public DuplicateModelValidation(IModelRepositoryFactory modelRepoFactory) {
-    this.modelRepoFactory = modelRepoFactory;
+    this(modelId -> modelRepoFactory.getRepositoryByModel(modelId).exists(modelId));
+  }
+
+  /**
+   * @param existsInRepository checks if a model exists in the repository, e.g. against the result
+   *        of a batched lookup
+   */
+  public DuplicateModelValidation(Predicate<ModelId> existsInRepository) {
+    this.existsInRepository = existsInRepository;
   }
 
   @Override
   public void validate(ModelInfo modelResource, InvocationContext context)
       throws ValidationException {
     
-    if (modelRepoFactory.getRepositoryByModel(modelResource.getId()).exists(modelResource.getId())) {
+    if (existsInRepository.test(modelResource.getId())) {
       throw new ValidationException("Model already exists", modelResource);
     }
   }
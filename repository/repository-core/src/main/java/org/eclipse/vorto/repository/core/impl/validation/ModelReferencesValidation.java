@@ -45,7 +45,7 @@ public class ModelReferencesValidation implements IModelValidator {
 
   private void checkReferencesRecursive(ModelInfo modelResource, List<ModelId> accumulator) {
     for (ModelId modelId : modelResource.getReferences()) {
-      ModelInfo _referenceModelInfo =  modelRepoFactory.getRepositoryByModel(modelId).getById(modelId);
+      ModelInfo _referenceModelInfo = getReferencedModel(modelId);
       
       if (_referenceModelInfo != null) {
         if (modelResource.getId().equals(_referenceModelInfo.getId())) {
@@ -66,6 +66,14 @@ public class ModelReferencesValidation implements IModelValidator {
     }
   }
 
+  /**
+   * @param modelId referenced model
+   * @return the referenced model or null if it does not exist in the repository
+   */
+  protected ModelInfo getReferencedModel(ModelId modelId) {
+    return modelRepoFactory.getRepositoryByModel(modelId).getById(modelId);
+  }
+
   public IModelRepositoryFactory getModelRepoFactory() {
     return modelRepoFactory;
   }
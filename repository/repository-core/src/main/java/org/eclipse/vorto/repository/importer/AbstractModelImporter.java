@@ -281,7 +281,8 @@ public abstract class AbstractModelImporter implements IModelImporter {
   protected ModelResource parseDSL(String fileName, byte[] content,
       Collection<FileContent> fileReferences) {
     IModelParser modelParser = modelParserFactory.getParser(fileName);
-    modelParser.setWorkspace(new LocalModelWorkspace(modelRepoFactory, fileReferences));
+    modelParser.setWorkspace(new LocalModelWorkspace(modelRepoFactory, fileReferences,
+        modelParserFactory.getParsedModelCache()));
     modelParser.enableValidation();
     return (ModelResource) modelParser.parse(new ByteArrayInputStream(content));
   }
@@ -39,6 +39,7 @@ import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.model.ModelProperty;
 import org.eclipse.vorto.model.Stereotype;
 import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.eclipse.vorto.repository.conversion.ModelContentCache;
 import org.eclipse.vorto.repository.conversion.ModelIdToModelContentConverter;
 import org.eclipse.vorto.repository.core.FileContent;
 import org.eclipse.vorto.repository.core.IModelRepository;
@@ -74,6 +75,9 @@ public class DefaultPayloadMappingService implements IPayloadMappingService {
   
   @Autowired
   private IWorkflowService workflowService;
+
+  @Autowired(required = false)
+  private ModelContentCache modelContentCache;
   
   private static Logger logger = Logger.getLogger(DefaultPayloadMappingService.class);
   
@@ -107,7 +111,8 @@ public class DefaultPayloadMappingService implements IPayloadMappingService {
   }
   
   private ModelContent getModelContent(ModelId modelId, String targetPlatformKey) {
-    ModelIdToModelContentConverter converter = new ModelIdToModelContentConverter(this.modelRepositoryFactory);  
+    ModelIdToModelContentConverter converter =
+        new ModelIdToModelContentConverter(this.modelRepositoryFactory, this.modelContentCache);
     return converter.convert(modelId, Optional.of(targetPlatformKey));
   }
   
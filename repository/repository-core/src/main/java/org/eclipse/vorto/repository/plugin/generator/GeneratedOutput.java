@@ -12,9 +12,17 @@
  */
 package org.eclipse.vorto.repository.plugin.generator;
 
-import java.util.Arrays;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import org.apache.commons.io.IOUtils;
 
 /**
+ * Output of a code generator. The content is either held in memory or is read from a stream, such
+ * as the response of the generator, which can only be read once and only while the output is
+ * handed to an {@link IGeneratedOutputConsumer}.
+ * 
  * @author Alexander Edelmann - Robert Bosch (SEA) Pte. Ltd.
  */
 
@@ -22,6 +30,8 @@ public class GeneratedOutput {
 
   private byte[] content;
 
+  private InputStream stream;
+
   private String fileName;
 
   private long size;
@@ -32,21 +42,67 @@ public class GeneratedOutput {
     this.size = size;
   }
 
+  /**
+   * @param stream stream the content is read from
+   * @param fileName file name of the output
+   * @param size size of the content or -1 if it is unknown
+   */
+  public GeneratedOutput(InputStream stream, String fileName, long size) {
+    this.stream = stream;
+    this.fileName = fileName;
+    this.size = size;
+  }
+
+  /**
+   * @return the whole content. Content that is read from a stream is read into memory.
+   */
   public byte[] getContent() {
+    if (content == null) {
+      try {
+        content = IOUtils.toByteArray(stream);
+      } catch (IOException e) {
+        throw new GenerationException("Error reading generated output", e);
+      }
+      stream = null;
+      size = content.length;
+    }
     return content;
   }
 
+  /**
+   * @return stream of the content, which can only be read once if the content is not in memory
+   */
+  public InputStream getInputStream() {
+    return content != null ? new ByteArrayInputStream(content) : stream;
+  }
+
+  /**
+   * Writes the content to the given stream without reading it into memory first
+   * 
+   * @param out stream to write the content to, which is not closed
+   * @throws IOException if the content cannot be read or written
+   */
+  public void writeTo(OutputStream out) throws IOException {
+    if (content != null) {
+      out.write(content);
+    } else {
+      IOUtils.copyLarge(stream, out);
+    }
+  }
+
   public String getFileName() {
     return fileName;
   }
 
+  /**
+   * @return size of the content or -1 if it is unknown
+   */
   public long getSize() {
     return size;
   }
 
   @Override
   public String toString() {
-    return "GeneratedOutput [content=" + Arrays.toString(content) + ", fileName=" + fileName
-        + ", size=" + size + "]";
+    return "GeneratedOutput [fileName=" + fileName + ", size=" + size + "]";
   }
 }
@@ -0,0 +1,29 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.plugin.generator;
+
+import java.io.IOException;
+
+/**
+ * Consumes the output of a code generator, e.g. by writing it to the response of a request, while
+ * the output is streamed from the code generator
+ */
+@FunctionalInterface
+public interface IGeneratedOutputConsumer {
+
+  /**
+   * @param output generated output, whose content must be read before this method returns
+   * @throws IOException if the output cannot be read or written
+   */
+  void accept(GeneratedOutput output) throws IOException;
+}
@@ -12,6 +12,7 @@
  */
 package org.eclipse.vorto.repository.plugin.generator;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
@@ -51,14 +52,19 @@ public interface IGeneratorPluginService {
   Collection<GeneratorPluginConfiguration> getMostlyUsed(int top);
 
   /**
-   * Invokes a code generator for a information model Id
+   * Invokes a code generator for a information model Id and hands its output to the given
+   * consumer while it is streamed from the code generator. The output is only read into memory if
+   * it is attached to the model, i.e. if the model is released and the generator is tagged for
+   * production.
    * 
    * @param modelId information model Id
    * @param serviceKey target code generator
    * @param requestParams request params, can be null
-   * @return actual generated output
+   * @param consumer consumer of the generated output
    * @throws GenerationException if something goes wrong during code generation
+   * @throws IOException if the consumer fails to read or write the generated output
    */
-  GeneratedOutput generate(IUserContext userContext, ModelId modelId, String serviceKey, Map<String, String> requestParams);
+  void generate(IUserContext userContext, ModelId modelId, String serviceKey,
+      Map<String, String> requestParams, IGeneratedOutputConsumer consumer) throws IOException;
 
 }
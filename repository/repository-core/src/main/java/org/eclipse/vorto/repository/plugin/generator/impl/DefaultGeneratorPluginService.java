@@ -14,6 +14,8 @@ package org.eclipse.vorto.repository.plugin.generator.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -28,6 +30,7 @@ import org.eclipse.vorto.model.ModelContent;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.model.ModelType;
 import org.eclipse.vorto.plugin.generator.GeneratorPluginInfo;
+import org.eclipse.vorto.repository.conversion.ModelContentCache;
 import org.eclipse.vorto.repository.conversion.ModelIdToModelContentConverter;
 import org.eclipse.vorto.repository.core.IModelRepository;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
@@ -37,19 +40,24 @@ import org.eclipse.vorto.repository.core.ModelNotFoundException;
 import org.eclipse.vorto.repository.plugin.generator.GeneratedOutput;
 import org.eclipse.vorto.repository.plugin.generator.GenerationException;
 import org.eclipse.vorto.repository.plugin.generator.GeneratorPluginConfiguration;
+import org.eclipse.vorto.repository.plugin.generator.IGeneratedOutputConsumer;
 import org.eclipse.vorto.repository.plugin.generator.IGeneratorPluginService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.provider.OAuth2Authentication;
 import org.springframework.security.oauth2.provider.authentication.OAuth2AuthenticationDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -70,8 +78,14 @@ public class DefaultGeneratorPluginService implements IGeneratorPluginService {
 
   private GeneratedOutputAttachmentHandler generatedOutputAttachmentHandler;
 
+  @Autowired(required = false)
+  private ModelContentCache modelContentCache;
+
   private static final Logger LOGGER = LoggerFactory.getLogger(DefaultGeneratorPluginService.class);
 
+  private static final List<MediaType> ACCEPTED_MEDIA_TYPES =
+      Arrays.asList(MediaType.APPLICATION_OCTET_STREAM, MediaType.ALL);
+
   @Autowired
   public DefaultGeneratorPluginService(IGeneratorMetrics generatorMetrics,
       IModelRepositoryFactory modelRepositoryFactory, RestTemplate restTemplate,
@@ -110,21 +124,22 @@ public class DefaultGeneratorPluginService implements IGeneratorPluginService {
   }
 
   @Override
-  public GeneratedOutput generate(IUserContext userContext, ModelId modelId, String serviceKey,
-      Map<String, String> requestParams) {
+  public void generate(IUserContext userContext, ModelId modelId, String serviceKey,
+      Map<String, String> requestParams, IGeneratedOutputConsumer consumer) throws IOException {
 
     incrementMetric(serviceKey);
     IModelRepository repository = modelRepositoryFactory.getRepositoryByModel(modelId);
     ModelInfo modelInfo = repository.getById(modelId);
     GeneratorPluginConfiguration plugin = getPluginInfo(serviceKey, false);
     if (modelInfo.isReleased() && hasGeneratorProductionTag(plugin)) {
-      return generatedOutputAttachmentHandler
+      consumer.accept(generatedOutputAttachmentHandler
           .getGeneratedOutputFromAttachment(modelInfo, requestParams, plugin, repository).orElseGet(
               () -> generateAndAttachOutput(userContext, modelInfo, serviceKey, requestParams,
                   plugin)
-          );
+          ));
+      return;
     }
-    return doGenerate(modelInfo, serviceKey, requestParams, plugin);
+    doGenerate(modelInfo, serviceKey, requestParams, plugin, consumer);
   }
 
   private boolean hasGeneratorProductionTag(GeneratorPluginConfiguration plugin) {
@@ -160,28 +175,40 @@ public class DefaultGeneratorPluginService implements IGeneratorPluginService {
   private GeneratedOutput generateAndAttachOutput(IUserContext userContext, ModelInfo modelInfo,
       String serviceKey, Map<String, String> requestParams, GeneratorPluginConfiguration plugin) {
 
-    GeneratedOutput output = doGenerate(modelInfo, serviceKey, requestParams, plugin);
+    GeneratedOutput[] output = new GeneratedOutput[1];
+    try {
+      doGenerate(modelInfo, serviceKey, requestParams, plugin, streamed -> {
+        // attachments are stored as a whole
+        byte[] content = streamed.getContent();
+        output[0] = new GeneratedOutput(content, streamed.getFileName(), content.length);
+      });
+    } catch (IOException e) {
+      throw new GenerationException("Error reading generated output", e);
+    }
     return generatedOutputAttachmentHandler
-        .attachGeneratedOutput(userContext, modelInfo.getId(), serviceKey, requestParams, output,
-            plugin);
+        .attachGeneratedOutput(userContext, modelInfo.getId(), serviceKey, requestParams,
+            output[0], plugin);
   }
 
-  private GeneratedOutput doGenerate(ModelInfo modelInfo, String serviceKey,
-      Map<String, String> requestParams, GeneratorPluginConfiguration plugin) {
+  private void doGenerate(ModelInfo modelInfo, String serviceKey,
+      Map<String, String> requestParams, GeneratorPluginConfiguration plugin,
+      IGeneratedOutputConsumer consumer) throws IOException {
 
     if (plugin.isApiVersion("2")) {
-      return doGenerateWithApiVersion2(modelInfo.getId(), serviceKey, requestParams,
-          plugin.getEndpointUrl());
+      doGenerateWithApiVersion2(modelInfo.getId(), serviceKey, requestParams,
+          plugin.getEndpointUrl(), consumer);
+    } else {
+      doGenerateWithApiVersion1(modelInfo, serviceKey, requestParams, plugin.getEndpointUrl(),
+          consumer);
     }
-    return doGenerateWithApiVersion1(modelInfo, serviceKey, requestParams,
-        plugin.getEndpointUrl());
   }
 
-  private GeneratedOutput doGenerateWithApiVersion2(ModelId modelId, String serviceKey,
-      Map<String, String> requestParams, String baseUrl) {
+  private void doGenerateWithApiVersion2(ModelId modelId, String serviceKey,
+      Map<String, String> requestParams, String baseUrl, IGeneratedOutputConsumer consumer)
+      throws IOException {
 
     ModelIdToModelContentConverter converter =
-        new ModelIdToModelContentConverter(this.modelRepositoryFactory);
+        new ModelIdToModelContentConverter(this.modelRepositoryFactory, this.modelContentCache);
     ModelContent content = converter.convert(modelId, Optional.of(serviceKey));
 
     try {
@@ -193,16 +220,17 @@ public class DefaultGeneratorPluginService implements IGeneratorPluginService {
       LOGGER.trace("Error processing JSON for logging", e);
     }
 
-    ResponseEntity<byte[]> response = restTemplate.exchange(
-        baseUrl + "/api/2/plugins/generators/{pluginkey}" + attachRequestParams(requestParams),
-        HttpMethod.PUT, new HttpEntity<>(content), byte[].class, serviceKey);
-
-    return new GeneratedOutput(response.getBody(), extractFileNameFromHeader(response),
-        response.getHeaders().getContentLength());
+    RequestCallback requestCallback = request -> {
+      request.getHeaders().setAccept(ACCEPTED_MEDIA_TYPES);
+      writeJson(content, request);
+    };
+    execute(baseUrl + "/api/2/plugins/generators/{pluginkey}" + attachRequestParams(requestParams),
+        HttpMethod.PUT, requestCallback, consumer, serviceKey);
   }
 
-  private GeneratedOutput doGenerateWithApiVersion1(ModelInfo modelInfo, String serviceKey,
-      Map<String, String> requestParams, String baseUrl) {
+  private void doGenerateWithApiVersion1(ModelInfo modelInfo, String serviceKey,
+      Map<String, String> requestParams, String baseUrl, IGeneratedOutputConsumer consumer)
+      throws IOException {
 
     if (modelInfo == null) {
       throw new ModelNotFoundException("Model with the given ID does not exist", null);
@@ -214,20 +242,54 @@ public class DefaultGeneratorPluginService implements IGeneratorPluginService {
           "Provided model is neither an information model nor a function block model!");
     }
 
-    HttpEntity<String> entity = getUserToken().map(token -> {
-      HttpHeaders headers = new HttpHeaders();
-      headers.add("Authorization", "Bearer " + token);
-      return new HttpEntity<>("parameters", headers);
-    }).orElse(null);
+    Optional<String> token = getUserToken();
+    RequestCallback requestCallback = request -> {
+      request.getHeaders().setAccept(ACCEPTED_MEDIA_TYPES);
+      token.ifPresent(value -> request.getHeaders().add("Authorization", "Bearer " + value));
+    };
     ModelId modelId = modelInfo.getId();
-    ResponseEntity<byte[]> response = restTemplate.exchange(
-        baseUrl + "/rest/generators/{pluginkey}/generate/{namespace}/{name}/{version}"
+    execute(baseUrl + "/rest/generators/{pluginkey}/generate/{namespace}/{name}/{version}"
             + attachRequestParams(requestParams),
-        HttpMethod.GET, entity, byte[].class, serviceKey, modelId.getNamespace(), modelId.getName(),
-        modelId.getVersion());
+        HttpMethod.GET, requestCallback, consumer, serviceKey, modelId.getNamespace(),
+        modelId.getName(), modelId.getVersion());
+  }
+
+  /**
+   * Invokes the generator and hands its response body to the consumer while it is read
+   */
+  private void execute(String url, HttpMethod method, RequestCallback requestCallback,
+      IGeneratedOutputConsumer consumer, Object... uriVariables) throws IOException {
+    ResponseExtractor<Void> responseExtractor = response -> {
+      try {
+        consumer.accept(new GeneratedOutput(response.getBody(),
+            extractFileNameFromHeader(response.getHeaders()),
+            response.getHeaders().getContentLength()));
+      } catch (IOException e) {
+        // not to be reported as error of the generator invocation by the rest template
+        throw new UncheckedIOException(e);
+      }
+      return null;
+    };
+    try {
+      restTemplate.execute(url, method, requestCallback, responseExtractor, uriVariables);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
 
-    return new GeneratedOutput(response.getBody(), extractFileNameFromHeader(response),
-        response.getHeaders().getContentLength());
+  /**
+   * Writes the given body as JSON with the message converters of the rest template
+   */
+  @SuppressWarnings("unchecked")
+  private void writeJson(Object body, ClientHttpRequest request) throws IOException {
+    for (HttpMessageConverter<?> converter : restTemplate.getMessageConverters()) {
+      if (converter.canWrite(body.getClass(), MediaType.APPLICATION_JSON)) {
+        ((HttpMessageConverter<Object>) converter).write(body, MediaType.APPLICATION_JSON,
+            request);
+        return;
+      }
+    }
+    throw new GenerationException("No message converter for " + body.getClass().getName());
   }
 
   private Optional<String> getUserToken() {
@@ -260,9 +322,9 @@ public class DefaultGeneratorPluginService implements IGeneratorPluginService {
     }
   }
 
-  private String extractFileNameFromHeader(ResponseEntity<byte[]> entity) {
-    List<String> values = entity.getHeaders().get("content-disposition");
-    if (values.size() > 0) {
+  private String extractFileNameFromHeader(HttpHeaders headers) {
+    List<String> values = headers.get("content-disposition");
+    if (values != null && values.size() > 0) {
       int indexOfFileNameStart = values.get(0).indexOf("=");
       return values.get(0).substring(indexOfFileNameStart + 1);
     }
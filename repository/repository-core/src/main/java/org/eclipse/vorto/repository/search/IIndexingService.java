@@ -12,8 +12,10 @@
  */
 package org.eclipse.vorto.repository.search;
 
+import java.util.Collection;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.domain.Tenant;
 
 public interface IIndexingService {
   
@@ -33,6 +35,14 @@ public interface IIndexingService {
    */
   IndexingResult forceReindexAllModels();
 
+  /**
+   * Re-indexes the models of the given tenants only, e.g. after their workspaces were restored
+   * 
+   * @param tenants the tenants whose models are re-indexed
+   * @return a result of how many tenants, and how many models per tenant were indexed
+   */
+  IndexingResult reindexModels(Collection<Tenant> tenants);
+
   /**
    * Indexes the given model with the given tenantId 
    * 
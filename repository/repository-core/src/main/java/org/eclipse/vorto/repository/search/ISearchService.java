@@ -34,4 +34,27 @@ public interface ISearchService {
    * @return
    */
   List<ModelInfo> search(String searchExpression, IUserContext userContext);
+
+  /**
+   * Searches a single page of all public models or models for which the calling user is
+   * member/collaborator of. Other than {@link #search(String)}, the number of results is not
+   * capped, as all results can be read page by page.
+   *
+   * @param expression The search expression
+   * @param page The page to return
+   * @return page of models matching the search expression
+   * @throws IllegalArgumentException if the cursor of the requested page is invalid
+   */
+  SearchPage search(String expression, SearchPageRequest page);
+
+  /**
+   * Same as {@link #search(String, SearchPageRequest)}, but uses the user context of
+   * @userContext
+   * 
+   * @param searchExpression The search expression
+   * @param page The page to return
+   * @param userContext The user context with which to execute this query
+   * @return page of models matching the search expression
+   */
+  SearchPage search(String searchExpression, SearchPageRequest page, IUserContext userContext);
 }
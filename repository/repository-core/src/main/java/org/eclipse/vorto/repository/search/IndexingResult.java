@@ -12,11 +12,18 @@
  */
 package org.eclipse.vorto.repository.search;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Result of an indexing run. Results can be reported by several threads at the same time.
+ */
 public class IndexingResult {
-  private Map<String, Integer> indexedNamespaces = new HashMap<>();
+  private Map<String, Integer> indexedNamespaces = new ConcurrentHashMap<>();
+  
+  private Map<String, String> failedNamespaces = new ConcurrentHashMap<>();
+  
+  private Map<String, String> failedModels = new ConcurrentHashMap<>();
 
   public Map<String, Integer> getIndexedNamespaces() {
     return indexedNamespaces;
@@ -37,4 +44,42 @@ public class IndexingResult {
   public void addIndexedNamespace(String namespace, int numModels) {
     indexedNamespaces.put(namespace, numModels);
   }
+
+  /**
+   * @return namespaces whose models could not be indexed at all, with the reason
+   */
+  public Map<String, String> getFailedNamespaces() {
+    return failedNamespaces;
+  }
+
+  public void setFailedNamespaces(Map<String, String> failedNamespaces) {
+    this.failedNamespaces = failedNamespaces;
+  }
+  
+  public void addFailedNamespace(String namespace, String reason) {
+    failedNamespaces.put(namespace, String.valueOf(reason));
+  }
+
+  /**
+   * @return IDs of single models that could not be indexed, with the reason
+   */
+  public Map<String, String> getFailedModels() {
+    return failedModels;
+  }
+
+  public void setFailedModels(Map<String, String> failedModels) {
+    this.failedModels = failedModels;
+  }
+  
+  public void addFailedModel(String modelId, String reason) {
+    failedModels.put(modelId, String.valueOf(reason));
+  }
+  
+  public int getNumberOfFailedModels() {
+    return failedModels.size();
+  }
+  
+  public boolean isSuccessful() {
+    return failedNamespaces.isEmpty() && failedModels.isEmpty();
+  }
 }
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+import org.eclipse.vorto.repository.core.ModelInfo;
+
+/**
+ * Position of a model in the search result order, i.e. creation date descending and model ID
+ * ascending. Cursors are handed out to clients as opaque, URL-safe strings.
+ */
+public final class SearchCursor {
+
+  /**
+   * Order of search results that cursors refer to
+   */
+  public static final Comparator<ModelInfo> ORDER =
+      Comparator.comparing(SearchCursor::creationDateOf).reversed()
+          .thenComparing(model -> model.getId().getPrettyFormat());
+
+  private static final String SEPARATOR = "\n";
+
+  private final long creationDate;
+
+  private final String modelId;
+
+  public SearchCursor(long creationDate, String modelId) {
+    this.creationDate = creationDate;
+    this.modelId = modelId;
+  }
+
+  public static SearchCursor of(ModelInfo model) {
+    return new SearchCursor(creationDateOf(model), model.getId().getPrettyFormat());
+  }
+
+  /**
+   * @param token cursor as handed out by {@link #encode()}
+   * @return decoded cursor
+   * @throws IllegalArgumentException if the token is not a valid cursor
+   */
+  public static SearchCursor decode(String token) {
+    String decoded;
+    try {
+      decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid search cursor '" + token + "'", e);
+    }
+    int separator = decoded.indexOf(SEPARATOR);
+    if (separator < 0) {
+      throw new IllegalArgumentException("Invalid search cursor '" + token + "'");
+    }
+    try {
+      return new SearchCursor(Long.parseLong(decoded.substring(0, separator)),
+          decoded.substring(separator + 1));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid search cursor '" + token + "'", e);
+    }
+  }
+
+  public String encode() {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString((creationDate + SEPARATOR + modelId).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @return true if the given model comes after this cursor in the search result order
+   */
+  public boolean isBefore(ModelInfo model) {
+    long modelCreationDate = creationDateOf(model);
+    if (modelCreationDate != creationDate) {
+      return modelCreationDate < creationDate;
+    }
+    return model.getId().getPrettyFormat().compareTo(modelId) > 0;
+  }
+
+  public long getCreationDate() {
+    return creationDate;
+  }
+
+  public String getModelId() {
+    return modelId;
+  }
+
+  private static long creationDateOf(ModelInfo model) {
+    return model.getCreationDate() != null ? model.getCreationDate().getTime() : 0;
+  }
+}
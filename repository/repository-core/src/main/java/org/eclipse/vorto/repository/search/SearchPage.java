@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.vorto.repository.core.ModelInfo;
+
+/**
+ * Single page of search results
+ *
+ * @see SearchPageRequest
+ */
+public class SearchPage {
+
+  private List<ModelInfo> items;
+
+  private String next;
+
+  private long total;
+
+  public SearchPage(List<ModelInfo> items, String next, long total) {
+    this.items = items;
+    this.next = next;
+    this.total = total;
+  }
+
+  public static SearchPage count(long total) {
+    return new SearchPage(Collections.emptyList(), null, total);
+  }
+
+  public List<ModelInfo> getItems() {
+    return items;
+  }
+
+  /**
+   * @return cursor to request the next page with, null if this is the last page
+   */
+  public String getNext() {
+    return next;
+  }
+
+  /**
+   * @return number of all models matching the search, across all pages
+   */
+  public long getTotal() {
+    return total;
+  }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Requests a single page of search results. <br/>
+ * Results are ordered by creation date, newest first, and model ID. The first page is requested
+ * without cursor, every following page with the {@link SearchPage#getNext() cursor} of the page
+ * before. <br/>
+ * The with...-methods are fluent-builder-styled.
+ */
+public class SearchPageRequest {
+
+  public static final int DEFAULT_PAGE_SIZE = 50;
+
+  public static final int MAX_PAGE_SIZE = 1000;
+
+  private int pageSize = DEFAULT_PAGE_SIZE;
+
+  private String after;
+
+  private Set<String> fields = Collections.emptySet();
+
+  private boolean countOnly;
+
+  /**
+   * @param pageSize maximum number of results of the page, capped by {@link #MAX_PAGE_SIZE}
+   * @return request of the first page
+   */
+  public static SearchPageRequest first(int pageSize) {
+    return new SearchPageRequest().withPageSize(pageSize);
+  }
+
+  /**
+   * @return request that only counts the matching models
+   */
+  public static SearchPageRequest count() {
+    return new SearchPageRequest().withCountOnly(true);
+  }
+
+  public SearchPageRequest withPageSize(int pageSize) {
+    if (pageSize < 1) {
+      throw new IllegalArgumentException("Page size must be at least 1");
+    }
+    this.pageSize = Math.min(pageSize, MAX_PAGE_SIZE);
+    return this;
+  }
+
+  /**
+   * @param after cursor of the previous page, or null for the first page
+   */
+  public SearchPageRequest withAfter(String after) {
+    this.after = after;
+    return this;
+  }
+
+  /**
+   * @param fields index fields the results are populated with. The model ID is always populated.
+   *        Empty to populate all fields.
+   */
+  public SearchPageRequest withFields(Collection<String> fields) {
+    this.fields = fields == null ? Collections.emptySet()
+        : Collections.unmodifiableSet(new LinkedHashSet<>(fields));
+    return this;
+  }
+
+  public SearchPageRequest withCountOnly(boolean countOnly) {
+    this.countOnly = countOnly;
+    return this;
+  }
+
+  public int getPageSize() {
+    return pageSize;
+  }
+
+  public String getAfter() {
+    return after;
+  }
+
+  public Set<String> getFields() {
+    return fields;
+  }
+
+  public boolean isCountOnly() {
+    return countOnly;
+  }
+}
@@ -13,15 +13,21 @@
 package org.eclipse.vorto.repository.search.impl;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.IModelRepository;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.domain.Tenant;
 import org.eclipse.vorto.repository.search.IIndexingService;
 import org.eclipse.vorto.repository.search.ISearchService;
 import org.eclipse.vorto.repository.search.IndexingResult;
+import org.eclipse.vorto.repository.search.SearchCursor;
+import org.eclipse.vorto.repository.search.SearchPage;
+import org.eclipse.vorto.repository.search.SearchPageRequest;
 import org.eclipse.vorto.repository.tenant.ITenantService;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -55,6 +61,41 @@ public class SimpleSearchService implements ISearchService, IIndexingService {
     return search(expression, SecurityContextHolder.getContext().getAuthentication());
   }
   
+  @Override
+  public SearchPage search(String expression, SearchPageRequest page) {
+    return search(expression, page, SecurityContextHolder.getContext().getAuthentication());
+  }
+
+  @Override
+  public SearchPage search(String expression, SearchPageRequest page,
+      IUserContext userContext) {
+    return search(expression, page, userContext.getAuthentication());
+  }
+
+  /**
+   * The repository cannot page its query results, so all results are fetched and the page is
+   * cut out of them in memory. Field projection is not supported, results are always complete.
+   */
+  private SearchPage search(String expression, SearchPageRequest page,
+      Authentication authentication) {
+    List<ModelInfo> all = search(expression, authentication);
+    if (page.isCountOnly()) {
+      return SearchPage.count(all.size());
+    }
+
+    SearchCursor after = page.getAfter() != null ? SearchCursor.decode(page.getAfter()) : null;
+    List<ModelInfo> remaining = all.stream()
+        .filter(model -> after == null || after.isBefore(model))
+        .sorted(SearchCursor.ORDER)
+        .collect(Collectors.toList());
+    List<ModelInfo> items = new ArrayList<>(
+        remaining.subList(0, Math.min(page.getPageSize(), remaining.size())));
+    String next = remaining.size() > items.size()
+        ? SearchCursor.of(items.get(items.size() - 1)).encode()
+        : null;
+    return new SearchPage(items, next, all.size());
+  }
+
   private List<ModelInfo> search(String expression, Authentication authentication) {
     List<ModelInfo> result = new ArrayList<>();
     
@@ -77,6 +118,11 @@ public class SimpleSearchService implements ISearchService, IIndexingService {
     return new IndexingResult();
   }
 
+  @Override
+  public IndexingResult reindexModels(Collection<Tenant> tenants) {
+    return new IndexingResult();
+  }
+
   @Override
   public void indexModel(ModelInfo modelInfo, String tenantId) {
     // NOOP
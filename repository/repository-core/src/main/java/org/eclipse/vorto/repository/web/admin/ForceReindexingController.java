@@ -27,8 +27,8 @@ import org.springframework.web.bind.annotation.RestController;
  * As opposed to {@link IndexingController}, this controller will also force-recreate mappings. <br/>
  * This is rarely useful, i.e. only when a the mapping has been changed (e.g. a field with a different
  * type).<br/>
- * The Elastic Search service will create a temporary index with the up-to-date mapping, delete
- * and re-create the Vorto index with the correct mapping, and re-index all model from repository.<br/>
+ * The Elastic Search service will re-index all models from the repository into a new index with
+ * the up-to-date mapping, and then switch the Vorto index alias to the new index.<br/>
  * In case the simple search is in use instead, this will act exactly the same as {@link IndexingController}
  * - at the time, that does nothing in simple search either.
  * @author mena-bosch
@@ -12,7 +12,6 @@
  */
 package org.eclipse.vorto.repository.web.api.v1;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URLDecoder;
 import java.util.HashMap;
@@ -20,7 +19,6 @@ import java.util.Map;
 import java.util.Optional;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import org.apache.commons.io.IOUtils;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelNotFoundException;
@@ -53,9 +51,9 @@ public class AbstractGeneratorController extends AbstractRepositoryController {
     ModelId modelIdToGen = ModelId.fromPrettyFormat(modelId);
 
     try {
-      GeneratedOutput generatedOutput = generatorService.generate(getUserContext(modelIdToGen),
-          modelIdToGen, URLDecoder.decode(pluginKey, "utf-8"), params);
-      writeToResponse(response, generatedOutput);
+      generatorService.generate(getUserContext(modelIdToGen), modelIdToGen,
+          URLDecoder.decode(pluginKey, "utf-8"), params,
+          generatedOutput -> writeToResponse(response, generatedOutput));
     } catch (IOException e) {
       throw new RuntimeException("Error copying file.", e);
     }
@@ -74,11 +72,12 @@ public class AbstractGeneratorController extends AbstractRepositoryController {
   protected void writeToResponse(final HttpServletResponse response, GeneratedOutput generatedOutput)
       throws IOException {
     response.setHeader(CONTENT_DISPOSITION, ATTACHMENT_FILENAME + generatedOutput.getFileName());
-    response.setContentLengthLong(generatedOutput.getSize());
+    if (generatedOutput.getSize() >= 0) {
+      response.setContentLengthLong(generatedOutput.getSize());
+    }
     response.setContentType(APPLICATION_OCTET_STREAM);
 
-    IOUtils.copy(new ByteArrayInputStream(generatedOutput.getContent()),
-        response.getOutputStream());
+    generatedOutput.writeTo(response.getOutputStream());
     response.flushBuffer();
   }
 
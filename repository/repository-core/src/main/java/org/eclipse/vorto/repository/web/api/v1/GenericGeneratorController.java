@@ -12,9 +12,9 @@
  */
 package org.eclipse.vorto.repository.web.api.v1;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URLDecoder;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -65,37 +65,41 @@ public class GenericGeneratorController extends AbstractGeneratorController {
     try {
       ModelId modelIdToGen = ModelId.fromPrettyFormat(modelId);
 
-      GeneratedOutput generatedOutput = generatorService.generate(getUserContext(modelIdToGen),
-          modelIdToGen, URLDecoder.decode(serviceKey, "utf-8"), getRequestParams(request));
-
       String extractPath = getExtractPath(request);
 
-      if (extractPath == null || extractPath.trim().isEmpty()) {
-        writeToResponse(response, generatedOutput);
-        return;
-      }
-
-      if (generatedOutput.getFileName().endsWith(ZIPFILE_EXTENSION)) {
-        Optional<GeneratedOutput> extractionResult =
-            extractFromZip(generatedOutput.getContent(), extractPath);
-        if (extractionResult.isPresent()) {
-          writeToResponse(response, extractionResult.get());
-          return;
-        }
-      }
-
-      response.sendError(HttpServletResponse.SC_NOT_FOUND);
+      generatorService.generate(getUserContext(modelIdToGen), modelIdToGen,
+          URLDecoder.decode(serviceKey, "utf-8"), getRequestParams(request),
+          generatedOutput -> writeToResponse(response, generatedOutput, extractPath));
     } catch (IOException e) {
       throw new RuntimeException("Error copying file.", e);
     }
   }
 
-  private Optional<GeneratedOutput> extractFromZip(byte[] zipFile, String filenameInZip)
+  private void writeToResponse(final HttpServletResponse response,
+      GeneratedOutput generatedOutput, String extractPath) throws IOException {
+    if (extractPath == null || extractPath.trim().isEmpty()) {
+      writeToResponse(response, generatedOutput);
+      return;
+    }
+
+    if (generatedOutput.getFileName().endsWith(ZIPFILE_EXTENSION)) {
+      Optional<GeneratedOutput> extractionResult =
+          extractFromZip(generatedOutput.getInputStream(), extractPath);
+      if (extractionResult.isPresent()) {
+        writeToResponse(response, extractionResult.get());
+        return;
+      }
+    }
+
+    response.sendError(HttpServletResponse.SC_NOT_FOUND);
+  }
+
+  private Optional<GeneratedOutput> extractFromZip(InputStream zipFile, String filenameInZip)
       throws IOException {
     Objects.requireNonNull(zipFile);
     Objects.requireNonNull(filenameInZip);
 
-    ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(zipFile));
+    ZipInputStream zipInputStream = new ZipInputStream(zipFile);
     ZipEntry ze = null;
     while ((ze = zipInputStream.getNextEntry()) != null) {
       if (ze.getName().equals(filenameInZip)) {
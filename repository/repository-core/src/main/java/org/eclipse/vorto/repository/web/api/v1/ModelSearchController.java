@@ -19,6 +19,8 @@ import java.util.List;
 import java.util.stream.Collectors;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.search.ISearchService;
+import org.eclipse.vorto.repository.search.SearchPage;
+import org.eclipse.vorto.repository.search.SearchPageRequest;
 import org.eclipse.vorto.repository.web.AbstractRepositoryController;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -56,6 +58,28 @@ public class ModelSearchController extends AbstractRepositoryController {
     }).collect(Collectors.toList());
   }
    
+  @RequestMapping(value = "/models", method = RequestMethod.GET, params = "pageSize",
+      produces = "application/json")
+  @CrossOrigin(origins = "https://www.eclipse.org")
+  public SearchPage searchPageByExpression(
+      @ApiParam(value = "a free-text search expression",
+          required = true) @RequestParam("expression") String expression,
+      @ApiParam(value = "maximum number of models of the page, ignored if countOnly is set",
+          required = true) @RequestParam("pageSize") int pageSize,
+      @ApiParam(value = "cursor returned with the previous page, omitted for the first page",
+          required = false) @RequestParam(value = "after", required = false) String after,
+      @ApiParam(value = "comma-separated fields the models are populated with, e.g. displayName",
+          required = false) @RequestParam(value = "fields", required = false) List<String> fields,
+      @ApiParam(value = "true to only return the total number of matching models",
+          required = false) @RequestParam(value = "countOnly",
+              defaultValue = "false") boolean countOnly)
+      throws UnsupportedEncodingException {
+
+    SearchPageRequest page = countOnly ? SearchPageRequest.count()
+        : SearchPageRequest.first(pageSize).withAfter(after).withFields(fields);
+    return searchService.search(URLDecoder.decode(expression, "utf-8"), page);
+  }
+
   public ISearchService getSearchService() {
     return searchService;
   }
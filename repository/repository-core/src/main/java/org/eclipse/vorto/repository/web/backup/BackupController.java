@@ -12,8 +12,8 @@
  */
 package org.eclipse.vorto.repository.web.backup;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.text.SimpleDateFormat;
 import java.util.Collection;
 import java.util.Date;
@@ -21,7 +21,6 @@ import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import javax.servlet.http.HttpServletResponse;
-import org.apache.commons.io.IOUtils;
 import org.eclipse.vorto.repository.backup.IBackupRestoreService;
 import org.eclipse.vorto.repository.domain.Tenant;
 import org.eclipse.vorto.repository.web.AbstractRepositoryController;
@@ -79,7 +78,7 @@ public class BackupController extends AbstractRepositoryController {
     response.setContentType(APPLICATION_OCTET_STREAM);
 
     try {
-      IOUtils.copy(new ByteArrayInputStream(backupRestoreService.createBackup(tenantFilter)), response.getOutputStream());
+      backupRestoreService.createBackup(tenantFilter, response.getOutputStream());
       response.flushBuffer();
     } catch (IOException e) {
       throw new GenericApplicationException("Error copying file.", e);
@@ -120,9 +119,11 @@ public class BackupController extends AbstractRepositoryController {
       throw new UploadTooLargeException("backup", maxBackupSize);
     }
     
-    return backupRestoreService.restoreRepository(file.getBytes(), tenantPredicate)
-        .stream().map(tenant -> tenant.getNamespaces().iterator().next().getName())
-        .collect(Collectors.toList());
+    try (InputStream backupFile = file.getInputStream()) {
+      return backupRestoreService.restoreRepository(backupFile, tenantPredicate)
+          .stream().map(tenant -> tenant.getNamespaces().iterator().next().getName())
+          .collect(Collectors.toList());
+    }
   }
 
   @RequestMapping(method = RequestMethod.GET, value = "/rest/namespaces/backup")
@@ -18,11 +18,13 @@ import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.security.Principal;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -406,60 +408,62 @@ public class ModelRepositoryController extends AbstractRepositoryController {
     logger.info("Exporting information models for user - results: "
         + userModels.size());
 
-    sendAsZipFile(response, user.getUsername() + "-models.zip",
-        getModelsAndDependencies(userModels));
+    sendAsZipFile(response, user.getUsername() + "-models.zip", userModels);
   }
 
   private IModelRepository getModelRepository(String tenantId) {
     return this.modelRepositoryFactory.getRepository(tenantId);
   }
 
-  private Map<ModelInfo, FileContent> getModelsAndDependencies(Collection<ModelId> modelIds) {
-    Map<ModelInfo, FileContent> modelsMap = new HashMap<>();
+  /**
+   * Writes the given models and all of their dependencies to a ZIP file that is streamed to the
+   * response as the models are resolved. Every model is only resolved and written once, no matter
+   * how many of the exported models reference it. If a model cannot be resolved, the response
+   * is aborted.
+   */
+  private void sendAsZipFile(final HttpServletResponse response, final String fileName,
+      Collection<ModelId> modelIds) {
+    response.setHeader(CONTENT_DISPOSITION, ATTACHMENT_FILENAME + fileName);
+    response.setContentType(APPLICATION_OCTET_STREAM);
 
-    if (modelIds != null && !modelIds.isEmpty()) {
-      for (ModelId modelId : modelIds) {
+    try {
+      ZipOutputStream zos = new ZipOutputStream(response.getOutputStream());
+
+      Set<ModelId> visited = new HashSet<>();
+      Deque<ModelId> pending = new ArrayDeque<>();
+      if (modelIds != null) {
+        pending.addAll(modelIds);
+      }
+      while (!pending.isEmpty()) {
+        ModelId modelId = pending.pop();
+        if (!visited.add(modelId)) {
+          continue;
+        }
         IModelRepository modelRepo = getModelRepository(modelId);
-        ModelInfo modelInfo = modelRepo.getById(modelId);
         Optional<FileContent> modelContent = modelRepo.getFileContent(modelId, Optional.empty());
         if (modelContent.isPresent()) {
-          modelsMap.put(modelInfo, modelContent.get());
-          modelsMap.putAll(getModelsAndDependencies(modelInfo.getReferences()));
+          ModelInfo modelInfo = modelRepo.getById(modelId);
+          ZipEntry zipEntry =
+              new ZipEntry(modelId.getPrettyFormat() + modelInfo.getType().getExtension());
+          zos.putNextEntry(zipEntry);
+          zos.write(modelContent.get().getContent());
+          zos.closeEntry();
+          pending.addAll(modelInfo.getReferences());
         }
       }
-    }
-
-    return modelsMap;
-  }
 
-  private void sendAsZipFile(final HttpServletResponse response, final String fileName,
-      Map<ModelInfo, FileContent> models) {
-    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    ZipOutputStream zos = new ZipOutputStream(baos);
-
-    try {
-      for (Map.Entry<ModelInfo, FileContent> model : models.entrySet()) {
-        ModelInfo modelResource = model.getKey();
-        ZipEntry zipEntry = new ZipEntry(
-            modelResource.getId().getPrettyFormat() + modelResource.getType().getExtension());
-        zos.putNextEntry(zipEntry);
-        zos.write(model.getValue().getContent());
-        zos.closeEntry();
-      }
-
-      zos.close();
-      baos.close();
-    } catch (Exception ex) {
-      throw new GenericApplicationException("error in creating zip file.", ex);
-    }
-
-    response.setHeader(CONTENT_DISPOSITION, ATTACHMENT_FILENAME + fileName);
-    response.setContentType(APPLICATION_OCTET_STREAM);
-    try {
-      IOUtils.copy(new ByteArrayInputStream(baos.toByteArray()), response.getOutputStream());
+      zos.finish();
       response.flushBuffer();
-    } catch (IOException e) {
-      throw new GenericApplicationException("Error copying file.", e);
+    } catch (IOException ex) {
+      throw new GenericApplicationException("error in creating zip file.", ex);
+    } catch (RuntimeException ex) {
+      logger.error("Error while streaming zip file " + fileName, ex);
+      // parts of the zip file may already have been sent. Rethrowing aborts the response instead
+      // of completing it with a truncated zip file that looks like a successful download.
+      if (!response.isCommitted()) {
+        response.reset();
+      }
+      throw ex;
     }
   }
 
@@ -494,7 +498,7 @@ public class ModelRepositoryController extends AbstractRepositoryController {
       final String fileName =
           modelID.getNamespace() + "_" + modelID.getName() + "_" + modelID.getVersion() + ".zip";
 
-      sendAsZipFile(response, fileName, getModelsAndDependencies(mappingModelIds));
+      sendAsZipFile(response, fileName, mappingModelIds);
       return new ResponseEntity<>(true, HttpStatus.OK);
 
     } catch (FatalModelRepositoryException ex) {
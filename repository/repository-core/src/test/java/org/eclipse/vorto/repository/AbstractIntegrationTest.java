@@ -30,11 +30,15 @@ import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.core.events.AppEvent;
 import org.eclipse.vorto.repository.core.impl.InMemoryTemporaryStorage;
+import org.eclipse.vorto.repository.core.impl.ModelInfoCache;
+import org.eclipse.vorto.repository.core.impl.ModelPolicyCache;
+import org.eclipse.vorto.repository.core.impl.ModelReferenceIndex;
 import org.eclipse.vorto.repository.core.impl.ModelRepositoryEventListener;
 import org.eclipse.vorto.repository.core.impl.ModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.impl.UserContext;
 import org.eclipse.vorto.repository.core.impl.parser.ErrorMessageProvider;
 import org.eclipse.vorto.repository.core.impl.parser.ModelParserFactory;
+import org.eclipse.vorto.repository.core.impl.parser.ParsedModelCache;
 import org.eclipse.vorto.repository.core.impl.utils.ModelSearchUtil;
 import org.eclipse.vorto.repository.core.impl.utils.ModelValidationHelper;
 import org.eclipse.vorto.repository.core.impl.validation.AttachmentValidator;
@@ -101,6 +105,8 @@ public abstract class AbstractIntegrationTest {
 
   protected ModelParserFactory modelParserFactory = null;
 
+  protected ParsedModelCache parsedModelCache = null;
+
   protected ModelRepositoryFactory repositoryFactory;
 
   protected TenantService tenantService = Mockito.mock(TenantService.class);
@@ -148,10 +154,12 @@ public abstract class AbstractIntegrationTest {
 
     ModelRepositoryEventListener supervisor = new ModelRepositoryEventListener();
     IndexingEventListener indexingSupervisor = new IndexingEventListener(indexingService);
+    ModelPolicyCache policyCache = new ModelPolicyCache(1000, 600, 0);
     
     Collection<ApplicationListener<AppEvent>> listeners = new ArrayList<>();
     listeners.add(supervisor);
     listeners.add(indexingSupervisor);
+    listeners.add(policyCache);
     
     ApplicationEventPublisher eventPublisher = new MockAppEventPublisher(listeners);
     
@@ -162,8 +170,12 @@ public abstract class AbstractIntegrationTest {
     accountService.setTenantUserRepo(Mockito.mock(ITenantUserRepo.class));
     accountService.setTenantRepo(tenantRepo);
     
+    parsedModelCache = new ParsedModelCache(1000, 3600);
+    supervisor.setParsedModelCache(parsedModelCache);
+
     modelParserFactory = new ModelParserFactory();
     modelParserFactory.init();
+    modelParserFactory.setParsedModelCache(parsedModelCache);
 
     RepositoryConfiguration config =
         RepositoryConfiguration.read(new ClassPathResource("vorto-repository.json").getPath());
@@ -189,6 +201,9 @@ public abstract class AbstractIntegrationTest {
       }
     };
     repositoryFactory.setApplicationEventPublisher(eventPublisher);
+    repositoryFactory.setModelInfoCache(new ModelInfoCache(1000, 600));
+    repositoryFactory.setModelReferenceIndex(new ModelReferenceIndex(600));
+    repositoryFactory.setPolicyCache(policyCache);
     repositoryFactory.start();
 
     supervisor.setRepositoryFactory(repositoryFactory);
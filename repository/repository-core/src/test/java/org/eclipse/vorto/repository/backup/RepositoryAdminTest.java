@@ -15,6 +15,9 @@ package org.eclipse.vorto.repository.backup;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.fail;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import org.apache.commons.io.IOUtils;
 import org.eclipse.vorto.repository.AbstractIntegrationTest;
 import org.eclipse.vorto.repository.core.IUserContext;
@@ -49,6 +52,22 @@ public class RepositoryAdminTest extends AbstractIntegrationTest {
     assertEquals(4, getModelRepository(admin).search("*").size());
   }
 
+  @Test
+  public void testBackupAndRestoreStreams() throws Exception {
+    IUserContext admin = createUserContext("admin");
+    
+    try (InputStream backup = new ClassPathResource("sample_models/backup1.xml").getInputStream()) {
+      getRepoManager(admin).restore(backup);
+    }
+    assertEquals(4, getModelRepository(admin).search("*").size());
+    
+    ByteArrayOutputStream backedUpContent = new ByteArrayOutputStream();
+    getRepoManager(admin).backup(backedUpContent);
+    
+    getRepoManager(admin).restore(new ByteArrayInputStream(backedUpContent.toByteArray()));
+    assertEquals(4, getModelRepository(admin).search("*").size());
+  }
+
   @Test
   public void testRestoreBackupExistingData() throws Exception {
     IUserContext admin = createUserContext("admin");
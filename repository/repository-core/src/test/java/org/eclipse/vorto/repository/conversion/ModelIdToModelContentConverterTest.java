@@ -26,6 +26,8 @@ import org.junit.Test;
 import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -69,6 +71,30 @@ public class ModelIdToModelContentConverterTest extends AbstractIntegrationTest
     assertEquals(0,((EntityModel)content.getModels().get(content.getRoot())).getStereotypes().size());
   }
 
+  @Test
+  public void testConvertWithCache() throws Exception {
+    importModel("Color.type");
+    importModel("sample.mapping");
+
+    ModelContentCache cache = new ModelContentCache(1024 * 1024, 3600, 300);
+    ModelIdToModelContentConverter converter = new ModelIdToModelContentConverter(this.repositoryFactory, cache);
+    ModelId colorId = ModelId.fromPrettyFormat("org.eclipse.vorto.examples.type:Color:1.0.0");
+    String user = ModelContentCache.getCurrentUser();
+
+    ModelContent first = converter.convert(colorId, Optional.of("ios"));
+    assertTrue(cache.get(colorId, Optional.of("ios"), user).isPresent());
+    assertFalse(cache.get(colorId, Optional.empty(), user).isPresent());
+    // content resolved with the permissions of a user is not served to other users
+    assertFalse(cache.get(colorId, Optional.of("ios"), "otherUser").isPresent());
+
+    ModelContent second = converter.convert(colorId, Optional.of("ios"));
+    assertNotSame(first.getModels().get(colorId), second.getModels().get(colorId));
+    assertEquals("colortype",((EntityModel)second.getModels().get(second.getRoot())).getStereotypes().get(0).getName());
+
+    cache.invalidate(colorId, null);
+    assertFalse(cache.get(colorId, Optional.of("ios"), user).isPresent());
+  }
+
   @Test
   public void testConvertWithoutTargetPlatformLatestTag() throws Exception {
     setupTestDataForLatestTag();
@@ -17,8 +17,10 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Optional;
 import org.apache.commons.io.IOUtils;
+import org.eclipse.vorto.core.api.model.model.Model;
 import org.eclipse.vorto.repository.AbstractIntegrationTest;
 import org.eclipse.vorto.repository.core.impl.parser.IModelParser;
 import org.eclipse.vorto.repository.core.impl.parser.LocalModelWorkspace;
@@ -84,6 +86,61 @@ public class ModelParserTest extends AbstractIntegrationTest {
     }
   }
 
+  @Test
+  public void testModelParsingWithReleasedDependencyInRepo() throws Exception {
+    ModelInfo color = importModel("Color.type");
+    ModelInfo colorLight = importModel("Colorlight.fbmodel");
+    setReleaseState(color);
+    setReleaseState(colorLight);
+
+    for (int i = 0; i < 2; i++) {
+      ModelInfo modelInfo = modelParserFactory.getParser("ColorLightIM.infomodel")
+          .enableValidation()
+          .parse(new ClassPathResource("sample_models/ColorLightIM.infomodel").getInputStream());
+      assertEquals("ColorLightIM", modelInfo.getId().getName());
+      assertEquals(1, parsedModelCache.size());
+    }
+
+    parsedModelCache.invalidate(color.getId());
+    assertEquals(0, parsedModelCache.size());
+  }
+
+  @Test
+  public void testModelParsingAttachesSharedReleasedDependencyOnce() throws Exception {
+    ModelInfo color = importModel("Color.type");
+    ModelInfo colorLight = importModel("Colorlight.fbmodel");
+    ModelInfo colorDimmer = importModel("ColorDimmer.fbmodel");
+    setReleaseState(color);
+    setReleaseState(colorLight);
+    setReleaseState(colorDimmer);
+
+    LocalModelWorkspace workspace =
+        new LocalModelWorkspace(repositoryFactory, Collections.emptyList(), parsedModelCache);
+    ModelInfo modelInfo = modelParserFactory.getParser("ColorDimmerLightIM.infomodel")
+        .setWorkspace(workspace)
+        .enableValidation()
+        .parse(new ClassPathResource("sample_models/ColorDimmerLightIM.infomodel")
+            .getInputStream());
+    assertEquals("ColorDimmerLightIM", modelInfo.getId().getName());
+
+    assertTrue(workspace.getModelIds().contains(color.getId()));
+    assertEquals(1, workspace.getResourceSet().getResources().stream()
+        .filter(resource -> !resource.getContents().isEmpty())
+        .filter(resource -> "Color".equals(((Model) resource.getContents().get(0)).getName()))
+        .count());
+  }
+
+  @Test
+  public void testModelParsingDoesNotCacheDraftDependencies() throws Exception {
+    importModel("Color.type");
+    importModel("Colorlight.fbmodel");
+
+    modelParserFactory.getParser("ColorLightIM.infomodel")
+        .enableValidation()
+        .parse(new ClassPathResource("sample_models/ColorLightIM.infomodel").getInputStream());
+    assertEquals(0, parsedModelCache.size());
+  }
+
   @Test
   public void testModelParsingWithDependencyPassedIn() {
     try {
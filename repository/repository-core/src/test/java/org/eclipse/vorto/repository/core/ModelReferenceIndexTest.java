@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.core.impl.ModelReferenceIndex;
+import org.eclipse.vorto.repository.core.impl.ModelReferenceIndex.TenantReferences;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ModelReferenceIndexTest {
+
+  private static final ModelId COLOR = ModelId.fromPrettyFormat("com.acme:Color:1.0.0");
+
+  private static final ModelId LAMP = ModelId.fromPrettyFormat("com.acme:Lamp:1.0.0");
+
+  @Test(timeout = 10000)
+  public void testTenantIsLoadedOnceAndKeepsChangesMadeWhileLoading() throws Exception {
+    ModelReferenceIndex index = new ModelReferenceIndex(600);
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger loads = new AtomicInteger();
+    Supplier<TenantReferences> loader = () -> {
+      loads.incrementAndGet();
+      loading.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return new TenantReferences();
+    };
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<TenantReferences> first = executor.submit(() -> index.get("tenant", loader));
+      loading.await();
+      Future<TenantReferences> second = executor.submit(() -> index.get("tenant", loader));
+
+      // writes to this and other tenants must not discard the load
+      index.update("tenant", LAMP, ModelType.Functionblock, null,
+          Collections.singletonList(COLOR));
+      index.update("other", COLOR, ModelType.Datatype, null, Collections.emptyList());
+      release.countDown();
+
+      TenantReferences references = first.get(5, TimeUnit.SECONDS);
+      Assert.assertSame(references, second.get(5, TimeUnit.SECONDS));
+      Assert.assertEquals(Collections.singletonList(LAMP), references.getReferencing(COLOR));
+    } finally {
+      executor.shutdownNow();
+    }
+
+    Assert.assertEquals(1, loads.get());
+    Assert.assertEquals(Collections.singletonList(LAMP),
+        index.get("tenant", loader).getReferencing(COLOR));
+    Assert.assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void testInvalidatedLoadIsNotCached() {
+    ModelReferenceIndex index = new ModelReferenceIndex(600);
+    AtomicInteger loads = new AtomicInteger();
+    Supplier<TenantReferences> loader = () -> {
+      if (loads.incrementAndGet() == 1) {
+        index.invalidateTenant("tenant");
+      }
+      return new TenantReferences();
+    };
+
+    index.get("tenant", loader);
+    index.get("tenant", loader);
+    index.get("tenant", loader);
+    Assert.assertEquals(2, loads.get());
+  }
+}
@@ -546,4 +546,31 @@ public class ModelRepositoryAttachmentTest extends AbstractIntegrationTest {
                 .toByteArray(new ClassPathResource("sample_models/backup1.xml").getInputStream())),
         erle);
   }
+
+  @Test
+  public void testSearchReflectsAttachedImageAndState() throws Exception {
+    IUserContext admin = createUserContext("admin", "playground");
+    importModel("Color.type", admin);
+    importModel("Colorlight.fbmodel", admin);
+    importModel("ColorLightIM.infomodel", admin);
+    ModelId modelId = new ModelId("ColorLightIM", "com.mycompany", "1.0.0");
+
+    IModelRepository repository = repositoryFactory.getRepository(admin);
+    ModelInfo found = repository.search("ColorLightIM").get(0);
+    assertFalse(found.isHasImage());
+
+    repository.attachFile(modelId,
+        new FileContent("backup1.xml",
+            IOUtils.toByteArray(
+                new ClassPathResource("sample_models/backup1.xml").getInputStream())),
+        admin, Attachment.TAG_IMAGE);
+    repository.updateState(modelId, "InReview");
+
+    found = repository.search("ColorLightIM").get(0);
+    assertTrue(found.isHasImage());
+    assertEquals("InReview", found.getState());
+
+    repository.deleteAttachment(modelId, "backup1.xml");
+    assertFalse(repository.search("ColorLightIM").get(0).isHasImage());
+  }
 }
@@ -13,11 +13,14 @@
 package org.eclipse.vorto.repository.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.List;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.AbstractIntegrationTest;
+import org.eclipse.vorto.repository.core.PolicyEntry.Permission;
+import org.eclipse.vorto.repository.core.PolicyEntry.PrincipalType;
 import org.junit.Test;
 
 public class ModelRepositoryTest2 extends AbstractIntegrationTest {
@@ -36,5 +39,43 @@ public class ModelRepositoryTest2 extends AbstractIntegrationTest {
     assertTrue(referencedBy.stream().anyMatch(model -> model.getId().getName().equals("ColorLight")));
     assertTrue(referencedBy.stream().anyMatch(model -> model.getId().getName().equals("ColorLight2")));
   }
+
+  @Test
+  public void testReferencedByFollowsSaveAndRemove() {
+    IUserContext creator = createUserContext("creator", "playground");
+    importModel("Color.type", creator);
+    importModel("Colorlight.fbmodel", creator);
+    ModelId color = new ModelId("Color", "org.eclipse.vorto.examples.type", "1.0.0");
+    ModelId colorLight = new ModelId("ColorLight", "org.eclipse.vorto.examples.fb", "1.0.0");
+
+    IModelRepository repository = repositoryFactory.getRepository(creator);
+    assertEquals(1, repository.getModelsReferencing(color).size());
+
+    repository.removeModel(colorLight);
+    assertTrue(repository.getModelsReferencing(color).isEmpty());
+
+    importModel("Colorlight.fbmodel", creator);
+    List<ModelInfo> referencedBy = repository.getModelsReferencing(color);
+    assertEquals(1, referencedBy.size());
+    assertEquals(colorLight, referencedBy.get(0).getId());
+  }
+
+  @Test
+  public void testPermissionFollowsPolicyChanges() {
+    importModel("Color.type", createUserContext("creator", "playground"));
+    ModelId color = new ModelId("Color", "org.eclipse.vorto.examples.type", "1.0.0");
+    IModelPolicyManager adminPolicies =
+        repositoryFactory.getPolicyManager(createUserContext("admin", "playground"));
+    IModelPolicyManager alexPolicies =
+        repositoryFactory.getPolicyManager(createUserContext("alex", "playground"));
+
+    adminPolicies.addPolicyEntry(color, PolicyEntry.of("alex", PrincipalType.User, Permission.READ));
+    assertTrue(alexPolicies.hasPermission(color, Permission.READ));
+    assertFalse(alexPolicies.hasPermission(color, Permission.MODIFY));
+
+    adminPolicies.addPolicyEntry(color,
+        PolicyEntry.of("alex", PrincipalType.User, Permission.MODIFY));
+    assertTrue(alexPolicies.hasPermission(color, Permission.MODIFY));
+  }
   
 }
@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core;
+
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.Set;
+import javax.jcr.Repository;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import org.eclipse.vorto.repository.core.impl.RepositorySessionPool;
+import org.eclipse.vorto.repository.core.impl.RequestRepositorySessionHelper;
+import org.eclipse.vorto.repository.domain.Role;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+public class RepositorySessionPoolTest {
+
+  private static final String TENANT = "tenant";
+
+  private static final Authentication ALICE =
+      new UsernamePasswordAuthenticationToken("alice", "alice", Collections.emptyList());
+
+  private static final Set<Role> MODEL_CREATOR = Collections.singleton(Role.MODEL_CREATOR);
+
+  @Test
+  public void testReleasedSessionIsReusedBySamePrincipal() throws RepositoryException {
+    RepositorySessionPool pool = new RepositorySessionPool(4, 64, 300);
+    Repository repository = createMockRepository();
+
+    Session session = pool.borrow(repository, TENANT, ALICE, MODEL_CREATOR);
+    pool.release(session);
+    Assert.assertTrue(session.isLive());
+
+    Assert.assertSame(session, pool.borrow(repository, TENANT, ALICE, MODEL_CREATOR));
+    Assert.assertEquals(1, pool.getLogins());
+    Assert.assertEquals(1, pool.getReuses());
+    Assert.assertEquals(1, pool.getBorrowedCount());
+  }
+
+  @Test
+  public void testSessionIsNotReusedByOtherPrincipal() throws RepositoryException {
+    RepositorySessionPool pool = new RepositorySessionPool(4, 64, 300);
+    Repository repository = createMockRepository();
+
+    Session session = pool.borrow(repository, TENANT, ALICE, MODEL_CREATOR);
+    pool.release(session);
+
+    Assert.assertNotSame(session,
+        pool.borrow(repository, TENANT, ALICE, Collections.singleton(Role.TENANT_ADMIN)));
+    Assert.assertNotSame(session, pool.borrow(repository, "otherTenant", ALICE, MODEL_CREATOR));
+    Assert.assertEquals(3, pool.getLogins());
+  }
+
+  @Test
+  public void testPendingChangesAreDiscardedOnRelease() throws RepositoryException {
+    RepositorySessionPool pool = new RepositorySessionPool(4, 64, 300);
+    Session session = pool.borrow(createMockRepository(), TENANT, ALICE, MODEL_CREATOR);
+    when(session.hasPendingChanges()).thenReturn(true);
+
+    pool.release(session);
+
+    verify(session).refresh(false);
+  }
+
+  @Test
+  public void testIdleSessionsAreBounded() throws RepositoryException {
+    RepositorySessionPool pool = new RepositorySessionPool(1, 64, 300);
+    Repository repository = createMockRepository();
+
+    Session first = pool.borrow(repository, TENANT, ALICE, MODEL_CREATOR);
+    Session second = pool.borrow(repository, TENANT, ALICE, MODEL_CREATOR);
+    pool.release(first);
+    pool.release(second);
+
+    Assert.assertTrue(first.isLive());
+    Assert.assertFalse(second.isLive());
+    Assert.assertEquals(1, pool.getIdleCount());
+  }
+
+  @Test
+  public void testInvalidateTenantLogsOutIdleSessions() throws RepositoryException {
+    RepositorySessionPool pool = new RepositorySessionPool(4, 64, 300);
+    Session session = pool.borrow(createMockRepository(), TENANT, ALICE, MODEL_CREATOR);
+    pool.release(session);
+
+    pool.invalidateTenant(TENANT);
+
+    Assert.assertFalse(session.isLive());
+    Assert.assertEquals(0, pool.getIdleCount());
+  }
+
+  @Test
+  public void testNonWiredHelperReturnsSessionToPool() throws RepositoryException {
+    RepositorySessionPool pool = new RepositorySessionPool(4, 64, 300);
+    RequestRepositorySessionHelper helper = new RequestRepositorySessionHelper(false);
+    helper.setTenantId(TENANT);
+    helper.setUser(ALICE);
+    helper.setRolesInTenant(MODEL_CREATOR);
+    helper.setRepository(createMockRepository());
+    helper.setSessionPool(pool);
+
+    Session session = helper.getSession();
+    helper.logoutSessionIfNotReusable(session);
+    Assert.assertTrue(session.isLive());
+    Assert.assertSame(session, helper.getSession());
+  }
+
+  private Repository createMockRepository() throws RepositoryException {
+    Repository repository = Mockito.mock(Repository.class);
+    when(repository.login(anyObject(), anyString())).thenAnswer(inv -> createNewMockSession());
+    return repository;
+  }
+
+  private Session createNewMockSession() {
+    Session liveSession = Mockito.mock(Session.class);
+    when(liveSession.isLive()).thenAnswer(inv -> Mockito.mockingDetails(liveSession)
+        .getInvocations().stream().noneMatch(i -> "logout".equals(i.getMethod().getName())));
+    return liveSession;
+  }
+}
@@ -49,6 +49,29 @@ public class ModelBulkImportTest extends AbstractIntegrationTest {
     verifyAllModelsAreValid(uploadResults);
   }
 
+  @Test
+  public void testUploadValidModelsFromStream() throws IOException {
+    String fileName = "sample_models/valid-models.zip";
+    bulkUploadHelper.setParallelism(1);
+    List<ValidationReport> uploadResults = bulkUploadHelper.uploadMultiple(
+        new ClassPathResource(fileName).getInputStream(), fileName,
+        createUserContext("admin", "playground"));
+    assertEquals(3, uploadResults.size());
+    verifyAllModelsAreValid(uploadResults);
+  }
+
+  @Test
+  public void testUploadModelsReferencingExistingModels() throws IOException {
+    importModel("Color.type");
+    String fileName = "sample_models/missing-models.zip";
+    List<ValidationReport> uploadResults = bulkUploadHelper.uploadMultiple(
+        loadContentForFile(fileName), fileName, createUserContext("admin", "playground"));
+    assertEquals(2, uploadResults.size());
+    assertFalse(uploadResults.stream()
+        .filter(r -> r.getModel().getId().getName().equals("Color")).findFirst().get()
+        .isValid());
+  }
+
   /*
    * Invalid zip file extension
    */
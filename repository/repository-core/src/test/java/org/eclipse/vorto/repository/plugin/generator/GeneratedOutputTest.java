@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.plugin.generator;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+public class GeneratedOutputTest {
+
+  private static final byte[] CONTENT = "generated content".getBytes(StandardCharsets.UTF_8);
+
+  @Test
+  public void writeStreamedOutput() throws IOException {
+    GeneratedOutput output =
+        new GeneratedOutput(new ByteArrayInputStream(CONTENT), "generated.txt", -1);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    output.writeTo(out);
+
+    assertArrayEquals(CONTENT, out.toByteArray());
+    assertEquals(-1, output.getSize());
+  }
+
+  @Test
+  public void readStreamedOutputIntoMemory() throws IOException {
+    GeneratedOutput output =
+        new GeneratedOutput(new ByteArrayInputStream(CONTENT), "generated.txt", -1);
+
+    assertArrayEquals(CONTENT, output.getContent());
+    assertEquals(CONTENT.length, output.getSize());
+
+    // the content can be read again once it is in memory
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    output.writeTo(out);
+    assertArrayEquals(CONTENT, out.toByteArray());
+  }
+}
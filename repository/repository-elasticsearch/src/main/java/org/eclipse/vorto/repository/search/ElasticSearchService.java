@@ -15,14 +15,23 @@ package org.eclipse.vorto.repository.search;
 import com.google.common.base.Strings;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -43,8 +52,15 @@ import org.eclipse.vorto.repository.tenant.ITenantService;
 import org.eclipse.vorto.repository.utils.PreConditions;
 import org.eclipse.vorto.repository.web.api.v1.dto.NamespaceDto;
 import org.eclipse.vorto.repository.workflow.ModelState;
+import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.DocWriteResponse;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.bulk.BackoffPolicy;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
@@ -56,31 +72,38 @@ import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.action.update.UpdateResponse;
+import org.elasticsearch.client.GetAliasesResponse;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.client.indices.CreateIndexRequest;
 import org.elasticsearch.client.indices.CreateIndexResponse;
 import org.elasticsearch.client.indices.GetIndexRequest;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.reindex.BulkByScrollResponse;
 import org.elasticsearch.index.reindex.DeleteByQueryRequest;
-import org.elasticsearch.index.reindex.ReindexRequest;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
+import org.elasticsearch.search.sort.SortOrder;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 /**
  * Search Service implementation using a remote Elastic Search Service.<br/>
  * This search service provides a powerful and flexible way to look for specific models.<br>
  * See documentation for {@link ElasticSearchService#search(String, IUserContext)} for full specifications.
+ * <br/>The progress of the current, or last, indexing run is published as metrics.
  * @author mena-bosch (refactored)
  */
-public class ElasticSearchService implements IIndexingService, ISearchService {
+public class ElasticSearchService implements IIndexingService, ISearchService, PublicMetrics {
 
   public static final String TEXT = "text";
 
@@ -94,9 +117,24 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
 
   private static final String DOC = "_doc";
 
+  /**
+   * Alias of the index that holds the models. The alias is switched to a new index after all
+   * models have been re-indexed.
+   */
   private static final String VORTO_INDEX = "vorto";
 
-  private static final String VORTO_INDEX_TEMP = "vorto_temp";
+  private static final int BULK_ACTIONS = 500;
+
+  private static final int BULK_SIZE_MB = 5;
+
+  private static final int BULK_CONCURRENT_REQUESTS = 4;
+
+  private static final long BULK_TIMEOUT_MINUTES = 30;
+
+  /**
+   * Maximum number of tenants whose models are read from the repository at the same time
+   */
+  private static final int TENANT_READ_THREADS = 4;
 
   private static Logger logger = Logger.getLogger(ElasticSearchService.class);
 
@@ -108,6 +146,20 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
 
   private ITenantService tenantService;
 
+  private IndexingQueue indexingQueue = null;
+
+  /**
+   * IDs of the models that were changed while all models are re-indexed into a new index, or null
+   * if no re-indexing runs. The changes are replayed into the new index before the alias is
+   * switched.
+   */
+  private volatile Set<ModelId> changedDuringReindex = null;
+
+  /**
+   * Progress of the current, or last, indexing run, or null if no indexing has run yet
+   */
+  private volatile ReindexProgress reindexProgress = null;
+
   /**
    * An un-tagged name token in a search will search into the following fields:
    * <ul>
@@ -184,8 +236,9 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
     logger.info("Checking index.");
     if (!indexExist(VORTO_INDEX)) {
       logger.info("Index doesn't exist. Try creating it.");
-      createIndexWithMapping(VORTO_INDEX, createMappingForIndex());
-      logger.info(String.format("Index '%s' created.", VORTO_INDEX));
+      String index = createVersionedIndex();
+      switchAlias(index, Collections.emptySet());
+      logger.info(String.format("Index '%s' created with alias '%s'.", index, VORTO_INDEX));
     } else {
       logger.info("Index already exist");
     }
@@ -201,113 +254,71 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
   }
 
   /**
-   * This forces a full reindexing of all model, and should be used in the rare occasion where
-   * a change in the mapping has been created, e.g. a new searchable field, or a change in a field's
-   * type.<br/>
-   * The following operations are performed in order, synchronously:
-   * <ol>
-   *   <li>
-   *     Checks if the vorto index actually exists. If it doesn't, creates it and returns (nothing
-   *     else worth doing).
-   *   </li>
-   *   <li>
-   *     Checks if the vorto temp index ({@link ElasticSearchService#VORTO_INDEX_TEMP}) exists. If
-   *     so, deletes the temp index.
-   *   </li>
-   *   <li>
-   *     Creates the temp index with the current mapping.
-   *   </li>
-   *   <li>
-   *     Uses a reindex request to merge the vorto index ({@link ElasticSearchService#VORTO_INDEX})
-   *     into the temp index.
-   *   </li>
-   *   <li>
-   *     Deletes the vorto index.
-   *   </li>
-   *   <li>
-   *     Re-creates the vorto index.
-   *   </li>
-   *   <li>
-   *     Merges back the temp index in the vorto index.
-   *   </li>
-   *   <li>
-   *     Deletes the temp index.
-   *   </li>
-   *   <li>
-   *     Reindexes all model in the vorto index - see {@link IIndexingService#reindexAllModels()}.
-   *   </li>
-   * </ol>
+   * Creates a new, empty index with the current mapping, named after the Vorto index alias and
+   * the time of creation
    *
-   * @return
+   * @return name of the created index
    */
-  @Override
-  public IndexingResult forceReindexAllModels() {
-    // no Vorto index - nothing to do
-    if (!indexExist(VORTO_INDEX)) {
-      createIndexIfNotExisting();
-      return new IndexingResult();
-    }
-    // first delete the VORTO_INDEX_TEMP index if it exists
-    if (indexExist(VORTO_INDEX_TEMP)) {
-      DeleteIndexRequest deleteTempIndexRequest = new DeleteIndexRequest().indices(VORTO_INDEX_TEMP);
-      try {
-        client.indices().delete(deleteTempIndexRequest, RequestOptions.DEFAULT);
-      }
-      catch (IOException ioe) {
-        throw new IndexingException(ioe.getMessage(), ioe);
-      }
-    }
-    // creates the temporary index to hold the new mapping
-    CreateIndexRequest createTempIndexRequest = new CreateIndexRequest(VORTO_INDEX_TEMP);
-    createTempIndexRequest.mapping(createMappingForIndex());
-    try {
-      client.indices().create(createTempIndexRequest, RequestOptions.DEFAULT);
-    }
-    catch (IOException ioe) {
-      throw new IndexingException(ioe.getMessage(), ioe);
-    }
-    // copies the vorto index data to the new temp index with new mapping
-    ReindexRequest reindexRequest = new ReindexRequest().setSourceIndices(VORTO_INDEX).setDestIndex(VORTO_INDEX_TEMP);
-    reindexRequest.setConflicts("proceed");
-    reindexRequest.setRefresh(true);
-    try {
-      client.reindex(reindexRequest, RequestOptions.DEFAULT);
-    }
-    catch (IOException ioe) {
-      throw new IndexingException(ioe.getMessage(), ioe);
-    }
-    // deletes the vorto index
-    DeleteIndexRequest deleteIndexRequest = new DeleteIndexRequest().indices(VORTO_INDEX);
+  private String createVersionedIndex() {
+    String index = String.format("%s_%d", VORTO_INDEX, System.currentTimeMillis());
+    createIndexWithMapping(index, createMappingForIndex());
+    return index;
+  }
+
+  /**
+   * @return the indices the Vorto index alias currently points to. Before the alias was
+   *         introduced, the Vorto index was a concrete index with the same name as the alias.
+   */
+  private Set<String> getIndicesOfAlias() {
     try {
-      client.indices().delete(deleteIndexRequest, RequestOptions.DEFAULT);
-    }
-    catch (IOException ioe) {
-      throw new IndexingException(ioe.getMessage(), ioe);
+      GetAliasesResponse response =
+          client.indices().getAlias(new GetAliasesRequest(VORTO_INDEX), RequestOptions.DEFAULT);
+      if (!response.getAliases().isEmpty()) {
+        return response.getAliases().keySet();
+      }
+    } catch (IOException e) {
+      throw new IndexingException(
+          String.format("Error while resolving the indices of alias '%s'.", VORTO_INDEX), e);
     }
-    // re-creates the vorto index
-    createIndexIfNotExisting();
+    return indexExist(VORTO_INDEX) ? Collections.singleton(VORTO_INDEX) : Collections.emptySet();
+  }
 
-    // moves data back to vorto index
-    ReindexRequest moveBackToVortoIndex = new ReindexRequest().setSourceIndices(VORTO_INDEX_TEMP).setDestIndex(VORTO_INDEX);
-    reindexRequest.setConflicts("proceed");
-    reindexRequest.setRefresh(true);
+  /**
+   * Points the Vorto index alias to the given index and deletes the given previous indices in
+   * one atomic operation, so that searches never see an empty or partial index.
+   */
+  private void switchAlias(String index, Set<String> previousIndices) {
+    IndicesAliasesRequest request = new IndicesAliasesRequest();
+    request.addAliasAction(AliasActions.add().index(index).alias(VORTO_INDEX));
+    previousIndices.forEach(
+        previousIndex -> request.addAliasAction(AliasActions.removeIndex().index(previousIndex)));
     try {
-      client.reindex(moveBackToVortoIndex, RequestOptions.DEFAULT);
-    }
-    catch (IOException ioe) {
-      throw new IndexingException(ioe.getMessage(), ioe);
+      client.indices().updateAliases(request, RequestOptions.DEFAULT);
+    } catch (IOException e) {
+      throw new IndexingException(
+          String.format("Error while switching alias '%s' to index '%s'.", VORTO_INDEX, index), e);
     }
+  }
 
-    // deletes the temp index
-    DeleteIndexRequest deleteTempIndexRequest = new DeleteIndexRequest().indices(VORTO_INDEX_TEMP);
+  private void deleteIndex(String index) {
     try {
-      client.indices().delete(deleteTempIndexRequest, RequestOptions.DEFAULT);
-    }
-    catch (IOException ioe) {
-      throw new IndexingException(ioe.getMessage(), ioe);
+      client.indices().delete(new DeleteIndexRequest().indices(index), RequestOptions.DEFAULT);
+    } catch (IOException e) {
+      throw new IndexingException(String.format("Error while deleting index '%s'.", index), e);
     }
+  }
 
-    // finally, re-import all models
+  /**
+   * This forces a full reindexing of all model, and should be used in the rare occasion where
+   * a change in the mapping has been created, e.g. a new searchable field, or a change in a field's
+   * type.<br/>
+   * As {@link IIndexingService#reindexAllModels()} always builds a new index with the current
+   * mapping, this is the same operation.
+   *
+   * @return
+   */
+  @Override
+  public IndexingResult forceReindexAllModels() {
     return reindexAllModels();
   }
 
@@ -344,47 +355,279 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
     return property;
   }
 
-  private void deleteAllModels(String index) {
-    deleteByQuery(index, QueryBuilders.matchAllQuery());
+  /**
+   * Re-indexes all models of all tenants into a new index, while searches are still served by the
+   * current index. Only if all tenants could be read and all chunks were accepted by Elastic
+   * Search, the Vorto index alias is switched to the new index and the previous index is deleted.
+   * Otherwise the new index is dropped and the failures are reported in the result. Single models
+   * that could not be indexed are reported as well, but do not prevent the switch.<br/>
+   * Models that are changed while the re-indexing runs are written to the previous index and
+   * recorded. They are read again from the repository and replayed into the new index before the
+   * alias is switched, and once more after the switch for the changes made in between.<br/>
+   * The tenants are read concurrently by a bounded number of threads, while the chunks of the
+   * tenants that have been read are indexed.
+   */
+  @Override
+  public IndexingResult reindexAllModels() {
+    IndexingResult result = new IndexingResult();
+
+    Set<String> previousIndices = getIndicesOfAlias();
+    String index = createVersionedIndex();
+    logger.info(String.format("Re-indexing all models into index '%s'", index));
+
+    changedDuringReindex = ConcurrentHashMap.newKeySet();
+    try {
+      boolean complete;
+      try {
+        complete = indexModels(index, tenantService.getTenants(), result)
+            && replayChanges(index, result);
+      } catch (RuntimeException e) {
+        deleteIndex(index);
+        throw e;
+      }
+
+      if (complete) {
+        switchAlias(index, previousIndices);
+        logger.info(String.format("Switched alias '%s' to index '%s'", VORTO_INDEX, index));
+        replayChanges(index, result);
+      } else {
+        logger.error(String.format(
+            "Re-indexing into '%s' failed for namespaces %s, keeping the current index.", index,
+            result.getFailedNamespaces().keySet()));
+        deleteIndex(index);
+      }
+    } finally {
+      changedDuringReindex = null;
+    }
+
+    return result;
+  }
+
+  private void recordChange(ModelId modelId) {
+    Set<ModelId> changed = changedDuringReindex;
+    if (changed != null) {
+      changed.add(modelId);
+    }
+  }
+
+  /**
+   * Writes the current state of the models that were changed since the re-indexing started, or
+   * since the last replay, into the given index. Models that no longer exist are deleted from it.
+   *
+   * @return false if the changes could not be written
+   */
+  private boolean replayChanges(String index, IndexingResult result) {
+    List<ModelId> modelIds = new ArrayList<>(changedDuringReindex);
+    changedDuringReindex.removeAll(modelIds);
+    if (modelIds.isEmpty()) {
+      return true;
+    }
+
+    BulkRequest request = new BulkRequest();
+    for (ModelId modelId : modelIds) {
+      try {
+        IModelRepository repo = repositoryFactory.getRepositoryByNamespace(modelId.getNamespace());
+        ModelInfo model = repo != null ? repo.getById(modelId) : null;
+        if (model != null) {
+          request.add(createIndexRequest(index, model, repo.getTenantId()));
+        } else {
+          request.add(new DeleteRequest(index, DOC, modelId.getPrettyFormat()));
+        }
+      } catch (RuntimeException e) {
+        logger.error(String.format("Error while reading changed model '%s'",
+            modelId.getPrettyFormat()), e);
+        result.addFailedModel(modelId.getPrettyFormat(), e.getMessage());
+      }
+    }
+    if (request.numberOfActions() == 0) {
+      return true;
+    }
+
+    logger.info(String.format("Replaying %d models changed while re-indexing into '%s'",
+        request.numberOfActions(), index));
+    try {
+      BulkResponse response = client.bulk(request, RequestOptions.DEFAULT);
+      for (BulkItemResponse item : response) {
+        // deleting a model that was never indexed is not a failure
+        if (item.isFailed() && item.getOpType() != DocWriteRequest.OpType.DELETE) {
+          result.addFailedModel(item.getId(), item.getFailureMessage());
+        }
+      }
+      return true;
+    } catch (IOException e) {
+      logger.error(String.format("Error while replaying changed models into '%s'", index), e);
+      return false;
+    }
   }
 
   @Override
-  public IndexingResult reindexAllModels() {
+  public IndexingResult reindexModels(Collection<Tenant> tenants) {
     IndexingResult result = new IndexingResult();
 
-    // (1) Delete all models in the index
-    deleteAllModels(VORTO_INDEX);
+    tenants.forEach(tenant -> deleteIndexForTenant(tenant.getTenantId()));
+    indexModels(VORTO_INDEX, tenants, result);
+
+    return result;
+  }
+
+  /**
+   * Indexes the models of the given tenants in chunks. The models of several tenants are read from
+   * the repository concurrently, on behalf of the calling user, while the chunks of the tenants
+   * that have been read are indexed. Adding models blocks if too many chunks are in flight.
+   *
+   * @return true if the models of all tenants were read and every chunk was accepted
+   */
+  private boolean indexModels(String index, Collection<Tenant> tenants, IndexingResult result) {
+    ReindexProgress progress = new ReindexProgress();
+    this.reindexProgress = progress;
+    BulkProcessor bulkProcessor = createBulkProcessor(result, progress);
+
+    ExecutorService executor = new DelegatingSecurityContextExecutorService(
+        Executors.newFixedThreadPool(Math.max(1, Math.min(TENANT_READ_THREADS, tenants.size()))),
+        SecurityContextHolder.getContext());
+    try {
+      List<Future<?>> reads = tenants.stream()
+          .map(tenant -> executor
+              .submit(() -> submitModels(index, tenant, bulkProcessor, result, progress)))
+          .collect(Collectors.toList());
+      for (Future<?> read : reads) {
+        read.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      bulkProcessor.close();
+      progress.finishedAt = System.currentTimeMillis();
+      throw new IndexingException(
+          String.format("Interrupted while reading the models to index in '%s'", index), e);
+    } catch (ExecutionException e) {
+      bulkProcessor.close();
+      progress.finishedAt = System.currentTimeMillis();
+      throw new IndexingException(
+          String.format("Error while reading the models to index in '%s'", index), e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+
+    try {
+      if (!bulkProcessor.awaitClose(BULK_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+        logger.error(String.format("Timed out waiting for the models to be indexed in '%s'", index));
+        return false;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IndexingException(
+          String.format("Interrupted while indexing models in '%s'", index), e);
+    } finally {
+      progress.finishedAt = System.currentTimeMillis();
+    }
+
+    logger.info(String.format("Indexed %d of %d models in '%s'", progress.indexed.get(),
+        progress.submitted.get(), index));
+    return result.getFailedNamespaces().isEmpty() && !progress.chunkFailed.get();
+  }
 
-    // (2) Index all models in all the tenants
-    tenantService.getTenants().stream().forEach(tenant -> {
+  private void submitModels(String index, Tenant tenant, BulkProcessor bulkProcessor,
+      IndexingResult result, ReindexProgress progress) {
+    // temporary fix: getting namespace name instead of tenant ID here
+    // in the long run, once the tenant service is gone we can normalize
+    String namespace = NamespaceDto.fromTenant(tenant).getName();
+    try {
       IModelRepository repo = this.repositoryFactory.getRepository(tenant.getTenantId());
       List<ModelInfo> modelsToIndex = repo.search("");
-      if (!modelsToIndex.isEmpty()) {
-        BulkRequest bulkRequest = new BulkRequest();
-
-        modelsToIndex.forEach(model -> {
-          bulkRequest.add(createIndexRequest(model, repo.getTenantId()));
-        });
-
-        try {
-          BulkResponse bulkResponse = client.bulk(bulkRequest, RequestOptions.DEFAULT);
-          // temporary fix: getting namespace name instead of tenant ID here
-          // in the long run, once the tenant service is gone we can normalize
-          result.addIndexedNamespace(NamespaceDto.fromTenant(tenant).getName(), modelsToIndex.size());
-          logger.info(
-            String.format(
-              "Received %d replies for tenant '%s' with %d models",
-              bulkResponse.getItems().length, repo.getTenantId(), modelsToIndex.size()
-            )
-          );
-        } catch (IOException e) {
-          throw new IndexingException(
-            String.format("Error trying to index all models in '%s' tenant.", repo.getTenantId()), e);
+      progress.submitted.addAndGet(modelsToIndex.size());
+      modelsToIndex.forEach(model -> bulkProcessor.add(
+          createIndexRequest(index, model, repo.getTenantId())));
+      result.addIndexedNamespace(namespace, modelsToIndex.size());
+      logger.info(String.format("Submitted %d models of tenant '%s'", modelsToIndex.size(),
+          repo.getTenantId()));
+    } catch (RuntimeException e) {
+      logger.error(String.format("Error trying to index all models in '%s' tenant.",
+          tenant.getTenantId()), e);
+      result.addFailedNamespace(namespace, e.getMessage());
+    }
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    ReindexProgress progress = this.reindexProgress;
+    if (progress == null) {
+      return Collections.emptyList();
+    }
+    Collection<Metric<?>> metrics = new ArrayList<>();
+    metrics.add(new Metric<Long>("gauge.search.reindex.submitted", progress.submitted.get()));
+    metrics.add(new Metric<Long>("gauge.search.reindex.indexed", progress.indexed.get()));
+    metrics.add(new Metric<Long>("gauge.search.reindex.failed", progress.failed.get()));
+    metrics.add(new Metric<Long>("gauge.search.reindex.elapsed", progress.getElapsedMillis()));
+    return metrics;
+  }
+
+  private BulkProcessor createBulkProcessor(IndexingResult result, ReindexProgress progress) {
+    BulkProcessor.Listener listener = new BulkProcessor.Listener() {
+
+      @Override
+      public void beforeBulk(long executionId, BulkRequest request) {}
+
+      @Override
+      public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+        int failed = 0;
+        for (BulkItemResponse item : response) {
+          if (item.isFailed()) {
+            failed++;
+            result.addFailedModel(item.getId(), item.getFailureMessage());
+          }
         }
+        progress.failed.addAndGet(failed);
+        logger.info(String.format("Indexed %d of %d submitted models",
+            progress.indexed.addAndGet(request.numberOfActions() - failed),
+            progress.submitted.get()));
       }
-    });
 
-    return result;
+      @Override
+      public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+        logger.error(String.format("Error while indexing a chunk of %d models",
+            request.numberOfActions()), failure);
+        progress.chunkFailed.set(true);
+        progress.failed.addAndGet(request.numberOfActions());
+        request.requests()
+            .forEach(failedRequest -> result.addFailedModel(failedRequest.id(), failure.getMessage()));
+      }
+    };
+
+    return BulkProcessor
+        .builder((request, bulkListener) -> client.bulkAsync(request, RequestOptions.DEFAULT,
+            bulkListener), listener)
+        .setBulkActions(BULK_ACTIONS)
+        .setBulkSize(new ByteSizeValue(BULK_SIZE_MB, ByteSizeUnit.MB))
+        .setConcurrentRequests(BULK_CONCURRENT_REQUESTS)
+        .setBackoffPolicy(BackoffPolicy.exponentialBackoff(TimeValue.timeValueMillis(100), 3))
+        .build();
+  }
+
+  /**
+   * Progress of an indexing run. The counters are updated by the threads that read the tenants
+   * and by the threads that complete the chunks.
+   */
+  private static final class ReindexProgress {
+
+    private final long startedAt = System.currentTimeMillis();
+
+    private volatile long finishedAt = 0;
+
+    private final AtomicLong submitted = new AtomicLong();
+
+    private final AtomicLong indexed = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private final AtomicBoolean chunkFailed = new AtomicBoolean();
+
+    /**
+     * @return time in milliseconds the run has been taking so far, or took if it has finished
+     */
+    long getElapsedMillis() {
+      long end = finishedAt;
+      return (end != 0 ? end : System.currentTimeMillis()) - startedAt;
+    }
   }
 
   private void deleteByQuery(String index, QueryBuilder query) {
@@ -422,6 +665,12 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
     PreConditions.notNullOrEmpty(tenantId, TENANT_ID);
 
     logger.info(String.format("Indexing model '%s'", modelInfo.getId()));
+    recordChange(modelInfo.getId());
+
+    if (indexingQueue != null) {
+      indexingQueue.index(modelInfo.getId(), indexMap(modelInfo, tenantId));
+      return;
+    }
 
     try {
       IndexResponse indexResponse =
@@ -436,16 +685,18 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
   }
 
   private IndexRequest createIndexRequest(ModelInfo modelInfo, String tenantId) {
-    Map<String, Object> jsonMap = new HashMap<>();
-    jsonMap.put(TENANT_ID, tenantId);
+    return createIndexRequest(VORTO_INDEX, modelInfo, tenantId);
+  }
 
-    for (IIndexFieldExtractor extractor : fieldExtractors) {
-      extractor.extractFields(modelInfo).forEach((key, value) -> {
-        jsonMap.put(key, value);
-      });
-    }
+  private IndexRequest createIndexRequest(String index, ModelInfo modelInfo, String tenantId) {
+    return new IndexRequest(index, DOC, modelInfo.getId().getPrettyFormat())
+        .source(indexMap(modelInfo, tenantId));
+  }
 
-    return new IndexRequest(VORTO_INDEX, DOC, modelInfo.getId().getPrettyFormat()).source(jsonMap);
+  private Map<String, Object> indexMap(ModelInfo modelInfo, String tenantId) {
+    Map<String, Object> jsonMap = updateMap(modelInfo);
+    jsonMap.put(TENANT_ID, tenantId);
+    return jsonMap;
   }
 
   @Override
@@ -453,6 +704,12 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
     PreConditions.notNull(modelInfo, "modelInfo must not be null.");
 
     logger.info(String.format("Updating index of model '%s'", modelInfo.getId()));
+    recordChange(modelInfo.getId());
+
+    if (indexingQueue != null) {
+      indexingQueue.update(modelInfo.getId(), updateMap(modelInfo));
+      return;
+    }
 
     UpdateRequest request = new UpdateRequest(VORTO_INDEX, DOC, modelInfo.getId().getPrettyFormat())
         .doc(updateMap(modelInfo));
@@ -482,6 +739,12 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
   @Override
   public void deleteIndex(ModelId modelId) {
     PreConditions.notNull(modelId, "modelId must not be null.");
+    recordChange(modelId);
+
+    if (indexingQueue != null) {
+      indexingQueue.delete(modelId);
+      return;
+    }
 
     DeleteRequest request = new DeleteRequest(VORTO_INDEX, DOC, modelId.getPrettyFormat());
     try {
@@ -624,6 +887,91 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
     }
   }
 
+  /**
+   * @see ElasticSearchService#search(String, SearchPageRequest, IUserContext)
+   */
+  @Override
+  public SearchPage search(String searchExpression, SearchPageRequest page) {
+    return search(searchExpression, page,
+        UserContext.user(SecurityContextHolder.getContext().getAuthentication()));
+  }
+
+  /**
+   * Pages through the results of {@link ElasticSearchService#search(String, IUserContext)} with
+   * {@literal search_after}, sorted by creation date and model ID, so that deep pages cost as
+   * much as the first one and the number of results is not capped.<br/>
+   * The cursor of a page is made of the sort values of its last hit. Models indexed while paging
+   * show up on later pages only if they sort after the cursor.
+   *
+   * @param searchExpression The search expression
+   * @param page The page to return
+   * @param userContext The user context with which to execute this query
+   * @return page of models matching the search expression
+   */
+  @Override
+  public SearchPage search(String searchExpression, SearchPageRequest page,
+      IUserContext userContext) {
+    SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+    searchSourceBuilder.query(
+        toESQuery(SearchParameters.build(findTenantsOfUser(userContext), searchExpression)));
+    searchSourceBuilder.timeout(new TimeValue(3, TimeUnit.MINUTES));
+    searchSourceBuilder.trackTotalHits(true);
+
+    if (page.isCountOnly()) {
+      searchSourceBuilder.size(0);
+      searchSourceBuilder.fetchSource(false);
+    } else {
+      // one more hit than requested tells whether there is a next page
+      searchSourceBuilder.size(page.getPageSize() + 1);
+      searchSourceBuilder.sort(BasicIndexFieldExtractor.MODEL_CREATIONDATE, SortOrder.DESC);
+      searchSourceBuilder.sort(BasicIndexFieldExtractor.MODEL_ID, SortOrder.ASC);
+      if (page.getAfter() != null) {
+        SearchCursor after = SearchCursor.decode(page.getAfter());
+        searchSourceBuilder.searchAfter(
+            new Object[] {Long.toString(after.getCreationDate()), after.getModelId()});
+      }
+      if (!page.getFields().isEmpty()) {
+        Set<String> includes = new HashSet<>(page.getFields());
+        includes.add(BasicIndexFieldExtractor.MODEL_ID);
+        searchSourceBuilder.fetchSource(includes.toArray(new String[includes.size()]), null);
+      }
+    }
+
+    SearchRequest searchRequest = new SearchRequest(VORTO_INDEX);
+    searchRequest.source(searchSourceBuilder);
+
+    try {
+      logger.debug(String.format("Search Expression: %s Elastic Search: %s", searchExpression,
+          searchRequest.toString()));
+      SearchHits hits = client.search(searchRequest, RequestOptions.DEFAULT).getHits();
+      if (page.isCountOnly()) {
+        return SearchPage.count(hits.getTotalHits());
+      }
+
+      SearchHit[] pageHits = hits.getHits().length > page.getPageSize()
+          ? Arrays.copyOf(hits.getHits(), page.getPageSize())
+          : hits.getHits();
+      String next = null;
+      if (pageHits.length < hits.getHits().length) {
+        next = toCursor(pageHits[pageHits.length - 1]).encode();
+      }
+      return new SearchPage(
+          Stream.of(pageHits).map(this::fromSearchHit).collect(Collectors.toList()), next,
+          hits.getTotalHits());
+    } catch (IOException e) {
+      throw new IndexingException(
+          String.format("Error while querying the index for '%s' expression",
+              Strings.nullToEmpty(searchExpression)),
+          e);
+    }
+  }
+
+  private static SearchCursor toCursor(SearchHit searchHit) {
+    Object[] sortValues = searchHit.getSortValues();
+    long creationDate = sortValues[0] != null ? Long.parseLong(sortValues[0].toString()) : 0;
+    return new SearchCursor(creationDate, sortValues[1].toString());
+  }
+
   private Collection<String> findTenantsOfUser(IUserContext userContext) {
     if (userContext.isAnonymous()) {
       return Collections.emptyList();
@@ -643,6 +991,10 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
     }
   }
 
+  /**
+   * Fields that are not part of the source of the hit, e.g. because the search projected other
+   * fields only, are left empty.
+   */
   private ModelInfo fromSearchHit(SearchHit searchHit) {
     ModelInfo modelInfo = new ModelInfo();
 
@@ -650,8 +1002,10 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
 
     modelInfo.setId(
         ModelId.fromPrettyFormat((String) sourceAsMap.get(BasicIndexFieldExtractor.MODEL_ID)));
-    modelInfo
-        .setType(ModelType.valueOf((String) sourceAsMap.get(BasicIndexFieldExtractor.MODEL_TYPE)));
+    String modelType = (String) sourceAsMap.get(BasicIndexFieldExtractor.MODEL_TYPE);
+    if (modelType != null) {
+      modelInfo.setType(ModelType.valueOf(modelType));
+    }
     modelInfo.setState((String) sourceAsMap.get(BasicIndexFieldExtractor.STATE));
     modelInfo.setVisibility((String) sourceAsMap.get(BasicIndexFieldExtractor.VISIBILITY));
     modelInfo.setAuthor((String) sourceAsMap.get(BasicIndexFieldExtractor.AUTHOR));
@@ -660,7 +1014,9 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
     modelInfo.setHasImage(
         Boolean.parseBoolean((String) sourceAsMap.get(BasicIndexFieldExtractor.MODEL_HASIMAGE)));
     String createdOn = (String) sourceAsMap.get(BasicIndexFieldExtractor.MODEL_CREATIONDATE);
-    modelInfo.setCreationDate(new Date(Long.parseLong(createdOn)));
+    if (createdOn != null) {
+      modelInfo.setCreationDate(new Date(Long.parseLong(createdOn)));
+    }
 
     return modelInfo;
   }
@@ -832,6 +1188,25 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
     return result;
   }
 
+  /**
+   * Creates and starts a queue that writes the changes of single models asynchronously in bulk
+   * requests, instead of writing them while the model is saved. Searches only see a change once it
+   * has been written.
+   *
+   * @param maxBatchSize maximum number of changes per bulk request
+   * @param flushIntervalMillis maximum time a change is queued if the queue is not full
+   * @param maxRetries how often a change that failed for a transient reason is queued again
+   * @return the started queue, which needs to be shut down with the service
+   */
+  public IndexingQueue startIndexingQueue(int maxBatchSize, long flushIntervalMillis,
+      int maxRetries) {
+    IndexingQueue queue =
+        new IndexingQueue(client, VORTO_INDEX, DOC, maxBatchSize, flushIntervalMillis, maxRetries);
+    queue.start();
+    this.indexingQueue = queue;
+    return queue;
+  }
+
   public Collection<IIndexFieldExtractor> getFieldExtractors() {
     return fieldExtractors;
   }
@@ -0,0 +1,343 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.log4j.Logger;
+import org.eclipse.vorto.model.ModelId;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.rest.RestStatus;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+/**
+ * Queue of index changes of single models that are written to Elastic Search in bulk requests by a
+ * background thread, so that saving a model does not wait for Elastic Search.<br/>
+ * Changes of the same model that are still queued are coalesced into one change. The queue is
+ * flushed when it holds a full batch of changes or after the flush interval, whatever comes
+ * first. Changes that fail for transient reasons, e.g. because Elastic Search is overloaded or
+ * unavailable, are queued again a limited number of times.<br/>
+ * The depth and lag of the queue are published as metrics.
+ */
+public class IndexingQueue implements PublicMetrics {
+
+  private static final Logger logger = Logger.getLogger(IndexingQueue.class);
+
+  private final RestHighLevelClient client;
+
+  private final String index;
+
+  private final String type;
+
+  private final int maxBatchSize;
+
+  private final long flushIntervalMillis;
+
+  private final int maxRetries;
+
+  private final LinkedHashMap<ModelId, Change> pending = new LinkedHashMap<>();
+
+  private final ScheduledExecutorService executor;
+
+  private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+  private final AtomicLong flushed = new AtomicLong();
+
+  private final AtomicLong retried = new AtomicLong();
+
+  private final AtomicLong failed = new AtomicLong();
+
+  /**
+   * @param client client the changes are written with
+   * @param index name of the index, or alias, the changes are written to
+   * @param type document type
+   * @param maxBatchSize maximum number of changes per bulk request
+   * @param flushIntervalMillis maximum time a change is queued if the queue is not full
+   * @param maxRetries how often a change that failed for a transient reason is queued again
+   */
+  public IndexingQueue(RestHighLevelClient client, String index, String type, int maxBatchSize,
+      long flushIntervalMillis, int maxRetries) {
+    this.client = client;
+    this.index = index;
+    this.type = type;
+    this.maxBatchSize = maxBatchSize;
+    this.flushIntervalMillis = flushIntervalMillis;
+    this.maxRetries = maxRetries;
+    this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "indexing-queue");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  public void start() {
+    executor.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops the background thread and writes all changes that are still queued
+   */
+  public void shutdown() {
+    executor.shutdown();
+    try {
+      executor.awaitTermination(flushIntervalMillis + TimeUnit.SECONDS.toMillis(30),
+          TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    flushSafely();
+  }
+
+  /**
+   * Queues the creation or replacement of the document of a model
+   *
+   * @param modelId model to index
+   * @param document all fields of the document
+   */
+  public void index(ModelId modelId, Map<String, Object> document) {
+    enqueue(modelId, new Change(Operation.INDEX, document));
+  }
+
+  /**
+   * Queues the update of some fields of the document of a model
+   *
+   * @param modelId model to update
+   * @param fields fields to update
+   */
+  public void update(ModelId modelId, Map<String, Object> fields) {
+    enqueue(modelId, new Change(Operation.UPDATE, fields));
+  }
+
+  /**
+   * Queues the deletion of the document of a model
+   *
+   * @param modelId model to delete
+   */
+  public void delete(ModelId modelId) {
+    enqueue(modelId, new Change(Operation.DELETE, null));
+  }
+
+  private void enqueue(ModelId modelId, Change change) {
+    int depth;
+    synchronized (pending) {
+      Change queued = pending.get(modelId);
+      pending.put(modelId, queued != null ? queued.coalesce(change) : change);
+      depth = pending.size();
+    }
+    if (depth >= maxBatchSize && !executor.isShutdown()
+        && flushRequested.compareAndSet(false, true)) {
+      executor.execute(this::flushSafely);
+    }
+  }
+
+  private void flushSafely() {
+    flushRequested.set(false);
+    try {
+      flush();
+    } catch (RuntimeException e) {
+      logger.error("Unexpected error while writing queued index changes", e);
+    }
+  }
+
+  private void flush() {
+    Map<ModelId, Change> batch;
+    while (!(batch = drain()).isEmpty()) {
+      if (!write(batch)) {
+        // changes to retry wait for the next interval
+        return;
+      }
+    }
+  }
+
+  private Map<ModelId, Change> drain() {
+    Map<ModelId, Change> batch = new LinkedHashMap<>();
+    synchronized (pending) {
+      Iterator<Map.Entry<ModelId, Change>> iterator = pending.entrySet().iterator();
+      while (batch.size() < maxBatchSize && iterator.hasNext()) {
+        Map.Entry<ModelId, Change> entry = iterator.next();
+        batch.put(entry.getKey(), entry.getValue());
+        iterator.remove();
+      }
+    }
+    return batch;
+  }
+
+  /**
+   * @return false if changes of the batch have been queued again
+   */
+  private boolean write(Map<ModelId, Change> batch) {
+    BulkRequest bulkRequest = new BulkRequest();
+    List<ModelId> modelIds = new ArrayList<>(batch.keySet());
+    batch.forEach((modelId, change) -> bulkRequest.add(change.toRequest(index, type, modelId)));
+
+    BulkResponse response;
+    try {
+      response = client.bulk(bulkRequest, RequestOptions.DEFAULT);
+    } catch (IOException e) {
+      logger.warn(String.format("Error while writing %d index changes", batch.size()), e);
+      batch.forEach(this::retry);
+      return false;
+    }
+
+    boolean complete = true;
+    int i = 0;
+    for (BulkItemResponse item : response) {
+      ModelId modelId = modelIds.get(i++);
+      if (!item.isFailed()) {
+        flushed.incrementAndGet();
+      } else if (isTransient(item.getFailure().getStatus())) {
+        retry(modelId, batch.get(modelId));
+        complete = false;
+      } else {
+        failed.incrementAndGet();
+        logger.error(String.format("Could not write index change of '%s': %s",
+            modelId.getPrettyFormat(), item.getFailureMessage()));
+      }
+    }
+    return complete;
+  }
+
+  private void retry(ModelId modelId, Change change) {
+    if (change.attempts >= maxRetries) {
+      failed.incrementAndGet();
+      logger.error(String.format("Giving up writing index change of '%s' after %d attempts",
+          modelId.getPrettyFormat(), change.attempts + 1));
+      return;
+    }
+    retried.incrementAndGet();
+    synchronized (pending) {
+      // a newer change of the model that was queued in the meantime is applied on top of the
+      // failed one, e.g. an update of fields after a failed creation of the document
+      Change newer = pending.get(modelId);
+      pending.put(modelId,
+          newer != null ? change.nextAttempt().coalesce(newer) : change.nextAttempt());
+    }
+  }
+
+  private static boolean isTransient(RestStatus status) {
+    return status == RestStatus.TOO_MANY_REQUESTS || status == RestStatus.SERVICE_UNAVAILABLE
+        || status == RestStatus.GATEWAY_TIMEOUT || status == RestStatus.BAD_GATEWAY;
+  }
+
+  /**
+   * @return number of models with queued changes
+   */
+  public int getDepth() {
+    synchronized (pending) {
+      return pending.size();
+    }
+  }
+
+  /**
+   * @return time in milliseconds the oldest queued change has been waiting, 0 if the queue is empty
+   */
+  public long getLagMillis() {
+    long oldest = Long.MAX_VALUE;
+    synchronized (pending) {
+      for (Change change : pending.values()) {
+        oldest = Math.min(oldest, change.queuedAt);
+      }
+    }
+    return oldest == Long.MAX_VALUE ? 0 : System.currentTimeMillis() - oldest;
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    Collection<Metric<?>> metrics = new ArrayList<>();
+    metrics.add(new Metric<Integer>("gauge.search.indexing.queue.depth", getDepth()));
+    metrics.add(new Metric<Long>("gauge.search.indexing.queue.lag", getLagMillis()));
+    metrics.add(new Metric<Long>("counter.search.indexing.queue.flushed", flushed.get()));
+    metrics.add(new Metric<Long>("counter.search.indexing.queue.retried", retried.get()));
+    metrics.add(new Metric<Long>("counter.search.indexing.queue.failed", failed.get()));
+    return metrics;
+  }
+
+  enum Operation {
+    INDEX, UPDATE, DELETE
+  }
+
+  /**
+   * Queued change of the document of a single model
+   */
+  static final class Change {
+
+    final Operation operation;
+
+    final Map<String, Object> fields;
+
+    final long queuedAt;
+
+    final int attempts;
+
+    Change(Operation operation, Map<String, Object> fields) {
+      this(operation, fields, System.currentTimeMillis(), 0);
+    }
+
+    private Change(Operation operation, Map<String, Object> fields, long queuedAt, int attempts) {
+      this.operation = operation;
+      this.fields = fields;
+      this.queuedAt = queuedAt;
+      this.attempts = attempts;
+    }
+
+    /**
+     * @return a change with the combined effect of this and the given later change, which keeps
+     *         the attempts of both, so that coalescing does not reset the retries of a change
+     */
+    Change coalesce(Change next) {
+      int mergedAttempts = Math.max(attempts, next.attempts);
+      if (next.operation == Operation.UPDATE && operation != Operation.DELETE) {
+        Map<String, Object> merged = new HashMap<>(fields);
+        merged.putAll(next.fields);
+        return new Change(operation, merged, queuedAt, mergedAttempts);
+      }
+      return new Change(next.operation, next.fields, queuedAt, mergedAttempts);
+    }
+
+    Change nextAttempt() {
+      return new Change(operation, fields, queuedAt, attempts + 1);
+    }
+
+    DocWriteRequest<?> toRequest(String index, String type, ModelId modelId) {
+      switch (operation) {
+        case INDEX:
+          return new IndexRequest(index, type, modelId.getPrettyFormat()).source(fields);
+        case UPDATE:
+          return new UpdateRequest(index, type, modelId.getPrettyFormat()).doc(fields);
+        default:
+          return new DeleteRequest(index, type, modelId.getPrettyFormat());
+      }
+    }
+  }
+}
@@ -21,7 +21,7 @@ import org.junit.runners.Suite.SuiteClasses;
     NameSearchSimpleTest.class,
     AuthorSearchSimpleTest.class,
     UserReferenceSearchSimpleTest.class, TypeSearchSimpleTest.class, StateSearchSimpleTest.class,
-    NamespaceSearchSimpleTest.class, VersionSearchSimpleTest.class})
+    NamespaceSearchSimpleTest.class, VersionSearchSimpleTest.class, PagedSearchTest.class})
 public class AllSearchTests {
 
 }
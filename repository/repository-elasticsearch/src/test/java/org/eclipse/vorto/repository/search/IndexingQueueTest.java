@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import static org.junit.Assert.assertEquals;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.vorto.repository.search.IndexingQueue.Change;
+import org.eclipse.vorto.repository.search.IndexingQueue.Operation;
+import org.junit.Test;
+
+public class IndexingQueueTest {
+
+  @Test
+  public void testRetriedChangeKeepsAttemptsWhenCoalesced() {
+    Map<String, Object> document = new HashMap<>();
+    document.put("name", "Color");
+    document.put("state", "Draft");
+    Change retried = new Change(Operation.INDEX, document).nextAttempt().nextAttempt();
+
+    Change coalesced = retried
+        .coalesce(new Change(Operation.UPDATE, Collections.singletonMap("state", "InReview")));
+    assertEquals(2, coalesced.attempts);
+    assertEquals(Operation.INDEX, coalesced.operation);
+    assertEquals("Color", coalesced.fields.get("name"));
+    assertEquals("InReview", coalesced.fields.get("state"));
+    assertEquals(retried.queuedAt, coalesced.queuedAt);
+
+    Change deleted = coalesced.coalesce(new Change(Operation.DELETE, null));
+    assertEquals(2, deleted.attempts);
+    assertEquals(Operation.DELETE, deleted.operation);
+  }
+
+  @Test
+  public void testNewerChangeKeepsAttemptsWhenCoalescedWithRetriedChange() {
+    Change newer = new Change(Operation.UPDATE, Collections.singletonMap("state", "Released"));
+
+    Change retried = new Change(Operation.INDEX, Collections.singletonMap("state", "Draft"))
+        .nextAttempt().coalesce(newer);
+    assertEquals(1, retried.attempts);
+    assertEquals("Released", retried.fields.get("state"));
+  }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.search.extractor.BasicIndexFieldExtractor;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests paging through search results with cursors.
+ */
+public class PagedSearchTest {
+
+  static SearchTestInfrastructure testInfrastructure;
+
+  @BeforeClass
+  public static void beforeClass() throws Exception {
+    testInfrastructure = new SearchTestInfrastructure();
+    testInfrastructure.importModel(testInfrastructure.DATATYPE_MODEL,
+        testInfrastructure.getDefaultUser());
+    testInfrastructure.importModel(testInfrastructure.FUNCTIONBLOCK_MODEL,
+        testInfrastructure.getDefaultUser());
+    testInfrastructure.importModel(testInfrastructure.INFORMATION_MODEL,
+        testInfrastructure.getDefaultUser());
+  }
+
+  @AfterClass
+  public static void afterClass() throws Exception {
+    testInfrastructure.terminate();
+  }
+
+  @Test
+  public void testCountOnly() {
+    SearchPage page = testInfrastructure.getSearchService().search("", SearchPageRequest.count(),
+        testInfrastructure.getDefaultUser());
+    assertEquals(3, page.getTotal());
+    assertTrue(page.getItems().isEmpty());
+    assertNull(page.getNext());
+  }
+
+  @Test
+  public void testPageThroughAllModels() {
+    List<ModelInfo> all = testInfrastructure.getSearchService().search("",
+        testInfrastructure.getDefaultUser());
+
+    List<ModelInfo> paged = new ArrayList<>();
+    SearchPage page = testInfrastructure.getSearchService().search("",
+        SearchPageRequest.first(2), testInfrastructure.getDefaultUser());
+    assertEquals(2, page.getItems().size());
+    assertEquals(3, page.getTotal());
+    assertNotNull(page.getNext());
+    paged.addAll(page.getItems());
+
+    page = testInfrastructure.getSearchService().search("",
+        SearchPageRequest.first(2).withAfter(page.getNext()), testInfrastructure.getDefaultUser());
+    assertEquals(1, page.getItems().size());
+    assertNull(page.getNext());
+    paged.addAll(page.getItems());
+
+    assertEquals(
+        all.stream().map(model -> model.getId()).collect(Collectors.toSet()),
+        paged.stream().map(model -> model.getId()).collect(Collectors.toSet()));
+    assertEquals(all.size(), paged.size());
+  }
+
+  @Test
+  public void testProjection() {
+    SearchPage page = testInfrastructure.getSearchService().search(
+        "name:Switcher",
+        SearchPageRequest.first(10)
+            .withFields(Arrays.asList(BasicIndexFieldExtractor.DISPLAY_NAME)),
+        testInfrastructure.getDefaultUser());
+    assertEquals(1, page.getItems().size());
+    ModelInfo model = page.getItems().get(0);
+    assertNotNull(model.getId());
+    assertNotNull(model.getDisplayName());
+    assertNull(model.getAuthor());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidCursor() {
+    testInfrastructure.getSearchService().search("",
+        SearchPageRequest.first(2).withAfter("not a cursor"), testInfrastructure.getDefaultUser());
+  }
+}
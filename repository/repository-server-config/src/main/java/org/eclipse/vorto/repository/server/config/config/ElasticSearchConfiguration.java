@@ -27,6 +27,7 @@ import org.apache.http.ssl.SSLContextBuilder;
 import org.apache.log4j.Logger;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.search.ElasticSearchService;
+import org.eclipse.vorto.repository.search.IndexingQueue;
 import org.eclipse.vorto.repository.tenant.ITenantService;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestClientBuilder;
@@ -34,6 +35,7 @@ import org.elasticsearch.client.RestClientBuilder.HttpClientConfigCallback;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -71,6 +73,15 @@ public class ElasticSearchConfiguration {
   @Value("${aws.region:eu-central-1}")
   private String region;
   
+  @Value("${repo.search.indexing.batchSize:500}")
+  private int indexingBatchSize;
+  
+  @Value("${repo.search.indexing.flushIntervalMillis:1000}")
+  private long indexingFlushIntervalMillis;
+  
+  @Value("${repo.search.indexing.maxRetries:5}")
+  private int indexingMaxRetries;
+  
   @Value("${aws.aesEndpoint:https://search-vorto-test-i566tsfta74oi6s6hbzfwproui.eu-central-1.es.amazonaws.com}")
   private String aesEndpoint;
   
@@ -93,6 +104,13 @@ public class ElasticSearchConfiguration {
     return new ElasticSearchService(client,repositoryFactory,tenantService);
   }
   
+  @Bean(destroyMethod = "shutdown")
+  @ConditionalOnProperty(name = "repo.search.indexing.async", matchIfMissing = true)
+  public IndexingQueue indexingQueue(ElasticSearchService elasticSearch) {
+    return elasticSearch.startIndexingQueue(indexingBatchSize, indexingFlushIntervalMillis,
+        indexingMaxRetries);
+  }
+  
   @Bean
   @Profile({ "local-docker", "local-dev", "local-dev-mysql" })
   public RestHighLevelClient indexingClient() {
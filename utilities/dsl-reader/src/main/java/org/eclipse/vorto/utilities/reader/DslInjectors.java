@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.utilities.reader;
+
+import org.eclipse.vorto.editor.datatype.DatatypeStandaloneSetup;
+import org.eclipse.vorto.editor.functionblock.FunctionblockStandaloneSetup;
+import org.eclipse.vorto.editor.infomodel.InformationModelStandaloneSetup;
+import org.eclipse.vorto.editor.mapping.MappingStandaloneSetup;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import com.google.inject.Injector;
+
+/**
+ * Process-wide registry of the Guice injectors of the Vorto DSLs.<br/>
+ * Creating an injector, and registering its language with EMF, is by far the most expensive part
+ * of reading a model, so the injectors are created once, on first use or by {@link #warmUp()},
+ * and shared by all threads. Injectors are thread-safe; resource sets are not, so every reader
+ * gets a resource set of its own from {@link #newResourceSet()}, which is cheap with a shared
+ * injector.
+ */
+public final class DslInjectors {
+
+  private DslInjectors() {}
+
+  public static Injector datatype() {
+    return Holder.DATATYPE;
+  }
+
+  public static Injector functionblock() {
+    return Holder.FUNCTIONBLOCK;
+  }
+
+  public static Injector informationModel() {
+    return Holder.INFORMATION_MODEL;
+  }
+
+  /**
+   * @return injector of the mapping DSL, whose resource sets can read models of all Vorto DSLs
+   */
+  public static Injector mapping() {
+    return Holder.MAPPING;
+  }
+
+  /**
+   * @return new resource set that resolves all references on load and reads UTF-8
+   */
+  public static XtextResourceSet newResourceSet() {
+    XtextResourceSet resourceSet = mapping().getInstance(XtextResourceSet.class);
+    resourceSet.addLoadOption(XtextResource.OPTION_RESOLVE_ALL, Boolean.TRUE);
+    resourceSet.addLoadOption(XtextResource.OPTION_ENCODING, "UTF-8");
+    return resourceSet;
+  }
+
+  /**
+   * Creates all injectors, so that the first models read do not pay for it
+   */
+  public static void warmUp() {
+    mapping();
+  }
+
+  /**
+   * The injectors are created together, once, when the holder is initialized by the class loader.
+   * This also serializes the registrations with the global EMF registries, which are not
+   * thread-safe.
+   */
+  private static final class Holder {
+    private static final Injector DATATYPE =
+        new DatatypeStandaloneSetup().createInjectorAndDoEMFRegistration();
+    private static final Injector FUNCTIONBLOCK =
+        new FunctionblockStandaloneSetup().createInjectorAndDoEMFRegistration();
+    private static final Injector INFORMATION_MODEL =
+        new InformationModelStandaloneSetup().createInjectorAndDoEMFRegistration();
+    private static final Injector MAPPING =
+        new MappingStandaloneSetup().createInjectorAndDoEMFRegistration();
+  }
+}
@@ -29,14 +29,9 @@ import org.eclipse.vorto.core.api.model.functionblock.FunctionblockPackage;
 import org.eclipse.vorto.core.api.model.informationmodel.InformationModelPackage;
 import org.eclipse.vorto.core.api.model.mapping.MappingPackage;
 import org.eclipse.vorto.core.api.model.model.Model;
-import org.eclipse.vorto.editor.functionblock.FunctionblockStandaloneSetup;
-import org.eclipse.vorto.editor.infomodel.InformationModelStandaloneSetup;
-import org.eclipse.vorto.editor.mapping.MappingStandaloneSetup;
 import org.eclipse.vorto.model.ModelType;
 import org.eclipse.xtext.EcoreUtil2;
-import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.resource.XtextResourceSet;
-import com.google.inject.Injector;
 
 public class ModelWorkspaceReader {
 
@@ -54,9 +49,7 @@ public class ModelWorkspaceReader {
     InformationModelPackage.eINSTANCE.eClass();
     MappingPackage.eINSTANCE.eClass();
 
-    FunctionblockStandaloneSetup.doSetup();
-    InformationModelStandaloneSetup.doSetup();
-    MappingStandaloneSetup.doSetup();
+    DslInjectors.warmUp();
   }
 
   public ModelWorkspaceReader addFile(InputStream input, ModelType type) {
@@ -86,10 +79,7 @@ public class ModelWorkspaceReader {
     public List<Model> read() {
       ZipEntry entry = null;
 
-      Injector injector = new MappingStandaloneSetup().createInjectorAndDoEMFRegistration();
-      XtextResourceSet resourceSet = injector.getInstance(XtextResourceSet.class);
-      resourceSet.addLoadOption(XtextResource.OPTION_RESOLVE_ALL, Boolean.TRUE);
-      resourceSet.addLoadOption(XtextResource.OPTION_ENCODING, "UTF-8");
+      XtextResourceSet resourceSet = DslInjectors.newResourceSet();
 
       List<Resource> infoModelResources = new ArrayList<>();
       try {
@@ -119,10 +109,7 @@ public class ModelWorkspaceReader {
     }
 
     public List<Model> read() {
-      Injector injector = new MappingStandaloneSetup().createInjectorAndDoEMFRegistration();
-      XtextResourceSet resourceSet = injector.getInstance(XtextResourceSet.class);
-      resourceSet.addLoadOption(XtextResource.OPTION_RESOLVE_ALL, Boolean.TRUE);
-      resourceSet.addLoadOption(XtextResource.OPTION_ENCODING, "UTF-8");
+      XtextResourceSet resourceSet = DslInjectors.newResourceSet();
 
       List<Resource> infoModelResources = new ArrayList<>();
 
@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.vorto.core.api.model.datatype.Enum;
+import org.eclipse.vorto.utilities.reader.DslInjectors;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.junit.Test;
+
+public class DslInjectorsTest {
+
+  @Test
+  public void testInjectorsAreShared() {
+    DslInjectors.warmUp();
+    assertSame(DslInjectors.mapping(), DslInjectors.mapping());
+    assertSame(DslInjectors.datatype(), DslInjectors.datatype());
+    assertNotSame(DslInjectors.datatype(), DslInjectors.mapping());
+  }
+
+  @Test
+  public void testEveryResourceSetIsNew() throws Exception {
+    XtextResourceSet first = DslInjectors.newResourceSet();
+    XtextResourceSet second = DslInjectors.newResourceSet();
+    assertNotSame(first, second);
+    assertEquals(Boolean.TRUE, first.getLoadOptions().get(XtextResource.OPTION_RESOLVE_ALL));
+
+    Resource resource = first.createResource(URI.createURI("dummy:/Brightness.type"));
+    resource.load(getClass().getClassLoader().getResourceAsStream("dsls/Brightness.type"),
+        first.getLoadOptions());
+    List<?> contents = resource.getContents();
+    assertTrue(contents.get(0) instanceof Enum);
+    assertTrue(second.getResources().isEmpty());
+  }
+}